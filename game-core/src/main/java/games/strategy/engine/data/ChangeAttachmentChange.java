@@ -85,6 +85,7 @@ public class ChangeAttachmentChange extends Change {
               newValue, property, attachmentName, attachedTo),
           e);
     }
+    data.resetTechBonusTable();
   }
 
   @Override
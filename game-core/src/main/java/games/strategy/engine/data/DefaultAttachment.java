@@ -2,9 +2,12 @@ package games.strategy.engine.data;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 import com.google.common.base.Splitter;
 import com.google.common.collect.Iterables;
 
@@ -25,6 +28,8 @@ public abstract class DefaultAttachment extends GameDataComponent implements IAt
 
   private Attachable attachedTo;
   private String name;
+  // the properties are bound to this attachment, so the map only has to be built once
+  private transient volatile @Nullable Map<String, MutableProperty<?>> propertyMap;
 
   protected DefaultAttachment(final String name, final Attachable attachable, final GameData gameData) {
     super(gameData);
@@ -86,6 +91,22 @@ public abstract class DefaultAttachment extends GameDataComponent implements IAt
     return Iterables.toArray(COLON_SPLITTER.split(value), String.class);
   }
 
+  /**
+   * Gets the property with the specified name from a map of the properties of this attachment that is built on first
+   * use, rather than building the map again on every call.
+   */
+  @Override
+  public Optional<MutableProperty<?>> getProperty(final String name) {
+    checkNotNull(name);
+
+    @Nullable Map<String, MutableProperty<?>> properties = propertyMap;
+    if (properties == null) {
+      properties = getPropertyMap();
+      propertyMap = properties;
+    }
+    return Optional.ofNullable(properties.get(name));
+  }
+
   protected String thisErrorMsg() {
     return "   for: " + toString();
   }
@@ -8,6 +8,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -15,6 +16,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import javax.annotation.Nullable;
 import javax.swing.SwingUtilities;
 
 import org.triplea.util.Tuple;
@@ -34,6 +36,8 @@ import games.strategy.engine.history.History;
 import games.strategy.io.IoUtils;
 import games.strategy.thread.LockUtil;
 import games.strategy.triplea.TripleA;
+import games.strategy.triplea.attachments.TechBonusTable;
+import games.strategy.triplea.delegate.OrderOfLossesCache;
 
 /**
  * Central place to find all the information for a running game.
@@ -79,6 +83,15 @@ public class GameData implements Serializable {
   private transient List<TerritoryListener> territoryListeners = new CopyOnWriteArrayList<>();
   private transient List<GameDataChangeListener> dataChangeListeners = new CopyOnWriteArrayList<>();
   private transient Map<String, IDelegate> delegates = new HashMap<>();
+  // territory notifications held back while a change is performed with coalesced notifications, guarded by the write
+  // lock
+  private transient @Nullable PendingTerritoryNotifications pendingTerritoryNotifications;
+  // summed lazily from the tech attachments, discarded whenever they may have changed
+  private transient volatile @Nullable TechBonusTable techBonusTable;
+  // rebuilt from the unit holders after deserialization
+  private transient volatile @Nullable UnitLocationIndex unitLocationIndex = new UnitLocationIndex();
+  // not shared with copies of the game data, so that concurrent odds calculators do not interfere
+  private transient volatile @Nullable OrderOfLossesCache orderOfLossesCache;
   private final AllianceTracker alliances = new AllianceTracker();
   // Tracks current relationships between players, this is empty if relationships aren't used
   private final RelationshipTracker relationships = new RelationshipTracker(this);
@@ -258,14 +271,26 @@ public class GameData implements Serializable {
   }
 
   void notifyTerritoryUnitsChanged(final Territory t) {
+    if (pendingTerritoryNotifications != null) {
+      pendingTerritoryNotifications.unitsChanged.add(t);
+      return;
+    }
     territoryListeners.forEach(territoryListener -> territoryListener.unitsChanged(t));
   }
 
   void notifyTerritoryAttachmentChanged(final Territory t) {
+    if (pendingTerritoryNotifications != null) {
+      pendingTerritoryNotifications.attachmentChanged.add(t);
+      return;
+    }
     territoryListeners.forEach(territoryListener -> territoryListener.attachmentChanged(t));
   }
 
   void notifyTerritoryOwnerChanged(final Territory t) {
+    if (pendingTerritoryNotifications != null) {
+      pendingTerritoryNotifications.ownerChanged.add(t);
+      return;
+    }
     territoryListeners.forEach(territoryListener -> territoryListener.ownerChanged(t));
   }
 
@@ -327,6 +352,7 @@ public class GameData implements Serializable {
     territoryListeners = new CopyOnWriteArrayList<>();
     dataChangeListeners = new CopyOnWriteArrayList<>();
     delegates = new HashMap<>();
+    unitLocationIndex = UnitLocationIndex.rebuild(this);
   }
 
   /**
@@ -441,6 +467,93 @@ public class GameData implements Serializable {
     sequence.setStepIndex(Math.max(0, Math.min(sequence.size() - 1, currentIndex - toSubtract)));
   }
 
+  /**
+   * Returns the unit bonuses players get from their techs. The returned table reflects the attachments as they were
+   * when it was created; do not keep it across changes to the game data.
+   */
+  public TechBonusTable getTechBonusTable() {
+    final @Nullable TechBonusTable table = techBonusTable;
+    if (table != null) {
+      return table;
+    }
+    final TechBonusTable newTable = new TechBonusTable(this);
+    techBonusTable = newTable;
+    return newTable;
+  }
+
+  /**
+   * Discards the unit bonuses players get from their techs, so that they are summed again the next time they are
+   * needed. Must be called whenever an attachment or the techs available in the game change.
+   */
+  public void resetTechBonusTable() {
+    techBonusTable = null;
+  }
+
+  /**
+   * Returns the index of where each unit is and which units each transport carries.
+   */
+  public UnitLocationIndex getUnitLocationIndex() {
+    final @Nullable UnitLocationIndex index = unitLocationIndex;
+    if (index != null) {
+      return index;
+    }
+    final UnitLocationIndex newIndex = UnitLocationIndex.rebuild(this);
+    unitLocationIndex = newIndex;
+    return newIndex;
+  }
+
+  void unitsAdded(final UnitHolder holder, final Collection<? extends Unit> units) {
+    final @Nullable UnitLocationIndex index = unitLocationIndex;
+    if (index != null) {
+      index.unitsAdded(holder, units);
+    }
+  }
+
+  void unitsRemoved(final UnitHolder holder, final Collection<?> units) {
+    final @Nullable UnitLocationIndex index = unitLocationIndex;
+    if (index != null) {
+      index.unitsRemoved(holder, units);
+    }
+  }
+
+  /**
+   * Records that the specified unit was loaded onto or unloaded from a transport. Called by units whenever their
+   * transport changes.
+   */
+  public void unitTransportChanged(
+      final Unit unit,
+      final @Nullable Unit oldTransport,
+      final @Nullable Unit newTransport) {
+    final @Nullable UnitLocationIndex index = unitLocationIndex;
+    if (index != null) {
+      index.transportChanged(unit, oldTransport, newTransport);
+    }
+  }
+
+  /**
+   * Returns the cache of the orders in which units supporting one another should be taken as casualties in this game.
+   */
+  public OrderOfLossesCache getOrderOfLossesCache() {
+    final @Nullable OrderOfLossesCache cache = orderOfLossesCache;
+    if (cache != null) {
+      return cache;
+    }
+    final OrderOfLossesCache newCache = new OrderOfLossesCache();
+    orderOfLossesCache = newCache;
+    return newCache;
+  }
+
+  /**
+   * Records that the owner of the specified unit changed, so that the unit holder it is in can update its counts of
+   * units by owner. Called by units whenever their owner changes.
+   */
+  void unitOwnerChanged(final Unit unit, final PlayerId oldOwner) {
+    final @Nullable UnitHolder holder = getUnitLocationIndex().getHolder(unit);
+    if (holder != null) {
+      holder.getUnitCollection().unitOwnerChanged(unit, oldOwner);
+    }
+  }
+
   public void performChange(final Change change) {
     if (areChangesOnlyInSwingEventThread() && !SwingUtilities.isEventDispatchThread()) {
       throw new IllegalStateException("Wrong thread");
@@ -454,6 +567,33 @@ public class GameData implements Serializable {
     notifyGameDataChanged(change);
   }
 
+  /**
+   * Performs the specified change like {@link #performChange(Change)}, but tells territory listeners about each changed
+   * territory once, after the whole change has been performed, rather than once for every part of the change. Meant
+   * for large changes, such as moving through the history, that touch the same territories over and over.
+   */
+  public void performChangeWithCoalescedNotifications(final Change change) {
+    if (areChangesOnlyInSwingEventThread() && !SwingUtilities.isEventDispatchThread()) {
+      throw new IllegalStateException("Wrong thread");
+    }
+    try {
+      acquireWriteLock();
+      final PendingTerritoryNotifications notifications = new PendingTerritoryNotifications();
+      pendingTerritoryNotifications = notifications;
+      try {
+        change.perform(this);
+      } finally {
+        pendingTerritoryNotifications = null;
+        notifications.ownerChanged.forEach(this::notifyTerritoryOwnerChanged);
+        notifications.unitsChanged.forEach(this::notifyTerritoryUnitsChanged);
+        notifications.attachmentChanged.forEach(this::notifyTerritoryAttachmentChanged);
+      }
+    } finally {
+      releaseWriteLock();
+    }
+    notifyGameDataChanged(change);
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -478,4 +618,10 @@ public class GameData implements Serializable {
       releaseReadLock();
     }
   }
+
+  private static final class PendingTerritoryNotifications {
+    private final Set<Territory> ownerChanged = new LinkedHashSet<>();
+    private final Set<Territory> unitsChanged = new LinkedHashSet<>();
+    private final Set<Territory> attachmentChanged = new LinkedHashSet<>();
+  }
 }
@@ -70,8 +70,16 @@ public class Unit extends GameDataComponent implements DynamicallyModifiable {
     this.hits = hits;
   }
 
+  /**
+   * Sets the owner of this unit. Changing the owner of a unit that already has one updates the counts of units by
+   * owner of the unit holder the unit is in.
+   */
   public void setOwner(final @Nullable PlayerId player) {
+    final @Nullable PlayerId oldOwner = owner;
     owner = Optional.ofNullable(player).orElse(PlayerId.NULL_PLAYERID);
+    if (oldOwner != null && !oldOwner.equals(owner) && getData() != null) {
+      getData().unitOwnerChanged(this, oldOwner);
+    }
   }
 
   @Override
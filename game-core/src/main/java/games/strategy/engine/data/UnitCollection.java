@@ -4,24 +4,38 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
 
 import org.triplea.java.collections.CollectionUtils;
 import org.triplea.java.collections.IntegerMap;
 
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+
 /**
  * A collection of units.
+ *
+ * <p>
+ * The units are kept in the order they were added. Alongside them, the collection keeps an index of its units by type
+ * and of their counts by owner, so that finding or counting units of a type or owner does not mean scanning every
+ * unit. The index is not serialized; it is built from the units the first time it is needed.
+ * </p>
  */
 public class UnitCollection extends GameDataComponent implements Collection<Unit> {
   private static final long serialVersionUID = -3534037864426122864L;
 
   private final List<Unit> units = new ArrayList<>();
   private final NamedUnitHolder holder;
+  private transient volatile @Nullable Index index;
 
   public UnitCollection(final NamedUnitHolder holder, final GameData data) {
     super(data);
@@ -31,6 +45,11 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   @Override
   public boolean add(final Unit unit) {
     units.add(unit);
+    final @Nullable Index currentIndex = index;
+    if (currentIndex != null) {
+      currentIndex.add(unit);
+    }
+    unitsAdded(Collections.singleton(unit));
     holder.notifyChanged();
     return true;
   }
@@ -38,40 +57,77 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   @Override
   public boolean addAll(final Collection<? extends Unit> units) {
     final boolean result = this.units.addAll(units);
+    final @Nullable Index currentIndex = index;
+    if (currentIndex != null) {
+      units.forEach(currentIndex::add);
+    }
+    unitsAdded(units);
     holder.notifyChanged();
     return result;
   }
 
   @Override
   public boolean removeAll(final Collection<?> units) {
-    final boolean result = this.units.removeAll(units);
+    // look the units up in a set rather than in what may be a long list
+    final Collection<?> unitsToRemove = (units instanceof Set) ? units : new HashSet<>(units);
+    final boolean result = removeUnitsIf(unitsToRemove::contains);
     holder.notifyChanged();
     return result;
   }
 
+  private boolean removeUnitsIf(final Predicate<Unit> predicate) {
+    final List<Unit> removedUnits = new ArrayList<>();
+    units.removeIf(unit -> {
+      if (predicate.test(unit)) {
+        removedUnits.add(unit);
+        return true;
+      }
+      return false;
+    });
+    if (removedUnits.isEmpty()) {
+      return false;
+    }
+    final @Nullable Index currentIndex = index;
+    if (currentIndex != null) {
+      currentIndex.removeAll(removedUnits);
+    }
+    unitsRemoved(removedUnits);
+    return true;
+  }
+
+  private void unitsAdded(final Collection<? extends Unit> units) {
+    final GameData data = getData();
+    if (data != null) {
+      data.unitsAdded(holder, units);
+    }
+  }
+
+  private void unitsRemoved(final Collection<?> units) {
+    final GameData data = getData();
+    if (data != null) {
+      data.unitsRemoved(holder, units);
+    }
+  }
+
   public int getUnitCount() {
     return units.size();
   }
 
   int getUnitCount(final UnitType type) {
-    return (int) units.stream().filter(u -> u.getType().equals(type)).count();
+    return getIndex().getUnits(type).size();
   }
 
   public int getUnitCount(final UnitType type, final PlayerId owner) {
-    return (int) units.stream().filter(u -> u.getType().equals(type) && u.getOwner().equals(owner)).count();
+    return getIndex().getUnitCounts(owner).getInt(type);
   }
 
   int getUnitCount(final PlayerId owner) {
-    return (int) units.stream().filter(u -> u.getOwner().equals(owner)).count();
+    return getIndex().getUnitCounts(owner).totalValues();
   }
 
   @Override
   public boolean containsAll(final Collection<?> units) {
-    // much faster for large sets
-    if (this.units.size() > 500 && units.size() > 500) {
-      return new HashSet<>(this.units).containsAll(units);
-    }
-    return this.units.containsAll(units);
+    return getIndex().members.containsAll(units);
   }
 
   /**
@@ -87,16 +143,8 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
     if (maxUnits < 0) {
       throw new IllegalArgumentException("value must be positiive.  Instead its:" + maxUnits);
     }
-    final Collection<Unit> units = new ArrayList<>();
-    for (final Unit current : this.units) {
-      if (current.getType().equals(type)) {
-        units.add(current);
-        if (units.size() == maxUnits) {
-          return units;
-        }
-      }
-    }
-    return units;
+    final List<Unit> units = getIndex().getUnits(type);
+    return new ArrayList<>(units.subList(0, Math.min(maxUnits, units.size())));
   }
 
   /**
@@ -136,9 +184,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
    * @param id referring player ID
    */
   public IntegerMap<UnitType> getUnitsByType(final PlayerId id) {
-    final IntegerMap<UnitType> count = new IntegerMap<>();
-    units.stream().filter(unit -> unit.getOwner().equals(id)).forEach(unit -> count.add(unit.getType(), 1));
-    return count;
+    return new IntegerMap<>(getIndex().getUnitCounts(id));
   }
 
   @Override
@@ -156,7 +202,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
    */
   public Set<PlayerId> getPlayersWithUnits() {
     // note nulls are handled by PlayerId.NULL_PLAYERID
-    return units.stream().map(Unit::getOwner).collect(Collectors.toSet());
+    return new HashSet<>(getIndex().unitCountsByOwner.keySet());
   }
 
   /**
@@ -164,7 +210,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
    */
   public IntegerMap<PlayerId> getPlayerUnitCounts() {
     final IntegerMap<PlayerId> count = new IntegerMap<>();
-    units.forEach(unit -> count.add(unit.getOwner(), 1));
+    getIndex().unitCountsByOwner.forEach((owner, unitCounts) -> count.put(owner, unitCounts.totalValues()));
     return count;
   }
 
@@ -218,7 +264,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
 
   @Override
   public boolean contains(final Object object) {
-    return units.contains(object);
+    return getIndex().members.contains(object);
   }
 
   @Override
@@ -233,19 +279,144 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
 
   @Override
   public boolean remove(final Object object) {
-    final boolean result = units.remove(object);
+    final int position = units.indexOf(object);
+    if (position >= 0) {
+      final Unit unit = units.remove(position);
+      final @Nullable Index currentIndex = index;
+      if (currentIndex != null) {
+        currentIndex.remove(unit);
+      }
+      unitsRemoved(Collections.singleton(unit));
+    }
     holder.notifyChanged();
-    return result;
+    return position >= 0;
   }
 
   @Override
   public boolean retainAll(final Collection<?> collection) {
-    return units.retainAll(collection);
+    return removeUnitsIf(unit -> !collection.contains(unit));
   }
 
   @Override
   public void clear() {
+    final List<Unit> removedUnits = new ArrayList<>(units);
     units.clear();
+    index = null;
+    unitsRemoved(removedUnits);
     holder.notifyChanged();
   }
+
+  /**
+   * Moves the specified unit of this collection from the counts of its old owner to those of its current owner.
+   */
+  void unitOwnerChanged(final Unit unit, final PlayerId oldOwner) {
+    final @Nullable Index currentIndex = index;
+    if (currentIndex != null && !currentIndex.ownerChanged(unit, oldOwner)) {
+      // the unit was not counted under its old owner, so the index can no longer be trusted
+      index = null;
+    }
+  }
+
+  /**
+   * Returns the index of the units in this collection, building it if it has not been built yet.
+   */
+  private Index getIndex() {
+    final @Nullable Index currentIndex = index;
+    if (currentIndex != null) {
+      return currentIndex;
+    }
+    final Index newIndex = new Index(units);
+    index = newIndex;
+    return newIndex;
+  }
+
+  /**
+   * The units of a collection by type, and their counts by owner. The type of a unit never changes, but its owner
+   * may, in which case the game data has the collection the unit is in update its counts.
+   */
+  private static final class Index {
+    private final Multiset<Unit> members = HashMultiset.create();
+    // the units of each type, in the order of the collection
+    private final Map<UnitType, List<Unit>> unitsByType = new HashMap<>();
+    private final Map<PlayerId, IntegerMap<UnitType>> unitCountsByOwner = new LinkedHashMap<>();
+
+    Index(final Collection<Unit> units) {
+      units.forEach(this::add);
+    }
+
+    List<Unit> getUnits(final UnitType type) {
+      return unitsByType.getOrDefault(type, Collections.emptyList());
+    }
+
+    IntegerMap<UnitType> getUnitCounts(final PlayerId owner) {
+      final @Nullable IntegerMap<UnitType> unitCounts = unitCountsByOwner.get(owner);
+      return (unitCounts == null) ? new IntegerMap<>() : unitCounts;
+    }
+
+    void add(final Unit unit) {
+      members.add(unit);
+      unitsByType.computeIfAbsent(unit.getType(), k -> new ArrayList<>()).add(unit);
+      unitCountsByOwner.computeIfAbsent(unit.getOwner(), k -> new IntegerMap<>()).add(unit.getType(), 1);
+    }
+
+    /**
+     * Removes the first occurrence of the specified unit.
+     */
+    void remove(final Unit unit) {
+      members.remove(unit);
+      final List<Unit> units = unitsByType.get(unit.getType());
+      units.remove(unit);
+      if (units.isEmpty()) {
+        unitsByType.remove(unit.getType());
+      }
+      removeCount(unit.getOwner(), unit.getType());
+    }
+
+    /**
+     * Removes all occurrences of the specified units.
+     */
+    void removeAll(final Collection<Unit> removedUnits) {
+      final Set<Unit> removedUnitSet = new HashSet<>(removedUnits);
+      final Set<UnitType> removedTypes = new HashSet<>();
+      for (final Unit unit : removedUnits) {
+        members.remove(unit);
+        removedTypes.add(unit.getType());
+        removeCount(unit.getOwner(), unit.getType());
+      }
+      for (final UnitType type : removedTypes) {
+        final List<Unit> units = unitsByType.get(type);
+        units.removeIf(removedUnitSet::contains);
+        if (units.isEmpty()) {
+          unitsByType.remove(type);
+        }
+      }
+    }
+
+    /**
+     * Moves the specified unit from the counts of its old owner to those of its current owner. Returns {@code false},
+     * leaving the counts unchanged, if the unit is not in this index under its old owner.
+     */
+    boolean ownerChanged(final Unit unit, final PlayerId oldOwner) {
+      final @Nullable IntegerMap<UnitType> oldOwnerUnitCounts = unitCountsByOwner.get(oldOwner);
+      if (!members.contains(unit) || oldOwnerUnitCounts == null || oldOwnerUnitCounts.getInt(unit.getType()) == 0) {
+        return false;
+      }
+      for (int i = 0; i < members.count(unit); i++) {
+        removeCount(oldOwner, unit.getType());
+        unitCountsByOwner.computeIfAbsent(unit.getOwner(), k -> new IntegerMap<>()).add(unit.getType(), 1);
+      }
+      return true;
+    }
+
+    private void removeCount(final PlayerId owner, final UnitType type) {
+      final IntegerMap<UnitType> unitCounts = unitCountsByOwner.get(owner);
+      unitCounts.add(type, -1);
+      if (unitCounts.getInt(type) == 0) {
+        unitCounts.removeKey(type);
+        if (unitCounts.isEmpty()) {
+          unitCountsByOwner.remove(owner);
+        }
+      }
+    }
+  }
 }
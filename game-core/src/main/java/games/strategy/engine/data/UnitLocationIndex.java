@@ -0,0 +1,100 @@
+package games.strategy.engine.data;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import games.strategy.triplea.TripleAUnit;
+
+/**
+ * Where each unit of a game is and which units each transport carries, so that neither has to be found by searching
+ * every territory.
+ *
+ * <p>
+ * The index is kept up to date by {@link UnitCollection} as units are added to and removed from unit holders, and by
+ * {@link TripleAUnit} as units are loaded onto and unloaded from transports. It is not serialized with the game data,
+ * but rebuilt from the unit holders and units after the game data is deserialized.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are not thread safe. Like the rest of the game data, they may only be modified while the
+ * game data write lock is held.
+ * </p>
+ */
+public final class UnitLocationIndex {
+  private final Map<Unit, UnitHolder> holderByUnit = new HashMap<>();
+  private final Map<Unit, Set<Unit>> cargoByTransport = new HashMap<>();
+
+  UnitLocationIndex() {}
+
+  /**
+   * Creates an index of where the units of the specified game data are, from the unit holders and units themselves.
+   */
+  static UnitLocationIndex rebuild(final GameData data) {
+    final UnitLocationIndex index = new UnitLocationIndex();
+    // a unit that is somehow held by both a player and a territory is taken to be in the territory
+    for (final PlayerId player : data.getPlayerList().getPlayers()) {
+      index.unitsAdded(player, player.getUnitCollection());
+    }
+    for (final Territory territory : data.getMap().getTerritories()) {
+      index.unitsAdded(territory, territory.getUnitCollection());
+    }
+    for (final Unit unit : data.getUnits()) {
+      if (unit instanceof TripleAUnit) {
+        index.transportChanged(unit, null, ((TripleAUnit) unit).getTransportedBy());
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Returns the unit holder the specified unit is currently in, or {@code null} if the unit is not in any unit holder,
+   * for example because it was killed.
+   */
+  public @Nullable UnitHolder getHolder(final Unit unit) {
+    return holderByUnit.get(unit);
+  }
+
+  /**
+   * Returns the units whose transport is the specified unit, wherever they are. Units that were killed while being
+   * transported are still included, so callers that only want the units on board should compare
+   * {@link #getHolder(Unit)} of each unit with that of the transport.
+   */
+  public Collection<Unit> getCargo(final Unit transport) {
+    final @Nullable Set<Unit> cargo = cargoByTransport.get(transport);
+    return (cargo == null) ? Collections.emptySet() : Collections.unmodifiableSet(cargo);
+  }
+
+  void unitsAdded(final UnitHolder holder, final Collection<? extends Unit> units) {
+    for (final Unit unit : units) {
+      holderByUnit.put(unit, holder);
+    }
+  }
+
+  void unitsRemoved(final UnitHolder holder, final Collection<?> units) {
+    for (final Object unit : units) {
+      // the unit may already have been added to its next holder
+      holderByUnit.remove(unit, holder);
+    }
+  }
+
+  void transportChanged(final Unit unit, final @Nullable Unit oldTransport, final @Nullable Unit newTransport) {
+    if (oldTransport != null) {
+      final @Nullable Set<Unit> cargo = cargoByTransport.get(oldTransport);
+      if (cargo != null) {
+        cargo.remove(unit);
+        if (cargo.isEmpty()) {
+          cargoByTransport.remove(oldTransport);
+        }
+      }
+    }
+    if (newTransport != null) {
+      cargoByTransport.computeIfAbsent(newTransport, k -> new LinkedHashSet<>()).add(unit);
+    }
+  }
+}
@@ -27,6 +27,7 @@ class AddAttachmentChange extends Change {
     attachable.addAttachment(name, attachment);
     attachment.setName(name);
     attachment.setAttachedTo(attachable);
+    data.resetTechBonusTable();
   }
 
   @Override
@@ -31,6 +31,18 @@ class AddUnits extends Change {
     this.name = name;
   }
 
+  String getName() {
+    return name;
+  }
+
+  String getType() {
+    return type;
+  }
+
+  Collection<Unit> getUnits() {
+    return units;
+  }
+
   @Override
   public Change invert() {
     return new RemoveUnits(name, type, units);
@@ -39,6 +39,7 @@ class AttachmentPropertyReset extends Change {
   public void perform(final GameData data) {
     final IAttachment attachment = attachedTo.getAttachment(attachmentName);
     attachment.getPropertyOrThrow(property).resetValue();
+    data.resetTechBonusTable();
   }
 
   @Override
@@ -34,6 +34,7 @@ class AttachmentPropertyResetUndo extends Change {
               newValue, property, attachmentName, attachedTo),
           e);
     }
+    data.resetTechBonusTable();
   }
 
   @Override
@@ -0,0 +1,193 @@
+package games.strategy.engine.data.changefactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+import org.triplea.java.collections.IntegerMap;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.Unit;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Compacts a sequence of changes into an equivalent change that is usually much smaller, by merging the changes made
+ * to the same thing: units that moved several times are removed from where they started and added to where they
+ * ended, each unit property and territory owner is changed once from its first to its last value, and the changes to
+ * each resource of a player are summed.
+ *
+ * <p>
+ * Only changes of those kinds are merged. They never depend on one another unless they change the same thing, so the
+ * merged changes can be made in any order. Any other change is kept as is, and changes are never merged across it,
+ * since it may depend on the intermediate state the merged changes skip.
+ * </p>
+ */
+public final class ChangeCompactor {
+  private final List<Change> compactedChanges = new ArrayList<>();
+  // the changes merged since the last change that could not be merged
+  private final Map<UnitPropertyKey, Transition<Object>> unitPropertyChanges = new LinkedHashMap<>();
+  private final Map<String, Transition<String>> territoryOwnerChanges = new LinkedHashMap<>();
+  private final Map<String, IntegerMap<String>> resourceChangesByPlayer = new LinkedHashMap<>();
+  private final Map<UnitHolderKey, IntegerMap<Unit>> unitCountChangesByHolder = new LinkedHashMap<>();
+
+  /**
+   * Adds the specified change after the changes added so far.
+   */
+  public void add(final Change change) {
+    if (change instanceof CompositeChange) {
+      ((CompositeChange) change).getChanges().forEach(this::add);
+    } else if (change instanceof ObjectPropertyChange) {
+      final ObjectPropertyChange propertyChange = (ObjectPropertyChange) change;
+      merge(
+          unitPropertyChanges,
+          new UnitPropertyKey(propertyChange.getObject(), propertyChange.getProperty()),
+          propertyChange.getOldValue(),
+          propertyChange.getNewValue());
+    } else if (change instanceof OwnerChange) {
+      final OwnerChange ownerChange = (OwnerChange) change;
+      merge(
+          territoryOwnerChanges,
+          ownerChange.getTerritoryName(),
+          ownerChange.getOldOwnerName(),
+          ownerChange.getNewOwnerName());
+    } else if (change instanceof ChangeResourceChange) {
+      final ChangeResourceChange resourceChange = (ChangeResourceChange) change;
+      resourceChangesByPlayer.computeIfAbsent(resourceChange.getPlayerName(), k -> new IntegerMap<>())
+          .add(resourceChange.getResourceName(), resourceChange.getQuantity());
+    } else if (change instanceof AddUnits) {
+      final AddUnits addUnits = (AddUnits) change;
+      addUnitCountChanges(addUnits.getName(), addUnits.getType(), addUnits.getUnits(), 1);
+    } else if (change instanceof RemoveUnits) {
+      final RemoveUnits removeUnits = (RemoveUnits) change;
+      addUnitCountChanges(removeUnits.getName(), removeUnits.getType(), removeUnits.getUnits(), -1);
+    } else if (!change.isEmpty()) {
+      compactedChanges.addAll(getMergedChanges());
+      unitPropertyChanges.clear();
+      territoryOwnerChanges.clear();
+      resourceChangesByPlayer.clear();
+      unitCountChangesByHolder.clear();
+      compactedChanges.add(change);
+    }
+  }
+
+  private static <K, V> void merge(
+      final Map<K, Transition<V>> transitions,
+      final K key,
+      final @Nullable V oldValue,
+      final @Nullable V newValue) {
+    final @Nullable Transition<V> transition = transitions.get(key);
+    if (transition == null) {
+      transitions.put(key, new Transition<>(oldValue, newValue));
+    } else {
+      transition.newValue = newValue;
+    }
+  }
+
+  private void addUnitCountChanges(
+      final String holderName,
+      final String holderType,
+      final Iterable<Unit> units,
+      final int countChange) {
+    final IntegerMap<Unit> unitCountChanges =
+        unitCountChangesByHolder.computeIfAbsent(new UnitHolderKey(holderName, holderType), k -> new IntegerMap<>());
+    for (final Unit unit : units) {
+      unitCountChanges.add(unit, countChange);
+    }
+  }
+
+  /**
+   * Returns a change equivalent to all the changes added so far.
+   */
+  public Change toChange() {
+    final List<Change> changes = new ArrayList<>(compactedChanges);
+    changes.addAll(getMergedChanges());
+    return new CompositeChange(changes);
+  }
+
+  /**
+   * Returns the merged changes. Units are removed from where they were before being added to where they are now, so
+   * that a unit is never added to a unit holder it is still in.
+   */
+  private List<Change> getMergedChanges() {
+    final List<Change> changes = new ArrayList<>();
+    unitPropertyChanges.forEach((key, transition) -> {
+      if (!Objects.equals(transition.oldValue, transition.newValue)) {
+        changes.add(new ObjectPropertyChange(key.unit, key.property, transition.newValue, transition.oldValue));
+      }
+    });
+    territoryOwnerChanges.forEach((territoryName, transition) -> {
+      if (!Objects.equals(transition.oldValue, transition.newValue)) {
+        changes.add(new OwnerChange(territoryName, transition.newValue, transition.oldValue));
+      }
+    });
+    resourceChangesByPlayer.forEach((playerName, quantities) -> {
+      for (final String resourceName : quantities.keySet()) {
+        if (quantities.getInt(resourceName) != 0) {
+          changes.add(new ChangeResourceChange(playerName, resourceName, quantities.getInt(resourceName)));
+        }
+      }
+    });
+    unitCountChangesByHolder.forEach((key, unitCountChanges) -> {
+      final List<Unit> removedUnits = getUnits(unitCountChanges, -1);
+      if (!removedUnits.isEmpty()) {
+        changes.add(new RemoveUnits(key.name, key.type, removedUnits));
+      }
+    });
+    unitCountChangesByHolder.forEach((key, unitCountChanges) -> {
+      final List<Unit> addedUnits = getUnits(unitCountChanges, 1);
+      if (!addedUnits.isEmpty()) {
+        changes.add(new AddUnits(key.name, key.type, addedUnits));
+      }
+    });
+    return changes;
+  }
+
+  private static List<Unit> getUnits(final IntegerMap<Unit> unitCountChanges, final int sign) {
+    final List<Unit> units = new ArrayList<>();
+    for (final Unit unit : unitCountChanges.keySet()) {
+      final int count = unitCountChanges.getInt(unit) * sign;
+      if (count > 0) {
+        units.addAll(Collections.nCopies(count, unit));
+      }
+    }
+    return units;
+  }
+
+  private static final class Transition<T> {
+    private final @Nullable T oldValue;
+    private @Nullable T newValue;
+
+    Transition(final @Nullable T oldValue, final @Nullable T newValue) {
+      this.oldValue = oldValue;
+      this.newValue = newValue;
+    }
+  }
+
+  @EqualsAndHashCode
+  private static final class UnitPropertyKey {
+    private final Unit unit;
+    private final String property;
+
+    UnitPropertyKey(final Unit unit, final String property) {
+      this.unit = unit;
+      this.property = property;
+    }
+  }
+
+  @EqualsAndHashCode
+  private static final class UnitHolderKey {
+    private final String name;
+    private final String type;
+
+    UnitHolderKey(final String name, final String type) {
+      this.name = name;
+      this.type = type;
+    }
+  }
+}
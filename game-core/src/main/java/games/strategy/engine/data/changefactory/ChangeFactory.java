@@ -221,4 +221,25 @@ public class ChangeFactory {
   public static Change markNoMovementChange(final Unit unit) {
     return unitPropertyChange(unit, TripleAUnit.get(unit).getMaxMovementAllowed(), TripleAUnit.ALREADY_MOVED);
   }
+
+  /**
+   * Indicates the specified change only adds, removes or alters units, or changes territory owners, resources or
+   * battle records. Such a change never alters the rules, attachments, technologies or relationships of the game.
+   */
+  public static boolean isUnitOrResourceChange(final Change change) {
+    if (change instanceof CompositeChange) {
+      return ((CompositeChange) change).getChanges().stream().allMatch(ChangeFactory::isUnitOrResourceChange);
+    }
+    return change.isEmpty()
+        || change instanceof AddUnits
+        || change instanceof RemoveUnits
+        || change instanceof PlayerOwnerChange
+        || change instanceof ObjectPropertyChange
+        || change instanceof UnitHitsChange
+        || change instanceof BombingUnitDamageChange
+        || change instanceof OwnerChange
+        || change instanceof ChangeResourceChange
+        || change instanceof AddBattleRecordsChange
+        || change instanceof RemoveBattleRecordsChange;
+  }
 }
@@ -22,12 +22,24 @@ class ChangeResourceChange extends Change {
     this.quantity = quantity;
   }
 
-  private ChangeResourceChange(final String playerName, final String resourceName, final int quantity) {
+  ChangeResourceChange(final String playerName, final String resourceName, final int quantity) {
     this.playerName = playerName;
     this.resourceName = resourceName;
     this.quantity = quantity;
   }
 
+  String getPlayerName() {
+    return playerName;
+  }
+
+  String getResourceName() {
+    return resourceName;
+  }
+
+  int getQuantity() {
+    return quantity;
+  }
+
   @Override
   public Change invert() {
     return new ChangeResourceChange(playerName, resourceName, -quantity);
@@ -26,8 +26,7 @@ public class ObjectPropertyChange extends Change {
     oldValue = object.getPropertyOrThrow(property).getValue();
   }
 
-  private ObjectPropertyChange(final Unit object, final String property, final Object newValue,
-      final Object oldValue) {
+  ObjectPropertyChange(final Unit object, final String property, final Object newValue, final Object oldValue) {
     this.object = object;
     // prevent multiple copies of the property names being held in the game
     this.property = property.intern();
@@ -35,6 +34,22 @@ public class ObjectPropertyChange extends Change {
     this.oldValue = oldValue;
   }
 
+  Unit getObject() {
+    return object;
+  }
+
+  String getProperty() {
+    return property;
+  }
+
+  Object getNewValue() {
+    return newValue;
+  }
+
+  Object getOldValue() {
+    return oldValue;
+  }
+
   private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
     stream.defaultReadObject();
     property = property.intern();
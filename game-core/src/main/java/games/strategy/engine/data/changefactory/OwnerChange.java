@@ -27,12 +27,24 @@ class OwnerChange extends Change {
     oldOwnerName = getName(territory.getOwner());
   }
 
-  private OwnerChange(final String territoryName, final String newOwnerName, final String oldOwnerName) {
+  OwnerChange(final String territoryName, final String newOwnerName, final String oldOwnerName) {
     this.territoryName = territoryName;
     this.newOwnerName = newOwnerName;
     this.oldOwnerName = oldOwnerName;
   }
 
+  String getTerritoryName() {
+    return territoryName;
+  }
+
+  String getNewOwnerName() {
+    return newOwnerName;
+  }
+
+  String getOldOwnerName() {
+    return oldOwnerName;
+  }
+
   private static String getName(final PlayerId player) {
     if (player == null) {
       return null;
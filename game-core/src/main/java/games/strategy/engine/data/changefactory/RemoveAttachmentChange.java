@@ -30,6 +30,7 @@ class RemoveAttachmentChange extends Change {
     if (attachable != null && name != null) {
       attachable.addAttachment(name, attachment);
     }
+    data.resetTechBonusTable();
   }
 
   @Override
@@ -26,6 +26,18 @@ class RemoveUnits extends Change {
     this.type = type;
   }
 
+  String getName() {
+    return name;
+  }
+
+  String getType() {
+    return type;
+  }
+
+  Collection<Unit> getUnits() {
+    return units;
+  }
+
   @Override
   public Change invert() {
     return new AddUnits(name, type, units);
@@ -0,0 +1,169 @@
+package games.strategy.engine.framework;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.extern.java.Log;
+
+/**
+ * Writes auto-saves on a dedicated I/O thread, so the game thread only pays for taking a snapshot of the game (see
+ * {@link GameDataManager#snapshotGame}).
+ *
+ * <p>
+ * Each snapshot is compressed into a temporary file next to the auto-save, which is then renamed over the auto-save,
+ * so a reader never sees a partially written file. If a newer snapshot for the same file arrives before an older one
+ * has been written, only the newer one is written.
+ * </p>
+ */
+@Log
+@ThreadSafe
+final class AutoSaveWriter {
+  private static final long SHUT_DOWN_TIMEOUT_SECONDS = 30;
+
+  private final Executor executor;
+  private final Object lock = new Object();
+  @GuardedBy("lock")
+  private final Map<File, PendingSave> pendingSaves = new HashMap<>();
+  @GuardedBy("lock")
+  private int coalescedSaveCount;
+
+  AutoSaveWriter() {
+    this(Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+        .setDaemon(true)
+        .setNameFormat("Auto Save Writer")
+        .build()));
+  }
+
+  @VisibleForTesting
+  AutoSaveWriter(final Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Queues the specified snapshot to be written to the specified file, replacing any snapshot for that file that has
+   * not been written yet. Once the writer has been shut down, the snapshot is written on the calling thread instead.
+   *
+   * @param snapshotMillis How long the game was blocked taking the snapshot; reported once the save is written.
+   */
+  void write(final File file, final byte[] snapshot, final long snapshotMillis) {
+    checkNotNull(file);
+    checkNotNull(snapshot);
+
+    final PendingSave save = new PendingSave(snapshot, snapshotMillis, System.nanoTime());
+    synchronized (lock) {
+      if (pendingSaves.put(file, save) != null) {
+        coalescedSaveCount++;
+        return;
+      }
+    }
+    try {
+      executor.execute(() -> writePendingSave(file));
+    } catch (final RejectedExecutionException e) {
+      // the game is stopping; writing here is slower but keeps the save from being lost or stuck in pendingSaves
+      writePendingSave(file);
+    }
+  }
+
+  private void writePendingSave(final File file) {
+    final PendingSave save;
+    synchronized (lock) {
+      save = pendingSaves.remove(file);
+    }
+    if (save == null) {
+      return;
+    }
+    final long writeStart = System.nanoTime();
+    try {
+      writeAtomically(file, save.snapshot);
+    } catch (final IOException e) {
+      log.log(Level.SEVERE, "Failed to save game to file: " + file.getAbsolutePath(), e);
+      return;
+    }
+    final long end = System.nanoTime();
+    log.fine(() -> String.format("Auto-saved %s: game blocked %d ms, queued %d ms, written in %d ms",
+        file.getName(),
+        save.snapshotMillis,
+        TimeUnit.NANOSECONDS.toMillis(writeStart - save.queuedNanos),
+        TimeUnit.NANOSECONDS.toMillis(end - writeStart)));
+  }
+
+  private static void writeAtomically(final File file, final byte[] snapshot) throws IOException {
+    final File parentDir = file.getAbsoluteFile().getParentFile();
+    if (!parentDir.exists() && !parentDir.mkdirs()) {
+      throw new IOException("Failed to create save game directory (or one of its ancestors): "
+          + parentDir.getAbsolutePath());
+    }
+    // the temporary file must be in the same directory for the rename to be atomic
+    final Path tempFile = Files.createTempFile(parentDir.toPath(), file.getName(), ".tmp");
+    try {
+      try (OutputStream os = Files.newOutputStream(tempFile)) {
+        GameDataManager.writeSnapshot(snapshot, os);
+      }
+      try {
+        Files.move(tempFile, file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (final AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  @VisibleForTesting
+  int getCoalescedSaveCount() {
+    synchronized (lock) {
+      return coalescedSaveCount;
+    }
+  }
+
+  /**
+   * Writes any queued snapshots, waiting a bounded time for them to finish, and stops the I/O thread.
+   */
+  void shutDown() {
+    if (!(executor instanceof ExecutorService)) {
+      return;
+    }
+    final ExecutorService executorService = (ExecutorService) executor;
+    executorService.shutdown();
+    try {
+      if (!executorService.awaitTermination(SHUT_DOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        log.warning("Timed out waiting for auto-saves to be written");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static final class PendingSave {
+    private final byte[] snapshot;
+    private final long snapshotMillis;
+    private final long queuedNanos;
+
+    PendingSave(final byte[] snapshot, final long snapshotMillis, final long queuedNanos) {
+      this.snapshot = snapshot;
+      this.snapshotMillis = snapshotMillis;
+      this.queuedNanos = queuedNanos;
+    }
+  }
+}
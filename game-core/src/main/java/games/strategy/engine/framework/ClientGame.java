@@ -3,6 +3,7 @@ package games.strategy.engine.framework;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
@@ -20,7 +21,6 @@ import games.strategy.engine.random.IRemoteRandom;
 import games.strategy.engine.random.RemoteRandom;
 import games.strategy.net.INode;
 import games.strategy.net.Messengers;
-import games.strategy.triplea.delegate.BattleCalculator;
 import lombok.extern.java.Log;
 
 /**
@@ -99,7 +99,7 @@ public class ClientGame extends AbstractGame {
         if (!loadedFromSavedGame) {
           gameData.getHistory().getHistoryWriter().startNextStep(stepName, delegateName, player, displayName);
         }
-        BattleCalculator.clearOolCache();
+        gameData.getOrderOfLossesCache().clear();
         notifyGameStepListeners(stepName, delegateName, player, round, displayName);
       }
 
@@ -162,6 +162,13 @@ public class ClientGame extends AbstractGame {
         IGameStepAdvancer.class);
   }
 
+  /**
+   * Replays the modifications made to the game since its game data was saved, in the order they were made.
+   */
+  public void applyModifications(final Collection<GameModification> modifications) {
+    modifications.forEach(modification -> modification.applyTo(gameModifiedChannel));
+  }
+
   /**
    * Shuts down this client node. May or may not affect the server depending on the role of the player associated with
    * this node.
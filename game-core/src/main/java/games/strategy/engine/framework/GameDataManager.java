@@ -4,30 +4,37 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
 import javax.swing.JOptionPane;
 
-import org.apache.commons.io.IOUtils;
 import org.triplea.game.server.HeadlessGameServer;
 import org.triplea.java.Interruptibles;
+import org.triplea.java.function.ThrowingFunction;
 import org.triplea.swing.SwingAction;
 import org.triplea.util.Version;
 
 import games.strategy.engine.ClientContext;
 import games.strategy.engine.GameEngineVersion;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectInputStream;
+import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.data.IAttachment;
 import games.strategy.engine.delegate.IDelegate;
+import games.strategy.engine.history.History;
+import games.strategy.io.IoUtils;
 import games.strategy.triplea.UrlConstants;
 
 /**
@@ -37,6 +44,9 @@ public final class GameDataManager {
   private static final String DELEGATE_START = "<DelegateStart>";
   private static final String DELEGATE_DATA_NEXT = "<DelegateData>";
   private static final String DELEGATE_LIST_END = "<EndDelegateList>";
+  // engines released before save game containers cannot read them, so saves are written in the legacy format until
+  // such engines are no longer in use; switch to SaveGameCodec.FAST then
+  private static final SaveGameCodec SAVE_GAME_CODEC = SaveGameCodec.GZIP;
 
   private GameDataManager() {}
 
@@ -59,7 +69,8 @@ public final class GameDataManager {
   }
 
   /**
-   * Loads game data from the specified stream.
+   * Loads game data from the specified stream. Both save games made of sections (see {@link SaveGameContainer}) and
+   * older save games, which are a single gzip compressed object stream, are recognized.
    *
    * @param is The stream from which the game data will be loaded. The caller is responsible for closing this stream; it
    *        will not be closed when this method returns.
@@ -71,33 +82,104 @@ public final class GameDataManager {
   public static GameData loadGame(final InputStream is) throws IOException {
     checkNotNull(is);
 
+    final InputStream input = is.markSupported() ? is : new BufferedInputStream(is);
+    if (SaveGameContainer.isContainer(input)) {
+      final SaveGameContainer container = SaveGameContainer.read(input);
+      if (!isCompatibleWithEngineVersion(container.getEngineVersion())) {
+        return null;
+      }
+      return readGameData(container);
+    }
+    return loadLegacyGame(input);
+  }
+
+  private static GameData loadLegacyGame(final InputStream is) throws IOException {
     final ObjectInputStream input = new ObjectInputStream(new GZIPInputStream(is));
     try {
       final Version readVersion = (Version) input.readObject();
-      final boolean headless = HeadlessGameServer.headless();
-      if (!GameEngineVersion.of(ClientContext.engineVersion()).isCompatibleWithEngineVersion(readVersion)) {
-        final String error = "Incompatible engine versions. We are: "
-            + ClientContext.engineVersion() + " . Trying to load game created with: " + readVersion
-            + "\nTo download the latest version of TripleA, Please visit "
-            + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE;
-        throw new IOException(error);
-      } else if (!headless && readVersion.isGreaterThan(ClientContext.engineVersion())) {
-        // we can still load it because our engine is compatible, however this save was made by a
-        // newer engine, so prompt the user to upgrade
-        if (!promptToLoadNewerSaveGame(readVersion)) {
-          return null;
-        }
+      if (!isCompatibleWithEngineVersion(readVersion)) {
+        return null;
       }
 
-      final GameData data = (GameData) input.readObject();
-      data.postDeSerialize();
-      loadDelegates(input, data);
-      return data;
+      return readGameData(input);
     } catch (final ClassNotFoundException cnfe) {
       throw new IOException(cnfe.getMessage());
     }
   }
 
+  /**
+   * Checks that a save game written by the specified engine version can be loaded.
+   *
+   * @return {@code false} if the user chose not to load a save game made by a newer engine.
+   *
+   * @throws IOException If the save game was written by an incompatible engine.
+   */
+  private static boolean isCompatibleWithEngineVersion(final Version readVersion) throws IOException {
+    if (!GameEngineVersion.of(ClientContext.engineVersion()).isCompatibleWithEngineVersion(readVersion)) {
+      final String error = "Incompatible engine versions. We are: "
+          + ClientContext.engineVersion() + " . Trying to load game created with: " + readVersion
+          + "\nTo download the latest version of TripleA, Please visit "
+          + UrlConstants.LATEST_GAME_DOWNLOAD_WEBSITE;
+      throw new IOException(error);
+    } else if (!HeadlessGameServer.headless() && readVersion.isGreaterThan(ClientContext.engineVersion())) {
+      // we can still load it because our engine is compatible, however this save was made by a
+      // newer engine, so prompt the user to upgrade
+      return promptToLoadNewerSaveGame(readVersion);
+    }
+    return true;
+  }
+
+  /**
+   * Reads the game data, its history and the state of its delegates from the sections of the specified container. The
+   * history and delegate sections are decompressed in the background while the game data is read.
+   */
+  static GameData readGameData(final SaveGameContainer container) throws IOException {
+    container.prefetchSections(SaveGameContainer.HISTORY_SECTION, SaveGameContainer.DELEGATES_SECTION);
+    try {
+      final GameData data = readSection(container, SaveGameContainer.GAME_DATA_SECTION, ObjectInputStream::new,
+          in -> (GameData) in.readObject());
+      data.postDeSerialize();
+      data.setHistory(readSection(container, SaveGameContainer.HISTORY_SECTION,
+          is -> new SectionObjectInputStream(data, is), in -> (History) in.readObject()));
+      readSection(container, SaveGameContainer.DELEGATES_SECTION, is -> new SectionObjectInputStream(data, is), in -> {
+        loadDelegates(in, data);
+        return null;
+      });
+      return data;
+    } catch (final ClassNotFoundException | ClassCastException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface SectionReader<T> {
+    T read(ObjectInputStream in) throws IOException, ClassNotFoundException;
+  }
+
+  private static <T> T readSection(
+      final SaveGameContainer container,
+      final int id,
+      final ThrowingFunction<InputStream, ObjectInputStream, IOException> streamFactory,
+      final SectionReader<T> reader)
+      throws IOException, ClassNotFoundException {
+    final byte[] section = container.getSection(id)
+        .orElseThrow(() -> new IOException("Save game is missing section " + id));
+    try (ObjectInputStream in = streamFactory.apply(new ByteArrayInputStream(section))) {
+      return reader.read(in);
+    }
+  }
+
+  /**
+   * Reads the game data and delegate state written by {@link #writeGameData(ObjectOutputStream, GameData, boolean)}
+   * from the specified stream. No engine version header is expected.
+   */
+  static GameData readGameData(final ObjectInputStream input) throws ClassNotFoundException, IOException {
+    final GameData data = (GameData) input.readObject();
+    data.postDeSerialize();
+    loadDelegates(input, data);
+    return data;
+  }
+
   private static boolean promptToLoadNewerSaveGame(final Version saveGameVersion) {
     final int answer = Interruptibles.awaitResult(() -> SwingAction.invokeAndWaitResult(() -> {
       final String message = "Your TripleA engine is OUT OF DATE. "
@@ -157,34 +239,118 @@ public final class GameDataManager {
       final GameData data,
       final boolean saveDelegateInfo)
       throws IOException {
-    final File tempFile = File.createTempFile(GameDataManager.class.getSimpleName(), GameDataFileUtils.getExtension());
+    // snapshot in memory first in case of error, then write to sink (ensure sink is closed per method contract)
+    writeSnapshot(snapshotGame(data, saveDelegateInfo), sink);
+  }
+
+  /**
+   * Serializes the specified game data and the state of its delegates into memory, without compression. This is the
+   * cheap part of saving a game; the snapshot can later be written to a save game with {@link #writeSnapshot} on
+   * another thread.
+   */
+  static byte[] snapshotGame(final GameData data) throws IOException {
+    checkNotNull(data);
+
+    return snapshotGame(data, true);
+  }
+
+  /**
+   * Serializes the specified game data into memory, without compression, in the format save games are written in: a
+   * save game container with uncompressed sections, or the legacy object stream that starts with the engine version.
+   */
+  private static byte[] snapshotGame(final GameData data, final boolean saveDelegateInfo) throws IOException {
+    if (writesLegacySaveGames()) {
+      return IoUtils.writeToMemory(os -> {
+        try (ObjectOutputStream out = new ObjectOutputStream(os)) {
+          out.writeObject(ClientContext.engineVersion());
+          writeGameData(out, data, saveDelegateInfo);
+        }
+      });
+    }
+    final SaveGameContainer container = snapshotSections(data, saveDelegateInfo);
+    return IoUtils.writeToMemory(os -> container.write(os, SaveGameCodec.NONE));
+  }
+
+  private static boolean writesLegacySaveGames() {
+    return SAVE_GAME_CODEC == SaveGameCodec.GZIP;
+  }
+
+  /**
+   * Writes a snapshot created by {@link #snapshotGame(GameData)} to the specified stream in the save game format.
+   *
+   * @param os The stream to which the save game will be written. Note that this stream will be closed if this method
+   *        returns successfully.
+   */
+  static void writeSnapshot(final byte[] snapshot, final OutputStream os) throws IOException {
+    checkNotNull(snapshot);
+    checkNotNull(os);
+
+    if (writesLegacySaveGames()) {
+      try (OutputStream bufferedOutStream = new BufferedOutputStream(os);
+          OutputStream zippedOutStream = new GZIPOutputStream(bufferedOutStream)) {
+        zippedOutStream.write(snapshot);
+      }
+      return;
+    }
+    final SaveGameContainer container = IoUtils.readFromMemory(snapshot, SaveGameContainer::read);
+    try (OutputStream bufferedOutStream = new BufferedOutputStream(os)) {
+      container.write(bufferedOutStream, SAVE_GAME_CODEC);
+    }
+  }
+
+  /**
+   * Serializes the game data, its history and the state of its delegates into separate sections while holding the
+   * game data's read lock. The history and delegate sections are written with game object streams, like changes sent
+   * to network clients, so their references to territories, players, units and the game data itself resolve to the
+   * objects of the game data section when they are read back.
+   */
+  static SaveGameContainer snapshotSections(final GameData data, final boolean saveDelegateInfo)
+      throws IOException {
+    final Map<Integer, byte[]> sections = new LinkedHashMap<>();
+    data.acquireReadLock();
     try {
-      // write to temporary file first in case of error
-      try (OutputStream os = new FileOutputStream(tempFile);
-          OutputStream bufferedOutStream = new BufferedOutputStream(os);
-          OutputStream zippedOutStream = new GZIPOutputStream(bufferedOutStream);
-          ObjectOutputStream outStream = new ObjectOutputStream(zippedOutStream)) {
-        outStream.writeObject(ClientContext.engineVersion());
-        data.acquireReadLock();
-        try {
-          outStream.writeObject(data);
+      final History history = data.getHistory();
+      sections.put(SaveGameContainer.GAME_DATA_SECTION, IoUtils.writeToMemory(os -> {
+        try (ObjectOutputStream out = new WithoutHistoryObjectOutputStream(os, history)) {
+          out.writeObject(data);
+        }
+      }));
+      sections.put(SaveGameContainer.HISTORY_SECTION, IoUtils.writeToMemory(os -> {
+        try (ObjectOutputStream out = new SectionObjectOutputStream(os)) {
+          out.writeObject(history);
+        }
+      }));
+      sections.put(SaveGameContainer.DELEGATES_SECTION, IoUtils.writeToMemory(os -> {
+        try (ObjectOutputStream out = new SectionObjectOutputStream(os)) {
           if (saveDelegateInfo) {
-            writeDelegates(data, outStream);
+            writeDelegates(data, out);
           } else {
-            outStream.writeObject(DELEGATE_LIST_END);
+            out.writeObject(DELEGATE_LIST_END);
           }
-        } finally {
-          data.releaseReadLock();
         }
-      }
+      }));
+    } finally {
+      data.releaseReadLock();
+    }
+    return new SaveGameContainer(ClientContext.engineVersion(), sections);
+  }
 
-      // now write to sink (ensure sink is closed per method contract)
-      try (InputStream is = new FileInputStream(tempFile);
-          OutputStream os = new BufferedOutputStream(sink)) {
-        IOUtils.copy(is, os);
+  /**
+   * Writes the specified game data, and optionally the state of its delegates, to the specified stream while holding
+   * the game data's read lock. No engine version header is written.
+   */
+  static void writeGameData(final ObjectOutputStream out, final GameData data, final boolean saveDelegateInfo)
+      throws IOException {
+    data.acquireReadLock();
+    try {
+      out.writeObject(data);
+      if (saveDelegateInfo) {
+        writeDelegates(data, out);
+      } else {
+        out.writeObject(DELEGATE_LIST_END);
       }
     } finally {
-      tempFile.delete();
+      data.releaseReadLock();
     }
   }
 
@@ -201,4 +367,58 @@ public final class GameDataManager {
     // mark end of delegate section
     out.writeObject(DELEGATE_LIST_END);
   }
+
+  /**
+   * Writes game data without the specified history, which is written as {@code null}. The history is either saved
+   * separately or not copied at all.
+   */
+  static final class WithoutHistoryObjectOutputStream extends ObjectOutputStream {
+    private final History history;
+
+    WithoutHistoryObjectOutputStream(final OutputStream os, final History history) throws IOException {
+      super(os);
+      this.history = history;
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(final Object obj) {
+      return obj == history ? null : obj;
+    }
+  }
+
+  /**
+   * Writes a section that refers to the objects of the game data section rather than copying them.
+   */
+  private static final class SectionObjectOutputStream extends GameObjectOutputStream {
+    SectionObjectOutputStream(final OutputStream os) throws IOException {
+      super(os);
+    }
+
+    @Override
+    protected Object replaceObject(final Object obj) {
+      if (obj instanceof GameData) {
+        return GameDataReference.INSTANCE;
+      } else if (obj instanceof IAttachment) {
+        // attachments have no game object stream handle, so they are copied
+        return obj;
+      }
+      return super.replaceObject(obj);
+    }
+  }
+
+  private static final class SectionObjectInputStream extends GameObjectInputStream {
+    SectionObjectInputStream(final GameData data, final InputStream is) throws IOException {
+      super(new GameObjectStreamFactory(data), is);
+    }
+
+    @Override
+    protected Object resolveObject(final Object obj) {
+      return obj == GameDataReference.INSTANCE ? getData() : super.resolveObject(obj);
+    }
+  }
+
+  private enum GameDataReference {
+    INSTANCE
+  }
 }
@@ -7,7 +7,6 @@ import java.util.logging.Level;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameObjectOutputStream;
-import games.strategy.engine.history.History;
 import games.strategy.io.IoUtils;
 import lombok.extern.java.Log;
 
@@ -20,14 +19,15 @@ public final class GameDataUtils {
 
   /**
    * Create a deep copy of GameData without history as it can get large.
-   * <strong>You should have the game data's write lock before calling this method</strong>
+   * <strong>You should have the game data's read or write lock before calling this method</strong>
    */
   public static GameData cloneGameDataWithoutHistory(final GameData data, final boolean copyDelegates) {
-    final History temp = data.getHistory();
-    data.resetHistory();
-    final GameData dataCopy = cloneGameData(data, copyDelegates);
-    data.setHistory(temp);
-    return dataCopy;
+    try {
+      return restoreGameData(snapshotGameDataWithoutHistory(data, copyDelegates));
+    } catch (final IOException e) {
+      log.log(Level.SEVERE, "Failed to clone game data", e);
+      return null;
+    }
   }
 
   public static GameData cloneGameData(final GameData data) {
@@ -37,17 +37,56 @@ public final class GameDataUtils {
   /**
    * Create a deep copy of GameData.
    * <strong>You should have the game data's read or write lock before calling this method</strong>
+   *
+   * <p>
+   * The copy is made entirely in memory: unlike a save game, the serialized form is neither compressed nor staged in
+   * a temporary file, and it carries no engine version header.
+   * </p>
    */
   public static GameData cloneGameData(final GameData data, final boolean copyDelegates) {
     try {
-      final byte[] bytes = IoUtils.writeToMemory(os -> GameDataManager.saveGame(os, data, copyDelegates));
-      return IoUtils.readFromMemory(bytes, GameDataManager::loadGame);
+      return restoreGameData(snapshotGameData(data, copyDelegates));
     } catch (final IOException e) {
       log.log(Level.SEVERE, "Failed to clone game data", e);
       return null;
     }
   }
 
+  /**
+   * Serializes GameData, without history, into an in-memory snapshot. Any number of independent copies can later be
+   * restored from the snapshot via {@link #restoreGameData(byte[])} without touching, or locking, the original. The
+   * history is left out of the stream rather than swapped out of the original, so the original is never modified.
+   * <strong>You should have the game data's read or write lock before calling this method</strong>
+   */
+  public static byte[] snapshotGameDataWithoutHistory(final GameData data, final boolean copyDelegates)
+      throws IOException {
+    return IoUtils.writeToMemory(os -> {
+      try (ObjectOutputStream out =
+          new GameDataManager.WithoutHistoryObjectOutputStream(os, data.getHistory())) {
+        GameDataManager.writeGameData(out, data, copyDelegates);
+      }
+    });
+  }
+
+  /**
+   * Restores a new, independent copy of GameData from a snapshot created by
+   * {@link #snapshotGameDataWithoutHistory(GameData, boolean)}. The snapshot itself is not modified, so it is safe to
+   * restore from the same snapshot on several threads at once.
+   */
+  public static GameData restoreGameData(final byte[] snapshot) throws IOException {
+    return IoUtils.readFromMemory(snapshot, is -> {
+      try (ObjectInputStream in = new ObjectInputStream(is)) {
+        final GameData data = GameDataManager.readGameData(in);
+        if (data.getHistory() == null) {
+          data.resetHistory();
+        }
+        return data;
+      } catch (final ClassNotFoundException e) {
+        throw new IOException(e);
+      }
+    });
+  }
+
   /**
    * Translate units, territories and other game data objects from one game data into another.
    */
@@ -0,0 +1,109 @@
+package games.strategy.engine.framework;
+
+import java.io.Serializable;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.PlayerId;
+
+/**
+ * A modification of the game data broadcast over the {@link IGameModifiedChannel}, recorded so that it can be replayed
+ * later on a copy of the game data that was saved before the modification was made.
+ */
+public abstract class GameModification implements Serializable {
+  private static final long serialVersionUID = 4146574928211853146L;
+
+  private GameModification() {}
+
+  /**
+   * Replays this modification on the specified channel, as if it had just been broadcast.
+   */
+  abstract void applyTo(IGameModifiedChannel channel);
+
+  static GameModification gameDataChanged(final Change change) {
+    return new GameDataChanged(change);
+  }
+
+  static GameModification historyEventStarted(final String event, final Object renderingData) {
+    return new HistoryEventStarted(event, renderingData);
+  }
+
+  static GameModification childAddedToEvent(final String text, final Object renderingData) {
+    return new ChildAddedToEvent(text, renderingData);
+  }
+
+  static GameModification stepChanged(final String stepName, final String delegateName, final PlayerId player,
+      final int round, final String displayName, final boolean loadedFromSavedGame) {
+    return new StepChanged(stepName, delegateName, player, round, displayName, loadedFromSavedGame);
+  }
+
+  private static final class GameDataChanged extends GameModification {
+    private static final long serialVersionUID = -2262016717573427414L;
+    private final Change change;
+
+    GameDataChanged(final Change change) {
+      this.change = change;
+    }
+
+    @Override
+    void applyTo(final IGameModifiedChannel channel) {
+      channel.gameDataChanged(change);
+    }
+  }
+
+  private static final class HistoryEventStarted extends GameModification {
+    private static final long serialVersionUID = 2553155407347474540L;
+    private final String event;
+    private final Object renderingData;
+
+    HistoryEventStarted(final String event, final Object renderingData) {
+      this.event = event;
+      this.renderingData = renderingData;
+    }
+
+    @Override
+    void applyTo(final IGameModifiedChannel channel) {
+      channel.startHistoryEvent(event, renderingData);
+    }
+  }
+
+  private static final class ChildAddedToEvent extends GameModification {
+    private static final long serialVersionUID = -6707412338596213468L;
+    private final String text;
+    private final Object renderingData;
+
+    ChildAddedToEvent(final String text, final Object renderingData) {
+      this.text = text;
+      this.renderingData = renderingData;
+    }
+
+    @Override
+    void applyTo(final IGameModifiedChannel channel) {
+      channel.addChildToEvent(text, renderingData);
+    }
+  }
+
+  private static final class StepChanged extends GameModification {
+    private static final long serialVersionUID = 7519512370541436725L;
+    private final String stepName;
+    private final String delegateName;
+    private final PlayerId player;
+    private final int round;
+    private final String displayName;
+    private final boolean loadedFromSavedGame;
+
+    StepChanged(final String stepName, final String delegateName, final PlayerId player, final int round,
+        final String displayName, final boolean loadedFromSavedGame) {
+      this.stepName = stepName;
+      this.delegateName = delegateName;
+      this.player = player;
+      this.round = round;
+      this.displayName = displayName;
+      this.loadedFromSavedGame = loadedFromSavedGame;
+    }
+
+    @Override
+    void applyTo(final IGameModifiedChannel channel) {
+      channel.stepChanged(stepName, delegateName, player, round, displayName, loadedFromSavedGame);
+    }
+  }
+}
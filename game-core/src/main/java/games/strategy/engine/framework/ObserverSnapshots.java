@@ -0,0 +1,107 @@
+package games.strategy.engine.framework;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Saved copies of a running game handed to observers joining it, together with the modifications made to the game
+ * since each copy was saved.
+ *
+ * <p>
+ * Saving a late game takes long and the game must not change while it is saved, so a copy is saved at most once per
+ * round and shared by all observers joining during that round. An observer first loads the copy while the game goes
+ * on, then catches up by replaying the modifications recorded since, which only requires the game to stop briefly.
+ * </p>
+ */
+@ThreadSafe
+final class ObserverSnapshots {
+  private final List<Snapshot> snapshots = new ArrayList<>();
+
+  /**
+   * A saved copy of the game and the modifications made since it was saved.
+   */
+  static final class Snapshot {
+    private final byte[] gameData;
+    private final int round;
+    private final List<GameModification> modifications = new ArrayList<>();
+    private int observersJoining;
+
+    private Snapshot(final byte[] gameData, final int round) {
+      this.gameData = gameData;
+      this.round = round;
+    }
+
+    byte[] getGameData() {
+      return gameData;
+    }
+  }
+
+  /**
+   * Returns the snapshot saved during the specified round, if any, and marks an observer as joining from it.
+   */
+  synchronized Optional<Snapshot> acquire(final int round) {
+    for (final Snapshot snapshot : snapshots) {
+      if (snapshot.round == round) {
+        snapshot.observersJoining++;
+        return Optional.of(snapshot);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Adds a copy of the game saved during the specified round and marks an observer as joining from it. The game must
+   * not be modified between saving the copy and calling this method.
+   */
+  synchronized Snapshot add(final byte[] gameData, final int round) {
+    final Snapshot snapshot = new Snapshot(gameData, round);
+    snapshot.observersJoining++;
+    snapshots.add(snapshot);
+    return snapshot;
+  }
+
+  /**
+   * Returns the modifications made since the specified snapshot was saved. The game must not be modified until the
+   * modifications have been replayed by the observer.
+   */
+  synchronized List<GameModification> getModifications(final Snapshot snapshot) {
+    return new ArrayList<>(snapshot.modifications);
+  }
+
+  /**
+   * Marks an observer as done joining from the specified snapshot.
+   */
+  synchronized void release(final Snapshot snapshot) {
+    snapshot.observersJoining--;
+    // a newer snapshot is only saved once the round has changed
+    if (snapshot.observersJoining == 0 && snapshot != snapshots.get(snapshots.size() - 1)) {
+      snapshots.remove(snapshot);
+    }
+  }
+
+  /**
+   * Records a modification of the game for every snapshot still in use.
+   */
+  synchronized void record(final GameModification modification) {
+    for (final Snapshot snapshot : snapshots) {
+      snapshot.modifications.add(modification);
+    }
+  }
+
+  /**
+   * Drops the snapshots saved before the specified round that no observer is joining from.
+   */
+  synchronized void roundChanged(final int round) {
+    final Iterator<Snapshot> iterator = snapshots.iterator();
+    while (iterator.hasNext()) {
+      final Snapshot snapshot = iterator.next();
+      if (snapshot.round != round && snapshot.observersJoining == 0) {
+        iterator.remove();
+      }
+    }
+  }
+}
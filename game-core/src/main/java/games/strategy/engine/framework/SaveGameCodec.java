@@ -0,0 +1,129 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.triplea.java.function.ThrowingFunction;
+
+/**
+ * The compression applied to each section of a save game written by {@link SaveGameContainer}.
+ */
+enum SaveGameCodec {
+  /**
+   * No compression. Used for in-memory snapshots that will be compressed later.
+   */
+  NONE(0) {
+    @Override
+    byte[] compress(final byte[] bytes) {
+      return bytes;
+    }
+
+    @Override
+    byte[] decompress(final byte[] bytes, final int length) throws IOException {
+      if (bytes.length != length) {
+        throw new IOException("Expected " + length + " bytes but found " + bytes.length);
+      }
+      return bytes;
+    }
+  },
+
+  /**
+   * Deflate at its fastest level, which trades a somewhat larger file for much quicker saves.
+   */
+  FAST(1) {
+    @Override
+    byte[] compress(final byte[] bytes) throws IOException {
+      final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try {
+        return write(bytes, os -> new DeflaterOutputStream(os, deflater));
+      } finally {
+        deflater.end();
+      }
+    }
+
+    @Override
+    byte[] decompress(final byte[] bytes, final int length) throws IOException {
+      final Inflater inflater = new Inflater();
+      try {
+        return read(new InflaterInputStream(new ByteArrayInputStream(bytes), inflater), length);
+      } finally {
+        inflater.end();
+      }
+    }
+  },
+
+  /**
+   * Gzip at its default level, as used by save games written before sections were introduced. When save games are set
+   * to use this codec, {@link GameDataManager} writes them in that format rather than as a container, so that engines
+   * released before containers can read them.
+   */
+  GZIP(2) {
+    @Override
+    byte[] compress(final byte[] bytes) throws IOException {
+      return write(bytes, GZIPOutputStream::new);
+    }
+
+    @Override
+    byte[] decompress(final byte[] bytes, final int length) throws IOException {
+      return read(new GZIPInputStream(new ByteArrayInputStream(bytes)), length);
+    }
+  };
+
+  private final int id;
+
+  SaveGameCodec(final int id) {
+    this.id = id;
+  }
+
+  int getId() {
+    return id;
+  }
+
+  static SaveGameCodec fromId(final int id) throws IOException {
+    for (final SaveGameCodec codec : values()) {
+      if (codec.id == id) {
+        return codec;
+      }
+    }
+    throw new IOException("Unknown save game codec: " + id);
+  }
+
+  abstract byte[] compress(byte[] bytes) throws IOException;
+
+  /**
+   * Decompresses the specified bytes, which must expand to exactly {@code length} bytes.
+   */
+  abstract byte[] decompress(byte[] bytes, int length) throws IOException;
+
+  private static byte[] write(
+      final byte[] bytes,
+      final ThrowingFunction<OutputStream, OutputStream, IOException> compressingStreamFactory)
+      throws IOException {
+    final ByteArrayOutputStream os = new ByteArrayOutputStream(Math.max(32, bytes.length / 4));
+    try (OutputStream compressed = compressingStreamFactory.apply(os)) {
+      compressed.write(bytes);
+    }
+    return os.toByteArray();
+  }
+
+  private static byte[] read(final InputStream is, final int length) throws IOException {
+    try (DataInputStream in = new DataInputStream(is)) {
+      final byte[] bytes = new byte[length];
+      in.readFully(bytes);
+      if (in.read() != -1) {
+        throw new IOException("Section is longer than the expected " + length + " bytes");
+      }
+      return bytes;
+    }
+  }
+}
@@ -0,0 +1,237 @@
+package games.strategy.engine.framework;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import javax.annotation.Nullable;
+
+import org.triplea.util.Version;
+
+/**
+ * A save game made of a small header followed by separately compressed sections.
+ *
+ * <pre>
+ * magic           4 bytes, "TSVG"
+ * format version  unsigned byte
+ * engine version  UTF string
+ * codec           unsigned byte, see {@link SaveGameCodec}
+ * section count   unsigned byte
+ * sections        for each: id (unsigned byte), uncompressed length (int), compressed length (int), compressed bytes
+ * </pre>
+ *
+ * <p>
+ * Sections are compressed in parallel. A section that was read is only decompressed when it is first requested, so a
+ * reader does not pay for sections it does not need, such as the history, and may start decompressing the sections it
+ * needs later in the background (see {@link #prefetchSections(int...)}). Save games written before this format are a
+ * single gzip compressed object stream, which {@link #isContainer(InputStream)} tells apart by the magic number.
+ * </p>
+ */
+final class SaveGameContainer {
+  static final int GAME_DATA_SECTION = 1;
+  static final int DELEGATES_SECTION = 2;
+  static final int HISTORY_SECTION = 3;
+
+  private static final byte[] MAGIC = {'T', 'S', 'V', 'G'};
+  private static final int FORMAT_VERSION = 1;
+
+  private final Version engineVersion;
+  private final Map<Integer, Section> sections = new LinkedHashMap<>();
+
+  private SaveGameContainer(final Version engineVersion) {
+    this.engineVersion = checkNotNull(engineVersion);
+  }
+
+  /**
+   * Creates a container with the specified uncompressed sections, which are written in iteration order.
+   */
+  SaveGameContainer(final Version engineVersion, final Map<Integer, byte[]> sections) {
+    this(engineVersion);
+    checkNotNull(sections);
+    checkArgument(sections.size() <= 0xFF, "Too many sections");
+
+    sections.forEach((id, section) -> this.sections.put(id, new Section(SaveGameCodec.NONE, section, section.length)));
+  }
+
+  Version getEngineVersion() {
+    return engineVersion;
+  }
+
+  /**
+   * Returns the uncompressed contents of the specified section, or empty if this container does not have it.
+   */
+  Optional<byte[]> getSection(final int id) throws IOException {
+    final Section section = sections.get(id);
+    return section == null ? Optional.empty() : Optional.of(join(section.decompress()));
+  }
+
+  /**
+   * Starts decompressing the specified sections in the background, if they have not been already, so that they are
+   * ready by the time they are requested. Sections this container does not have are ignored.
+   */
+  void prefetchSections(final int... ids) {
+    for (final int id : ids) {
+      final Section section = sections.get(id);
+      if (section != null) {
+        section.decompress();
+      }
+    }
+  }
+
+  /**
+   * Indicates whether the specified stream starts with a save game container, without consuming any of it.
+   *
+   * @param is A stream that supports {@link InputStream#mark(int)}.
+   */
+  static boolean isContainer(final InputStream is) throws IOException {
+    checkArgument(is.markSupported(), "Stream must support mark");
+
+    is.mark(MAGIC.length);
+    try {
+      final byte[] magic = new byte[MAGIC.length];
+      int read = 0;
+      while (read < magic.length) {
+        final int count = is.read(magic, read, magic.length - read);
+        if (count < 0) {
+          return false;
+        }
+        read += count;
+      }
+      return Arrays.equals(MAGIC, magic);
+    } finally {
+      is.reset();
+    }
+  }
+
+  /**
+   * Writes this container to the specified stream, compressing its sections in parallel with the specified codec. The
+   * stream is not closed.
+   */
+  void write(final OutputStream os, final SaveGameCodec codec) throws IOException {
+    final List<Integer> ids = new ArrayList<>(sections.keySet());
+    final List<CompletableFuture<byte[]>> compressedSections = new ArrayList<>(ids.size());
+    for (final int id : ids) {
+      final CompletableFuture<byte[]> section = sections.get(id).decompress();
+      compressedSections.add(codec == SaveGameCodec.NONE
+          ? section
+          : section.thenApplyAsync(bytes -> compress(codec, bytes)));
+    }
+
+    final DataOutputStream out = new DataOutputStream(os);
+    out.write(MAGIC);
+    out.writeByte(FORMAT_VERSION);
+    out.writeUTF(engineVersion.toStringFull());
+    out.writeByte(codec.getId());
+    out.writeByte(ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      final byte[] compressed = join(compressedSections.get(i));
+      out.writeByte(ids.get(i));
+      out.writeInt(sections.get(ids.get(i)).length);
+      out.writeInt(compressed.length);
+      out.write(compressed);
+    }
+    out.flush();
+  }
+
+  /**
+   * Reads a container from the specified stream. Its sections are kept compressed until they are requested. The stream
+   * is not closed.
+   *
+   * @throws IOException If the stream does not contain a container in a format this engine can read.
+   */
+  static SaveGameContainer read(final InputStream is) throws IOException {
+    final DataInputStream in = new DataInputStream(is);
+    final byte[] magic = new byte[MAGIC.length];
+    in.readFully(magic);
+    if (!Arrays.equals(MAGIC, magic)) {
+      throw new IOException("Not a save game");
+    }
+    final int formatVersion = in.readUnsignedByte();
+    if (formatVersion != FORMAT_VERSION) {
+      throw new IOException("Unsupported save game format: " + formatVersion);
+    }
+    final Version engineVersion = new Version(in.readUTF());
+    final SaveGameCodec codec = SaveGameCodec.fromId(in.readUnsignedByte());
+    final int sectionCount = in.readUnsignedByte();
+
+    final SaveGameContainer container = new SaveGameContainer(engineVersion);
+    for (int i = 0; i < sectionCount; i++) {
+      final int id = in.readUnsignedByte();
+      final int length = in.readInt();
+      final int compressedLength = in.readInt();
+      if (length < 0 || compressedLength < 0) {
+        throw new IOException("Corrupt save game section: " + id);
+      }
+      final byte[] compressed = new byte[compressedLength];
+      in.readFully(compressed);
+      container.sections.put(id, new Section(codec, compressed, length));
+    }
+    return container;
+  }
+
+  private static byte[] compress(final SaveGameCodec codec, final byte[] section) {
+    try {
+      return codec.compress(section);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static byte[] decompress(final SaveGameCodec codec, final byte[] section, final int length) {
+    try {
+      return codec.decompress(section, length);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static byte[] join(final CompletableFuture<byte[]> future) throws IOException {
+    try {
+      return future.join();
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) e.getCause()).getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * A section as it was written, which is decompressed at most once.
+   */
+  private static final class Section {
+    private final SaveGameCodec codec;
+    private final byte[] bytes;
+    private final int length;
+    private @Nullable CompletableFuture<byte[]> decompressed;
+
+    Section(final SaveGameCodec codec, final byte[] bytes, final int length) {
+      this.codec = codec;
+      this.bytes = bytes;
+      this.length = length;
+    }
+
+    synchronized CompletableFuture<byte[]> decompress() {
+      if (decompressed == null) {
+        decompressed = (codec == SaveGameCodec.NONE)
+            ? CompletableFuture.completedFuture(bytes)
+            : CompletableFuture.supplyAsync(() -> SaveGameContainer.decompress(codec, bytes, length));
+      }
+      return decompressed;
+    }
+  }
+}
@@ -8,7 +8,9 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -69,6 +71,8 @@ public class ServerGame extends AbstractGame {
   private IRandomSource randomSource = new PlainRandomSource();
   private IRandomSource delegateRandomSource;
   private final DelegateExecutionManager delegateExecutionManager = new DelegateExecutionManager();
+  private final ObserverSnapshots observerSnapshots = new ObserverSnapshots();
+  private final AutoSaveWriter autoSaveWriter = new AutoSaveWriter();
   private InGameLobbyWatcherWrapper inGameLobbyWatcher;
   private boolean needToInitialize = true;
   private final boolean headless;
@@ -96,6 +100,7 @@ public class ServerGame extends AbstractGame {
         assertCorrectCaller();
         gameData.performChange(change);
         gameData.getHistory().getHistoryWriter().addChange(change);
+        observerSnapshots.record(GameModification.gameDataChanged(change));
       }
 
       private void assertCorrectCaller() {
@@ -106,14 +111,20 @@ public class ServerGame extends AbstractGame {
 
       @Override
       public void startHistoryEvent(final String event, final Object renderingData) {
-        startHistoryEvent(event);
+        startEvent(event);
         if (renderingData != null) {
           setRenderingData(renderingData);
         }
+        observerSnapshots.record(GameModification.historyEventStarted(event, renderingData));
       }
 
       @Override
       public void startHistoryEvent(final String event) {
+        startEvent(event);
+        observerSnapshots.record(GameModification.historyEventStarted(event, null));
+      }
+
+      private void startEvent(final String event) {
         assertCorrectCaller();
         gameData.getHistory().getHistoryWriter().startEvent(event);
       }
@@ -122,6 +133,7 @@ public class ServerGame extends AbstractGame {
       public void addChildToEvent(final String text, final Object renderingData) {
         assertCorrectCaller();
         gameData.getHistory().getHistoryWriter().addChildToEvent(new EventChild(text, renderingData));
+        observerSnapshots.record(GameModification.childAddedToEvent(text, renderingData));
       }
 
       void setRenderingData(final Object renderingData) {
@@ -133,6 +145,9 @@ public class ServerGame extends AbstractGame {
       public void stepChanged(final String stepName, final String delegateName, final PlayerId player, final int round,
           final String displayName, final boolean loadedFromSavedGame) {
         assertCorrectCaller();
+        observerSnapshots.roundChanged(round);
+        observerSnapshots.record(
+            GameModification.stepChanged(stepName, delegateName, player, round, displayName, loadedFromSavedGame));
         if (loadedFromSavedGame) {
           return;
         }
@@ -148,6 +163,14 @@ public class ServerGame extends AbstractGame {
     randomStats = new RandomStats(remoteMessenger);
     // Import dice stats from history if there is any (e.g. loading a saved game).
     importDiceStats((HistoryNode) gameData.getHistory().getRoot());
+    if (headless) {
+      // nobody browses the history of a headless server, so keep its changes on disk rather than in memory
+      try {
+        gameData.getHistory().moveChangesToJournal();
+      } catch (final IOException e) {
+        log.log(Level.WARNING, "Failed to move history changes to a journal, keeping them in memory", e);
+      }
+    }
 
     final IServerRemote serverRemote = () -> {
       try {
@@ -182,25 +205,45 @@ public class ServerGame extends AbstractGame {
 
   /**
    * Adds a new observer (non-participant) node to this server game.
+   *
+   * <p>
+   * The observer first loads a copy of the game saved during the current round while the game goes on. Delegate
+   * execution is then blocked only while the observer replays the modifications made since that copy was saved and
+   * starts listening to new ones.
+   * </p>
    */
   public void addObserver(final IObserverWaitingToJoin blockingObserver,
       final IObserverWaitingToJoin nonBlockingObserver, final INode newNode) {
+    final Optional<ObserverSnapshots.Snapshot> snapshot;
     try {
-      if (!delegateExecutionManager.blockDelegateExecution(2000)) {
-        nonBlockingObserver.cannotJoinGame("Could not block delegate execution");
-        return;
-      }
+      snapshot = acquireObserverSnapshot();
     } catch (final InterruptedException e) {
       Thread.currentThread().interrupt();
       nonBlockingObserver.cannotJoinGame(e.getMessage());
       return;
+    } catch (final IOException e) {
+      log.log(Level.SEVERE, "Failed to join game", e);
+      nonBlockingObserver.cannotJoinGame(e.getMessage());
+      return;
     }
+    if (!snapshot.isPresent()) {
+      nonBlockingObserver.cannotJoinGame("Could not block delegate execution");
+      return;
+    }
+    boolean blocked = false;
     try {
+      // the game goes on while the observer loads the snapshot
+      blockingObserver.loadGameSnapshot(snapshot.get().getGameData());
+      blocked = delegateExecutionManager.blockDelegateExecution(2000);
+      if (!blocked) {
+        nonBlockingObserver.cannotJoinGame("Could not block delegate execution");
+        return;
+      }
+      final List<GameModification> modifications = observerSnapshots.getModifications(snapshot.get());
       final CountDownLatch waitOnObserver = new CountDownLatch(1);
-      final byte[] bytes = IoUtils.writeToMemory(this::saveGame);
       new Thread(() -> {
         try {
-          blockingObserver.joinGame(bytes, playerManager.getPlayerMapping());
+          blockingObserver.joinGame(modifications, playerManager.getPlayerMapping());
           waitOnObserver.countDown();
         } catch (final ConnectionLostException cle) {
           log.log(Level.SEVERE, "Connection lost to observer while joining: " + newNode.getName(), cle);
@@ -208,17 +251,39 @@ public class ServerGame extends AbstractGame {
           log.log(Level.SEVERE, "Failed to join game", e);
         }
       }, "Waiting on observer to finish joining: " + newNode.getName()).start();
-      try {
-        if (!waitOnObserver.await(ClientSetting.serverObserverJoinWaitTime.getValueOrThrow(), TimeUnit.SECONDS)) {
-          nonBlockingObserver.cannotJoinGame("Taking too long to join.");
-        }
-      } catch (final InterruptedException e) {
-        Thread.currentThread().interrupt();
-        nonBlockingObserver.cannotJoinGame(e.getMessage());
+      if (!waitOnObserver.await(ClientSetting.serverObserverJoinWaitTime.getValueOrThrow(), TimeUnit.SECONDS)) {
+        nonBlockingObserver.cannotJoinGame("Taking too long to join.");
       }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      nonBlockingObserver.cannotJoinGame(e.getMessage());
     } catch (final Exception e) {
       log.log(Level.SEVERE, "Failed to join game", e);
       nonBlockingObserver.cannotJoinGame(e.getMessage());
+    } finally {
+      observerSnapshots.release(snapshot.get());
+      if (blocked) {
+        delegateExecutionManager.resumeDelegateExecution();
+      }
+    }
+  }
+
+  /**
+   * Returns the snapshot of the current round for a new observer, saving it first if no observer joined during this
+   * round yet. Returns empty if delegate execution could not be blocked to save the snapshot.
+   */
+  private Optional<ObserverSnapshots.Snapshot> acquireObserverSnapshot() throws InterruptedException, IOException {
+    final Optional<ObserverSnapshots.Snapshot> snapshot =
+        observerSnapshots.acquire(gameData.getSequence().getRound());
+    if (snapshot.isPresent()) {
+      return snapshot;
+    }
+    if (!delegateExecutionManager.blockDelegateExecution(2000)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(
+          observerSnapshots.add(IoUtils.writeToMemory(this::saveGame), gameData.getSequence().getRound()));
     } finally {
       delegateExecutionManager.resumeDelegateExecution();
     }
@@ -348,11 +413,13 @@ public class ServerGame extends AbstractGame {
     } finally {
       delegateExecutionManager.resumeDelegateExecution();
     }
+    autoSaveWriter.shutDown();
     gameData.getGameLoader().shutDown();
+    gameData.getHistory().close();
   }
 
   private void autoSaveBefore(final IDelegate delegate) {
-    saveGame(AutoSaveFileUtils.getBeforeStepAutoSaveFile(delegate.getName(), headless));
+    autoSave(AutoSaveFileUtils.getBeforeStepAutoSaveFile(delegate.getName(), headless));
   }
 
   @Override
@@ -372,6 +439,18 @@ public class ServerGame extends AbstractGame {
   }
 
   private void saveGame(final OutputStream out) throws IOException {
+    if (!blockDelegateExecutionForSave()) {
+      return;
+    }
+
+    try {
+      GameDataManager.saveGame(out, gameData);
+    } finally {
+      delegateExecutionManager.resumeDelegateExecution();
+    }
+  }
+
+  private boolean blockDelegateExecutionForSave() {
     final String errorMessage = "Error saving game.. ";
 
     try {
@@ -380,19 +459,36 @@ public class ServerGame extends AbstractGame {
         // try again
         if (!delegateExecutionManager.blockDelegateExecution(6000)) {
           log.severe(errorMessage + " could not lock delegate execution");
-          return;
+          return false;
         }
       }
     } catch (final InterruptedException e) {
       Thread.currentThread().interrupt();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Takes an uncompressed snapshot of the game while delegate execution is blocked and leaves compressing and writing
+   * it to {@link #autoSaveWriter}, so the game thread is not held up by disk I/O.
+   */
+  private void autoSave(final File file) {
+    final long start = System.nanoTime();
+    if (!blockDelegateExecutionForSave()) {
       return;
     }
 
+    final byte[] snapshot;
     try {
-      GameDataManager.saveGame(out, gameData);
+      snapshot = GameDataManager.snapshotGame(gameData);
+    } catch (final IOException e) {
+      log.log(Level.SEVERE, "Failed to save game to file: " + file.getAbsolutePath(), e);
+      return;
     } finally {
       delegateExecutionManager.resumeDelegateExecution();
     }
+    autoSaveWriter.write(file, snapshot, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
   }
 
 
@@ -441,7 +537,7 @@ public class ServerGame extends AbstractGame {
     }
     if (gameData.getSequence().next()) {
       gameData.getHistory().getHistoryWriter().startNextRound(gameData.getSequence().getRound());
-      saveGame(gameData.getSequence().getRound() % 2 == 0
+      autoSave(gameData.getSequence().getRound() % 2 == 0
           ? AutoSaveFileUtils.getEvenRoundAutoSaveFile(headless)
           : AutoSaveFileUtils.getOddRoundAutoSaveFile(headless));
     }
@@ -451,13 +547,13 @@ public class ServerGame extends AbstractGame {
   }
 
   private void autoSaveAfter(final String stepName, final boolean headless) {
-    saveGame(AutoSaveFileUtils.getAfterStepAutoSaveFile(stepName, headless));
+    autoSave(AutoSaveFileUtils.getAfterStepAutoSaveFile(stepName, headless));
   }
 
   private void autoSaveAfter(final IDelegate delegate, final boolean headless) {
     final String typeName = delegate.getClass().getTypeName();
     final String stepName = typeName.substring(typeName.lastIndexOf('.') + 1).replaceFirst("Delegate$", "");
-    saveGame(AutoSaveFileUtils.getAfterStepAutoSaveFile(stepName, headless));
+    autoSave(AutoSaveFileUtils.getAfterStepAutoSaveFile(stepName, headless));
   }
 
   private void endStep() {
@@ -9,6 +9,7 @@ import java.awt.Component;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -18,6 +19,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
@@ -37,6 +39,7 @@ import games.strategy.engine.chat.ChatPanel;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.framework.ClientGame;
 import games.strategy.engine.framework.GameDataManager;
+import games.strategy.engine.framework.GameModification;
 import games.strategy.engine.framework.GameObjectStreamFactory;
 import games.strategy.engine.framework.GameRunner;
 import games.strategy.engine.framework.GameState;
@@ -96,12 +99,30 @@ public class ClientModel implements IMessengerErrorListener {
   // however, if we cancel, we want to restore the old game data.
   private GameData gameDataOnStartup;
   private Map<String, String> playersToNodes = new HashMap<>();
+  // the game loaded by an observer before joining, only set between loading it and joining
+  private volatile GameData gameSnapshot;
   private final IObserverWaitingToJoin observerWaitingToJoin = new IObserverWaitingToJoin() {
     @Override
-    public void joinGame(final byte[] gameData, final Map<String, INode> players) {
+    public void loadGameSnapshot(final byte[] gameData) {
+      final GameData data = loadGame(gameData);
+      if (data != null) {
+        // the modifications passed to joinGame refer to the objects of this game data
+        objectStreamFactory.setData(data);
+        gameSnapshot = data;
+      }
+    }
+
+    @Override
+    public void joinGame(final List<GameModification> modifications, final Map<String, INode> players) {
       remoteMessenger.unregisterRemote(ServerModel.getObserverWaitingToStartName(messenger.getLocalNode()));
+      final GameData data = gameSnapshot;
+      gameSnapshot = null;
+      if (data == null) {
+        log.severe("Cannot join game, the game could not be loaded");
+        return;
+      }
       final CountDownLatch latch = new CountDownLatch(1);
-      startGame(gameData, players, latch, true);
+      startGame(() -> data, modifications, players, latch, true);
       try {
         latch.await(GameRunner.MINIMUM_CLIENT_GAMEDATA_LOAD_GRACE_TIME, TimeUnit.SECONDS);
       } catch (final InterruptedException e) {
@@ -135,7 +156,7 @@ public class ClientModel implements IMessengerErrorListener {
     @Override
     public void doneSelectingPlayers(final byte[] gameData, final Map<String, INode> players) {
       final CountDownLatch latch = new CountDownLatch(1);
-      startGame(gameData, players, latch, false);
+      startGame(() -> loadGame(gameData), Collections.emptyList(), players, latch, false);
       try {
         latch.await(GameRunner.MINIMUM_CLIENT_GAMEDATA_LOAD_GRACE_TIME, TimeUnit.SECONDS);
       } catch (final InterruptedException e) {
@@ -280,15 +301,18 @@ public class ClientModel implements IMessengerErrorListener {
     }
   }
 
-  private void startGame(final byte[] gameData, final Map<String, INode> players, final CountDownLatch onDone,
-      final boolean gameRunning) {
+  private void startGame(final Supplier<GameData> gameData, final List<GameModification> modifications,
+      final Map<String, INode> players, final CountDownLatch onDone, final boolean gameRunning) {
     SwingUtilities.invokeLater(() -> {
       gameLoadingWindow.setVisible(true);
       gameLoadingWindow.setLocationRelativeTo(JOptionPane.getFrameForComponent(ui));
       gameLoadingWindow.showWait();
     });
     try {
-      startGameInNewThread(gameData, players, gameRunning);
+      final GameData data = gameData.get();
+      if (data != null) {
+        startGameInNewThread(data, modifications, players, gameRunning);
+      }
     } catch (final RuntimeException e) {
       gameLoadingWindow.doneWait();
       throw e;
@@ -299,16 +323,21 @@ public class ClientModel implements IMessengerErrorListener {
     }
   }
 
-  private void startGameInNewThread(final byte[] gameData, final Map<String, INode> players,
-      final boolean gameRunning) {
-    final GameData data;
+  /**
+   * Returns the game saved in the specified bytes, or null if it could not be loaded.
+   */
+  private static GameData loadGame(final byte[] gameData) {
     try {
       // this normally takes a couple seconds, but can take up to 60 seconds for a freaking huge game
-      data = IoUtils.readFromMemory(gameData, GameDataManager::loadGame);
+      return IoUtils.readFromMemory(gameData, GameDataManager::loadGame);
     } catch (final IOException ex) {
       log.log(Level.SEVERE, "Failed to load game", ex);
-      return;
+      return null;
     }
+  }
+
+  private void startGameInNewThread(final GameData data, final List<GameModification> modifications,
+      final Map<String, INode> players, final boolean gameRunning) {
     objectStreamFactory.setData(data);
     final Map<String, PlayerType> playerMapping = playersToNodes.entrySet()
         .stream()
@@ -318,6 +347,7 @@ public class ClientModel implements IMessengerErrorListener {
     final Set<IGamePlayer> playerSet = data.getGameLoader().newPlayers(playerMapping);
     final Messengers messengers = new Messengers(messenger, remoteMessenger, channelMessenger);
     game = new ClientGame(data, playerSet, players, messengers);
+    game.applyModifications(modifications);
     new Thread(() -> {
       SwingUtilities.invokeLater(() -> JOptionPane.getFrameForComponent(ui).setVisible(false));
       try {
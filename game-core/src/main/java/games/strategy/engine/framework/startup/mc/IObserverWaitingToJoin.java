@@ -1,7 +1,9 @@
 package games.strategy.engine.framework.startup.mc;
 
+import java.util.List;
 import java.util.Map;
 
+import games.strategy.engine.framework.GameModification;
 import games.strategy.engine.message.IRemote;
 import games.strategy.net.INode;
 
@@ -11,10 +13,16 @@ import games.strategy.net.INode;
  */
 public interface IObserverWaitingToJoin extends IRemote {
   /**
+   * Loads a copy of the game saved before the observer asked to join. The game goes on while the copy is loaded.
+   */
+  void loadGameSnapshot(byte[] gameData);
+
+  /**
+   * Replays the modifications made to the game since the snapshot was saved, then starts the game.
    * This method should not return until the client is ready to start the game.
    * This includes the display running, with all remote and channel listeners set up.
    */
-  void joinGame(byte[] gameData, Map<String, INode> players);
+  void joinGame(List<GameModification> modifications, Map<String, INode> players);
 
   /**
    * You could not join the game, usually this is due to an error.
@@ -0,0 +1,141 @@
+package games.strategy.engine.history;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectInputStream;
+import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.data.IAttachment;
+import games.strategy.engine.framework.GameObjectStreamFactory;
+import games.strategy.io.IoUtils;
+
+/**
+ * A change log that appends its changes to a temporary file, so only the offset of each change stays in memory.
+ * Changes are read back on demand.
+ *
+ * <p>
+ * Changes are written with game object streams, the same way they are sent to network clients, so the territories,
+ * players and units they refer to resolve to the objects of the game data when they are read back, just as if the
+ * change had been kept in memory.
+ * </p>
+ */
+@ThreadSafe
+final class ChangeJournal implements ChangeLog, Closeable {
+  private final GameData data;
+  private final FileChannel channel;
+  // offsets[i] is where change i starts; offsets[size] is the end of the journal
+  private long[] offsets = new long[1024];
+  private int size;
+
+  ChangeJournal(final GameData data) throws IOException {
+    this.data = data;
+    final Path file = Files.createTempFile("triplea-history", ".journal");
+    file.toFile().deleteOnExit();
+    channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+        StandardOpenOption.DELETE_ON_CLOSE);
+  }
+
+  @Override
+  public synchronized int size() {
+    return size;
+  }
+
+  @Override
+  public synchronized void add(final Change change) {
+    try {
+      final byte[] bytes = IoUtils.writeToMemory(os -> {
+        try (ObjectOutputStream out = new ChangeOutputStream(os)) {
+          out.writeObject(change);
+        }
+      });
+      final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      long position = offsets[size];
+      while (buffer.hasRemaining()) {
+        position += channel.write(buffer, position);
+      }
+      if (size + 1 == offsets.length) {
+        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+      }
+      offsets[++size] = position;
+    } catch (final IOException e) {
+      throw new IllegalStateException("Failed to write change to history journal: " + change, e);
+    }
+  }
+
+  @Override
+  public synchronized List<Change> get(final int fromIndex, final int toIndex) {
+    if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("from: " + fromIndex + ", to: " + toIndex + ", size: " + size);
+    }
+    try {
+      // read the whole range at once, then deserialize each change on its own
+      final long start = offsets[fromIndex];
+      final ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(offsets[toIndex] - start));
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, start + buffer.position()) < 0) {
+          throw new IOException("History journal is shorter than expected");
+        }
+      }
+      final GameObjectStreamFactory streamFactory = new GameObjectStreamFactory(data);
+      final List<Change> changes = new ArrayList<>(toIndex - fromIndex);
+      for (int i = fromIndex; i < toIndex; i++) {
+        final ByteArrayInputStream is = new ByteArrayInputStream(
+            buffer.array(), (int) (offsets[i] - start), (int) (offsets[i + 1] - offsets[i]));
+        try (ObjectInputStream in = new GameObjectInputStream(streamFactory, is)) {
+          changes.add((Change) in.readObject());
+        }
+      }
+      return changes;
+    } catch (final IOException | ClassNotFoundException e) {
+      throw new IllegalStateException("Failed to read changes from history journal", e);
+    }
+  }
+
+  @Override
+  public synchronized void truncate(final int size) {
+    if (size < this.size) {
+      this.size = size;
+      try {
+        channel.truncate(offsets[size]);
+      } catch (final IOException e) {
+        throw new IllegalStateException("Failed to truncate history journal", e);
+      }
+    }
+  }
+
+  /**
+   * Deletes the journal. It must not be used afterwards.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    channel.close();
+  }
+
+  private static final class ChangeOutputStream extends GameObjectOutputStream {
+    ChangeOutputStream(final OutputStream os) throws IOException {
+      super(os);
+    }
+
+    @Override
+    protected Object replaceObject(final Object obj) {
+      // attachments have no game object stream handle, so they are copied
+      return (obj instanceof IAttachment) ? obj : super.replaceObject(obj);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package games.strategy.engine.history;
+
+import java.util.List;
+
+import games.strategy.engine.data.Change;
+
+/**
+ * The changes of a {@link History}, in the order they were made. History nodes refer to changes by their index.
+ */
+interface ChangeLog {
+  int size();
+
+  void add(Change change);
+
+  /**
+   * Returns the changes from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive.
+   */
+  List<Change> get(int fromIndex, int toIndex);
+
+  /**
+   * Removes all changes from {@code size} onward.
+   */
+  void truncate(int size);
+}
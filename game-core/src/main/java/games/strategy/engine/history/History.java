@@ -1,17 +1,20 @@
 package games.strategy.engine.history;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.logging.Level;
 
+import javax.annotation.Nullable;
 import javax.swing.SwingUtilities;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
 
 import games.strategy.engine.data.Change;
-import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
 import games.strategy.triplea.ui.history.HistoryPanel;
+import lombok.extern.java.Log;
 
 /**
  * A history of the game.
@@ -25,11 +28,14 @@ import games.strategy.triplea.ui.history.HistoryPanel;
  * Step - the current step, eg Britian Combat Move
  * Event - an event that happened in the game, eg Russia buys 8 inf.
  */
+@Log
 public class History extends DefaultTreeModel {
   private static final long serialVersionUID = -1769876896869L;
 
   private final HistoryWriter writer = new HistoryWriter(this);
-  private final List<Change> changes = new ArrayList<>();
+  private transient ChangeLog changes = new InMemoryChangeLog();
+  // not kept while the changes are in a journal, and built from it when the history is first navigated
+  private transient @Nullable RoundDeltas roundDeltas = new RoundDeltas();
   private final GameData gameData;
   private HistoryNode currentNode;
   private HistoryPanel panel = null;
@@ -97,29 +103,30 @@ public class History extends DefaultTreeModel {
     if (firstChange == lastChange) {
       return null;
     }
-    final List<Change> deltaChanges =
-        changes.subList(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
-    final Change compositeChange = new CompositeChange(deltaChanges);
+    final Change compositeChange =
+        getRoundDeltas().getDelta(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange), changes);
     return (lastChange >= firstChange) ? compositeChange : compositeChange.invert();
   }
 
   /**
-   * Changes the game state to reflect the historical state at {@code node}.
+   * Changes the game state to reflect the historical state at {@code node}. The change is worked out under the read
+   * lock, since it may read changes back from the journal, and only performing it takes the write lock.
    */
   public synchronized void gotoNode(final HistoryNode node) {
     assertCorrectThread();
-    getGameData().acquireWriteLock();
+    final Change dataChange;
+    getGameData().acquireReadLock();
     try {
       if (currentNode == null) {
         currentNode = getLastNode();
       }
-      final Change dataChange = getDelta(currentNode, node);
+      dataChange = getDelta(currentNode, node);
       currentNode = node;
-      if (dataChange != null) {
-        gameData.performChange(dataChange);
-      }
     } finally {
-      getGameData().releaseWriteLock();
+      getGameData().releaseReadLock();
+    }
+    if (dataChange != null) {
+      gameData.performChangeWithCoalescedNotifications(dataChange);
     }
   }
 
@@ -133,8 +140,9 @@ public class History extends DefaultTreeModel {
     getGameData().acquireWriteLock();
     try {
       final int lastChange = getLastChange(removeAfterNode) + 1;
-      while (changes.size() > lastChange) {
-        changes.remove(lastChange);
+      changes.truncate(lastChange);
+      if (roundDeltas != null) {
+        roundDeltas.truncated(changes);
       }
       final Enumeration<?> enumeration = ((DefaultMutableTreeNode) this.getRoot()).preorderEnumeration();
       enumeration.nextElement();
@@ -160,8 +168,17 @@ public class History extends DefaultTreeModel {
     }
   }
 
+  synchronized void roundStarted() {
+    if (roundDeltas != null) {
+      roundDeltas.roundStarted(changes.size());
+    }
+  }
+
   synchronized void changeAdded(final Change change) {
     changes.add(change);
+    if (roundDeltas != null) {
+      roundDeltas.changeAdded(change);
+    }
     if (currentNode == null) {
       return;
     }
@@ -170,12 +187,62 @@ public class History extends DefaultTreeModel {
     }
   }
 
+  private synchronized RoundDeltas getRoundDeltas() {
+    if (roundDeltas == null) {
+      final List<Integer> roundStartIndices = new ArrayList<>();
+      final Enumeration<?> rounds = ((DefaultMutableTreeNode) getRoot()).children();
+      while (rounds.hasMoreElements()) {
+        final Object round = rounds.nextElement();
+        if (round instanceof Round) {
+          roundStartIndices.add(((Round) round).getChangeStartIndex());
+        }
+      }
+      roundDeltas = RoundDeltas.build(roundStartIndices, changes);
+    }
+    return roundDeltas;
+  }
+
+  /**
+   * Moves the changes of this history to an append-only journal in a temporary file, keeping only the tree and the
+   * change index of each node in memory. Changes are read back when the history is navigated or saved. Meant for
+   * headless servers, which never display the history. Call {@link #close()} to delete the journal once the history
+   * is no longer needed.
+   */
+  public synchronized void moveChangesToJournal() throws IOException {
+    if (changes instanceof ChangeJournal) {
+      return;
+    }
+    final ChangeJournal journal = new ChangeJournal(gameData);
+    try {
+      changes.get(0, changes.size()).forEach(journal::add);
+    } catch (final RuntimeException e) {
+      journal.close();
+      throw e;
+    }
+    changes = journal;
+    // a headless server never navigates its history, so the compacted rounds would only take up memory
+    roundDeltas = null;
+  }
+
+  /**
+   * Deletes the journal of this history, if its changes were moved to one. The history must not be used afterwards.
+   */
+  public synchronized void close() {
+    if (changes instanceof ChangeJournal) {
+      try {
+        ((ChangeJournal) changes).close();
+      } catch (final IOException e) {
+        log.log(Level.WARNING, "Failed to delete history journal", e);
+      }
+    }
+  }
+
   private Object writeReplace() {
-    return new SerializedHistory(this, gameData, changes);
+    return new SerializedHistory(this, gameData, changes.get(0, changes.size()));
   }
 
-  List<Change> getChanges() {
-    return changes;
+  int getChangeCount() {
+    return changes.size();
   }
 
   GameData getGameData() {
@@ -49,7 +49,7 @@ public class HistoryWriter implements Serializable {
       throw new IllegalStateException(
           "Not in a round, but trying to add step: " + stepName + ". Current history node is: " + current);
     }
-    final Step currentStep = new Step(stepName, delegateName, player, history.getChanges().size(), stepDisplayName);
+    final Step currentStep = new Step(stepName, delegateName, player, history.getChangeCount(), stepDisplayName);
     addToAndSetCurrent(currentStep);
   }
 
@@ -68,7 +68,8 @@ public class HistoryWriter implements Serializable {
     if (isCurrentRound()) {
       closeCurrent();
     }
-    final Round currentRound = new Round(round, history.getChanges().size());
+    final Round currentRound = new Round(round, history.getChangeCount());
+    history.roundStarted();
     current = (HistoryNode) history.getRoot();
     addToAndSetCurrent(currentRound);
   }
@@ -90,7 +91,7 @@ public class HistoryWriter implements Serializable {
         return;
       }
       current = (HistoryNode) current.getParent();
-      ((IndexedHistoryNode) old).setChangeEndIndex(history.getChanges().size());
+      ((IndexedHistoryNode) old).setChangeEndIndex(history.getChangeCount());
     } finally {
       history.getGameData().releaseWriteLock();
     }
@@ -120,7 +121,7 @@ public class HistoryWriter implements Serializable {
       throw new IllegalStateException(
           "Not in a step, but trying to add event: " + eventName + ". Current history node is: " + current);
     }
-    final Event event = new Event(eventName, history.getChanges().size());
+    final Event event = new Event(eventName, history.getChangeCount());
     addToAndSetCurrent(event);
   }
 
@@ -0,0 +1,35 @@
+package games.strategy.engine.history;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import games.strategy.engine.data.Change;
+
+/**
+ * A change log that keeps all of its changes in memory.
+ */
+final class InMemoryChangeLog implements ChangeLog {
+  private final List<Change> changes = new ArrayList<>();
+
+  @Override
+  public int size() {
+    return changes.size();
+  }
+
+  @Override
+  public void add(final Change change) {
+    changes.add(change);
+  }
+
+  @Override
+  public List<Change> get(final int fromIndex, final int toIndex) {
+    return new ArrayList<>(changes.subList(fromIndex, toIndex));
+  }
+
+  @Override
+  public void truncate(final int size) {
+    if (size < changes.size()) {
+      changes.subList(size, changes.size()).clear();
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package games.strategy.engine.history;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.changefactory.ChangeCompactor;
+
+/**
+ * The changes of each round of a {@link History}, compacted into one change per round as they are made (see
+ * {@link ChangeCompactor}). Moving through the history applies the compacted change of each round it passes over
+ * entirely instead of every change made during that round, so that the work done depends on how much changed in those
+ * rounds rather than on how many changes it took.
+ * The compacted changes are kept in memory, so a history whose changes are in a journal only builds them once it is
+ * navigated (see {@link #build(List, ChangeLog)}).
+ */
+final class RoundDeltas {
+  // the index of the first change of each round, in ascending order
+  private final List<Integer> roundStartIndices = new ArrayList<>();
+  // the compacted changes of each round but the last one
+  private final List<Change> completedRoundDeltas = new ArrayList<>();
+  private @Nullable ChangeCompactor currentRound;
+
+  /**
+   * Compacts the changes of each round that starts at the specified change indices, which must be in ascending order.
+   * The changes are read one round at a time.
+   */
+  static RoundDeltas build(final List<Integer> roundStartIndices, final ChangeLog changes) {
+    final RoundDeltas roundDeltas = new RoundDeltas();
+    for (int round = 0; round < roundStartIndices.size(); round++) {
+      final int roundEndIndex =
+          (round + 1 < roundStartIndices.size()) ? roundStartIndices.get(round + 1) : changes.size();
+      roundDeltas.roundStarted(roundStartIndices.get(round));
+      changes.get(roundStartIndices.get(round), roundEndIndex).forEach(roundDeltas::changeAdded);
+    }
+    return roundDeltas;
+  }
+
+  /**
+   * Starts a new round at the specified change index, completing the current round, if any.
+   */
+  void roundStarted(final int changeIndex) {
+    if (currentRound != null) {
+      completedRoundDeltas.add(currentRound.toChange());
+    }
+    roundStartIndices.add(changeIndex);
+    currentRound = new ChangeCompactor();
+  }
+
+  void changeAdded(final Change change) {
+    if (currentRound != null) {
+      currentRound.add(change);
+    }
+  }
+
+  /**
+   * Returns a change equivalent to the changes from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive. Only
+   * the changes of the rounds that are not entirely in that range are read from {@code changes}.
+   */
+  Change getDelta(final int fromIndex, final int toIndex, final ChangeLog changes) {
+    final ChangeCompactor compactor = new ChangeCompactor();
+    int changeIndex = fromIndex;
+    for (int round = 0; round < completedRoundDeltas.size(); round++) {
+      final int roundStartIndex = roundStartIndices.get(round);
+      final int roundEndIndex = roundStartIndices.get(round + 1);
+      if (roundStartIndex >= changeIndex && roundEndIndex <= toIndex) {
+        changes.get(changeIndex, roundStartIndex).forEach(compactor::add);
+        compactor.add(completedRoundDeltas.get(round));
+        changeIndex = roundEndIndex;
+      }
+    }
+    changes.get(changeIndex, toIndex).forEach(compactor::add);
+    return compactor.toChange();
+  }
+
+  /**
+   * Forgets the rounds starting at or after the end of {@code changes}, which was just truncated, and compacts the
+   * remaining changes of the last round that is left again.
+   */
+  void truncated(final ChangeLog changes) {
+    final int size = changes.size();
+    while (!roundStartIndices.isEmpty() && roundStartIndices.get(roundStartIndices.size() - 1) >= size) {
+      roundStartIndices.remove(roundStartIndices.size() - 1);
+    }
+    while (completedRoundDeltas.size() > Math.max(roundStartIndices.size() - 1, 0)) {
+      completedRoundDeltas.remove(completedRoundDeltas.size() - 1);
+    }
+    if (roundStartIndices.isEmpty()) {
+      currentRound = null;
+      return;
+    }
+    final ChangeCompactor compactor = new ChangeCompactor();
+    changes.get(roundStartIndices.get(roundStartIndices.size() - 1), size).forEach(compactor::add);
+    currentRound = compactor;
+  }
+}
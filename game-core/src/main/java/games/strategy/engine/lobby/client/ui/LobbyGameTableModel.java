@@ -8,12 +8,19 @@ import java.time.format.FormatStyle;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
 
 import javax.swing.SwingUtilities;
 import javax.swing.table.AbstractTableModel;
 
+import org.triplea.java.concurrency.CompletableFutureUtils;
+import org.triplea.lobby.common.GameDescriptionDelta;
+import org.triplea.lobby.common.GameListFrame;
 import org.triplea.lobby.common.ILobbyGameBroadcaster;
 import org.triplea.lobby.common.ILobbyGameController;
+import org.triplea.lobby.common.ILobbyGameListBroadcaster;
+import org.triplea.lobby.common.ILobbyGameListController;
 import org.triplea.util.Tuple;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -24,7 +31,18 @@ import games.strategy.engine.message.IRemoteMessenger;
 import games.strategy.engine.message.MessageContext;
 import games.strategy.net.GUID;
 import games.strategy.net.IMessenger;
+import lombok.extern.java.Log;
 
+/**
+ * The games hosted in the lobby.
+ *
+ * <p>
+ * The model subscribes to the versioned game list frames of the lobby, which carry only the fields of a game that
+ * changed, and asks the lobby for the frames it missed whenever it notices a gap. If the lobby does not support game
+ * list frames, the model falls back to receiving every changed game in full.
+ * </p>
+ */
+@Log
 class LobbyGameTableModel extends AbstractTableModel {
   private static final long serialVersionUID = 6399458368730633993L;
 
@@ -34,9 +52,17 @@ class LobbyGameTableModel extends AbstractTableModel {
 
   private final IMessenger messenger;
   private final boolean admin;
+  private final ILobbyGameListController lobbyGameListController;
 
   // these must only be accessed in the swing event thread
   private final List<Tuple<GUID, GameDescription>> gameList = new ArrayList<>();
+  private long gameListVersion = -1;
+  private boolean catchingUp = true;
+  private final List<GameListFrame> deferredFrames = new ArrayList<>();
+  private final ILobbyGameListBroadcaster lobbyGameListBroadcaster = frame -> {
+    assertSentFromServer();
+    SwingUtilities.invokeLater(() -> frameReceived(frame));
+  };
   private final ILobbyGameBroadcaster lobbyGameBroadcaster = new ILobbyGameBroadcaster() {
     @Override
     public void gameUpdated(final GUID gameId, final GameDescription description) {
@@ -55,8 +81,21 @@ class LobbyGameTableModel extends AbstractTableModel {
       final IRemoteMessenger remoteMessenger) {
     this.messenger = messenger;
     this.admin = admin;
-    channelMessenger.registerChannelSubscriber(lobbyGameBroadcaster, ILobbyGameBroadcaster.REMOTE_NAME);
 
+    // subscribe before fetching the game list so that no frame sent in between is missed
+    channelMessenger.registerChannelSubscriber(lobbyGameListBroadcaster, ILobbyGameListBroadcaster.REMOTE_NAME);
+    lobbyGameListController =
+        (ILobbyGameListController) remoteMessenger.getRemote(ILobbyGameListController.REMOTE_NAME);
+    try {
+      final List<GameListFrame> frames = lobbyGameListController.getGameListSince(gameListVersion);
+      SwingUtilities.invokeLater(() -> caughtUp(frames));
+      return;
+    } catch (final RuntimeException e) {
+      log.log(Level.FINE, "lobby does not support game list frames", e);
+      channelMessenger.unregisterChannelSubscriber(lobbyGameListBroadcaster, ILobbyGameListBroadcaster.REMOTE_NAME);
+    }
+
+    channelMessenger.registerChannelSubscriber(lobbyGameBroadcaster, ILobbyGameBroadcaster.REMOTE_NAME);
     final Map<GUID, GameDescription> games =
         ((ILobbyGameController) remoteMessenger.getRemote(ILobbyGameController.REMOTE_NAME)).listGames();
     for (final Map.Entry<GUID, GameDescription> entry : games.entrySet()) {
@@ -64,18 +103,91 @@ class LobbyGameTableModel extends AbstractTableModel {
     }
   }
 
+  private void frameReceived(final GameListFrame frame) {
+    if (catchingUp) {
+      deferredFrames.add(frame);
+    } else if (frame.isSnapshot() || frame.getBaseVersion() == gameListVersion) {
+      applyFrame(frame);
+    } else if (frame.getVersion() > gameListVersion) {
+      catchUp();
+    }
+  }
+
+  private void catchUp() {
+    catchingUp = true;
+    final long version = gameListVersion;
+    final CompletableFuture<?> future = CompletableFuture
+        .supplyAsync(() -> lobbyGameListController.getGameListSince(version))
+        .whenComplete((frames, e) -> SwingUtilities.invokeLater(() -> {
+          if (e != null) {
+            // the next frame received reveals the gap again and retries
+            catchingUp = false;
+            deferredFrames.clear();
+          } else {
+            caughtUp(frames);
+          }
+        }));
+    CompletableFutureUtils.logExceptionWhenComplete(future, "Failed to fetch missed game list frames");
+  }
+
+  private void caughtUp(final List<GameListFrame> frames) {
+    catchingUp = false;
+    final List<GameListFrame> pendingFrames = new ArrayList<>(frames);
+    pendingFrames.addAll(deferredFrames);
+    deferredFrames.clear();
+    pendingFrames.forEach(this::frameReceived);
+  }
+
+  private void applyFrame(final GameListFrame frame) {
+    if (frame.isSnapshot()) {
+      gameList.clear();
+      frame.getAddedGames().forEach((gameId, description) -> gameList.add(Tuple.of(gameId, description)));
+      fireTableDataChanged();
+    } else {
+      frame.getRemovedGames().forEach(this::removeGameRow);
+      frame.getUpdatedGames().forEach(this::updateGameRow);
+      frame.getAddedGames().forEach(this::putGameRow);
+    }
+    gameListVersion = frame.getVersion();
+  }
+
+  private void removeGameRow(final GUID gameId) {
+    final Tuple<GUID, GameDescription> gameToRemove = findGame(gameId);
+    if (gameToRemove != null) {
+      final int index = gameList.indexOf(gameToRemove);
+      gameList.remove(index);
+      fireTableRowsDeleted(index, index);
+    }
+  }
+
+  private void updateGameRow(final GUID gameId, final GameDescriptionDelta delta) {
+    final Tuple<GUID, GameDescription> toUpdate = findGame(gameId);
+    if (toUpdate != null) {
+      final int index = gameList.indexOf(toUpdate);
+      gameList.set(index, Tuple.of(gameId, delta.applyTo(toUpdate.getSecond())));
+      fireTableRowsUpdated(index, index);
+    }
+  }
+
+  private void putGameRow(final GUID gameId, final GameDescription description) {
+    final Tuple<GUID, GameDescription> toReplace = findGame(gameId);
+    if (toReplace == null) {
+      gameList.add(Tuple.of(gameId, description));
+      fireTableRowsInserted(getRowCount() - 1, getRowCount() - 1);
+    } else {
+      final int replaceIndex = gameList.indexOf(toReplace);
+      gameList.set(replaceIndex, Tuple.of(gameId, description));
+      fireTableRowsUpdated(replaceIndex, replaceIndex);
+    }
+  }
+
   private void removeGame(final GUID gameId) {
     SwingUtilities.invokeLater(() -> {
       if (gameId == null) {
         return;
       }
 
-      final Tuple<GUID, GameDescription> gameToRemove = findGame(gameId);
-      if (gameToRemove != null) {
-        final int index = gameList.indexOf(gameToRemove);
-        gameList.remove(gameToRemove);
-        fireTableRowsDeleted(index, index);
-      }
+      removeGameRow(gameId);
     });
   }
 
@@ -91,6 +203,11 @@ class LobbyGameTableModel extends AbstractTableModel {
     return lobbyGameBroadcaster;
   }
 
+  @VisibleForTesting
+  ILobbyGameListBroadcaster getLobbyGameListBroadcaster() {
+    return lobbyGameListBroadcaster;
+  }
+
   GameDescription get(final int i) {
     return gameList.get(i).getSecond();
   }
@@ -105,17 +222,7 @@ class LobbyGameTableModel extends AbstractTableModel {
     if (gameId == null) {
       return;
     }
-    SwingUtilities.invokeLater(() -> {
-      final Tuple<GUID, GameDescription> toReplace = findGame(gameId);
-      if (toReplace == null) {
-        gameList.add(Tuple.of(gameId, description));
-        fireTableRowsInserted(getRowCount() - 1, getRowCount() - 1);
-      } else {
-        final int replaceIndex = gameList.indexOf(toReplace);
-        gameList.set(replaceIndex, Tuple.of(gameId, description));
-        fireTableRowsUpdated(replaceIndex, replaceIndex);
-      }
-    });
+    SwingUtilities.invokeLater(() -> putGameRow(gameId, description));
   }
 
   @Override
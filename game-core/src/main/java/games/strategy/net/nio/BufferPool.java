@@ -0,0 +1,69 @@
+package games.strategy.net.nio;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A pool of direct byte buffers shared by the reader, writer, encoder and decoder of a {@link NioSocket}.
+ *
+ * <p>
+ * Buffers are pooled in power of two size classes from 4 KiB to 1 MiB, and each size class keeps at most 2 MiB of
+ * idle buffers. Larger requests get a heap buffer that is not pooled, since messages that big are rare.
+ * </p>
+ *
+ * <p>
+ * This class is thread safe. A buffer must not be used after it has been released.
+ * </p>
+ */
+final class BufferPool {
+  private static final int MIN_SIZE_CLASS = 12;
+  private static final int MAX_SIZE_CLASS = 20;
+  private static final int MAX_IDLE_BYTES_PER_SIZE_CLASS = 2 * 1024 * 1024;
+
+  private final BlockingQueue<ByteBuffer>[] idleBuffers;
+
+  @SuppressWarnings("unchecked")
+  BufferPool() {
+    idleBuffers = new BlockingQueue[MAX_SIZE_CLASS - MIN_SIZE_CLASS + 1];
+    for (int sizeClass = MIN_SIZE_CLASS; sizeClass <= MAX_SIZE_CLASS; sizeClass++) {
+      idleBuffers[sizeClass - MIN_SIZE_CLASS] =
+          new ArrayBlockingQueue<>(Math.max(2, MAX_IDLE_BYTES_PER_SIZE_CLASS >> sizeClass));
+    }
+  }
+
+  private static int getSizeClass(final int size) {
+    return Math.max(MIN_SIZE_CLASS, 32 - Integer.numberOfLeadingZeros(size - 1));
+  }
+
+  /**
+   * Returns a cleared buffer whose limit is the specified size. Its capacity may be larger.
+   */
+  ByteBuffer acquire(final int size) {
+    final int sizeClass = getSizeClass(size);
+    if (sizeClass > MAX_SIZE_CLASS) {
+      return ByteBuffer.allocate(size);
+    }
+    ByteBuffer buffer = idleBuffers[sizeClass - MIN_SIZE_CLASS].poll();
+    if (buffer == null) {
+      buffer = ByteBuffer.allocateDirect(1 << sizeClass);
+    }
+    buffer.clear();
+    buffer.limit(size);
+    return buffer;
+  }
+
+  /**
+   * Returns the specified buffer, which must have been acquired from this pool, to the pool.
+   */
+  void release(final ByteBuffer buffer) {
+    if (!buffer.isDirect()) {
+      return;
+    }
+    final int sizeClass = getSizeClass(buffer.capacity());
+    if (sizeClass >= MIN_SIZE_CLASS && sizeClass <= MAX_SIZE_CLASS && buffer.capacity() == 1 << sizeClass) {
+      // if the pool is full, drop the buffer and let it be garbage collected
+      idleBuffers[sizeClass - MIN_SIZE_CLASS].offer(buffer);
+    }
+  }
+}
@@ -118,6 +118,10 @@ public class ClientQuarantineConversation extends QuarantineConversation {
           final String[] strings = ((String[]) o);
           localName = strings[0];
           serverName = strings[1];
+          // older servers do not send the encodings they read
+          if (strings.length > 2 && CompactCodec.NAME.equals(strings[2])) {
+            socket.enableCompactEncoding(channel);
+          }
           step = Step.READ_ADDRESS;
           return Action.NONE;
         case READ_ADDRESS:
@@ -0,0 +1,97 @@
+package games.strategy.net.nio;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.rmi.dgc.VMID;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A binary encoding of messages that is more compact and faster to decode than java serialization.
+ *
+ * <p>
+ * Messages are written with the same layout as the java serialized form, but objects written with
+ * {@link java.io.ObjectOutput#writeObject(Object)} are written as a one byte type id followed by their fields, with
+ * integers and lengths written as variable length numbers. Only the types most often sent over the network are
+ * registered, other objects are embedded in their java serialized form. The objects of a message that are serialized
+ * are all written with the same object stream, each preceded by the length of the bytes the stream wrote for it.
+ * </p>
+ *
+ * <p>
+ * A packet using this encoding starts with {@link #MAGIC}, a java serialized packet starts with the java serialization
+ * stream magic instead, so both encodings can be read from the same socket. A node only writes this encoding to a
+ * remote node known to read it. The server advertises it while logging the client in, and the client advertises it by
+ * writing a packet with this encoding.
+ * </p>
+ */
+final class CompactCodec {
+  /** The first byte of a packet using this encoding. Java serialized packets start with 0xAC. */
+  static final int MAGIC = 0xC1;
+  /** The name sent by the server to advertise it can read this encoding. */
+  static final String NAME = "compact-1";
+
+  static final byte NULL = 0;
+  static final byte STRING = 1;
+  static final byte INTEGER = 2;
+  static final byte LONG = 3;
+  static final byte TRUE = 4;
+  static final byte FALSE = 5;
+  static final byte GUID = 6;
+  static final byte VMID = 7;
+  static final byte NODE = 8;
+  static final byte REMOTE_METHOD_CALL = 9;
+  static final byte REMOTE_METHOD_CALL_RESULTS = 10;
+  static final byte HUB_INVOKE = 11;
+  static final byte SPOKE_INVOKE = 12;
+  static final byte HUB_INVOCATION_RESULTS = 13;
+  static final byte SPOKE_INVOCATION_RESULTS = 14;
+  static final byte SERIALIZED = Byte.MAX_VALUE;
+
+  // a VMID is the prefix of every GUID, but only a handful of them are in use at a time,
+  // so keep their serialized form rather than serializing them for every message
+  private static final int MAX_CACHED_VMIDS = 1024;
+  private static final Map<VMID, byte[]> vmidBytes = new ConcurrentHashMap<>();
+  private static final Map<ByteBuffer, VMID> vmids = new ConcurrentHashMap<>();
+
+  private CompactCodec() {}
+
+  static byte[] toBytes(final VMID vmid) throws IOException {
+    final byte[] cached = vmidBytes.get(vmid);
+    if (cached != null) {
+      return cached;
+    }
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(vmid);
+    }
+    if (vmidBytes.size() >= MAX_CACHED_VMIDS) {
+      vmidBytes.clear();
+    }
+    final byte[] result = bytes.toByteArray();
+    vmidBytes.put(vmid, result);
+    return result;
+  }
+
+  static VMID toVmid(final byte[] bytes) throws IOException {
+    final ByteBuffer key = ByteBuffer.wrap(bytes);
+    final VMID cached = vmids.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    final VMID vmid;
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      vmid = (VMID) in.readObject();
+    } catch (final ClassNotFoundException e) {
+      throw new IOException(e);
+    }
+    if (vmids.size() >= MAX_CACHED_VMIDS) {
+      vmids.clear();
+    }
+    vmids.put(key, vmid);
+    return vmid;
+  }
+}
@@ -0,0 +1,162 @@
+package games.strategy.net.nio;
+
+import java.io.DataInputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+
+import javax.annotation.Nullable;
+
+import games.strategy.engine.message.HubInvocationResults;
+import games.strategy.engine.message.HubInvoke;
+import games.strategy.engine.message.RemoteMethodCall;
+import games.strategy.engine.message.RemoteMethodCallResults;
+import games.strategy.engine.message.SpokeInvocationResults;
+import games.strategy.engine.message.SpokeInvoke;
+import games.strategy.net.GUID;
+import games.strategy.net.IObjectStreamFactory;
+import games.strategy.net.Node;
+
+/**
+ * Reads objects written by a {@link CompactObjectOutput}.
+ */
+final class CompactObjectInput extends DataInputStream implements ObjectInput {
+  private final IObjectStreamFactory objectStreamFactory;
+  // reads the objects of types that are not registered, see CompactObjectOutput
+  private @Nullable ObjectInputStream serializedObjectInput;
+  private final SerializedBytesInputStream serializedBytes = new SerializedBytesInputStream();
+
+  CompactObjectInput(final InputStream in, final IObjectStreamFactory objectStreamFactory) {
+    super(in);
+    this.objectStreamFactory = objectStreamFactory;
+  }
+
+  @Override
+  public Object readObject() throws ClassNotFoundException, IOException {
+    final byte type = readByte();
+    switch (type) {
+      case CompactCodec.NULL:
+        return null;
+      case CompactCodec.STRING:
+        return new String(readBytes(), StandardCharsets.UTF_8);
+      case CompactCodec.INTEGER:
+        return (int) readVarLong();
+      case CompactCodec.LONG:
+        return readVarLong();
+      case CompactCodec.TRUE:
+        return Boolean.TRUE;
+      case CompactCodec.FALSE:
+        return Boolean.FALSE;
+      case CompactCodec.VMID:
+        return CompactCodec.toVmid(readBytes());
+      case CompactCodec.GUID:
+        return readExternalizable(new GUID());
+      case CompactCodec.NODE:
+        return readExternalizable(new Node());
+      case CompactCodec.REMOTE_METHOD_CALL:
+        return readExternalizable(new RemoteMethodCall());
+      case CompactCodec.REMOTE_METHOD_CALL_RESULTS:
+        return readExternalizable(new RemoteMethodCallResults());
+      case CompactCodec.HUB_INVOKE:
+        return readExternalizable(new HubInvoke());
+      case CompactCodec.SPOKE_INVOKE:
+        return readExternalizable(new SpokeInvoke());
+      case CompactCodec.HUB_INVOCATION_RESULTS:
+        return readExternalizable(new HubInvocationResults());
+      case CompactCodec.SPOKE_INVOCATION_RESULTS:
+        return readExternalizable(new SpokeInvocationResults());
+      case CompactCodec.SERIALIZED:
+        return readSerializedObject();
+      default:
+        throw new StreamCorruptedException("Unknown type:" + type);
+    }
+  }
+
+  private Object readSerializedObject() throws ClassNotFoundException, IOException {
+    serializedBytes.setBytes(readBytes());
+    if (serializedObjectInput == null) {
+      serializedObjectInput = objectStreamFactory.create(serializedBytes);
+    }
+    return serializedObjectInput.readObject();
+  }
+
+  private Object readExternalizable(final Externalizable object) throws ClassNotFoundException, IOException {
+    object.readExternal(this);
+    return object;
+  }
+
+  private byte[] readBytes() throws IOException {
+    final int length = readVarInt();
+    if (length > available()) {
+      throw new StreamCorruptedException("Invalid length:" + length);
+    }
+    final byte[] bytes = new byte[length];
+    readFully(bytes);
+    return bytes;
+  }
+
+  int readVarInt() throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      final int b = readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new StreamCorruptedException("Invalid variable length number");
+  }
+
+  long readVarLong() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 70; shift += 7) {
+      final int b = readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return (value >>> 1) ^ -(value & 1);
+      }
+    }
+    throw new StreamCorruptedException("Invalid variable length number");
+  }
+
+  /**
+   * The bytes written for one serialized object at a time. An object stream reading past them finds the end of the
+   * stream, so a corrupt object cannot be read from the bytes of the next one.
+   */
+  private static final class SerializedBytesInputStream extends InputStream {
+    private byte[] bytes = new byte[0];
+    private int position = 0;
+
+    void setBytes(final byte[] bytes) {
+      this.bytes = bytes;
+      position = 0;
+    }
+
+    @Override
+    public int read() {
+      return (position < bytes.length) ? (bytes[position++] & 0xFF) : -1;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) {
+      if (len == 0) {
+        return 0;
+      } else if (position >= bytes.length) {
+        return -1;
+      }
+      final int count = Math.min(len, bytes.length - position);
+      System.arraycopy(bytes, position, b, off, count);
+      position += count;
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return bytes.length - position;
+    }
+  }
+}
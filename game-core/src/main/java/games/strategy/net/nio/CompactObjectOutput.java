@@ -0,0 +1,130 @@
+package games.strategy.net.nio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.rmi.dgc.VMID;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableMap;
+
+import games.strategy.engine.message.HubInvocationResults;
+import games.strategy.engine.message.HubInvoke;
+import games.strategy.engine.message.RemoteMethodCall;
+import games.strategy.engine.message.RemoteMethodCallResults;
+import games.strategy.engine.message.SpokeInvocationResults;
+import games.strategy.engine.message.SpokeInvoke;
+import games.strategy.net.GUID;
+import games.strategy.net.IObjectStreamFactory;
+import games.strategy.net.Node;
+
+/**
+ * Writes objects using the {@link CompactCodec} encoding.
+ */
+final class CompactObjectOutput extends DataOutputStream implements ObjectOutput {
+  // matched by exact class, a subclass may write more fields than its registered superclass reads
+  private static final ImmutableMap<Class<?>, Byte> externalizableTypes = ImmutableMap.<Class<?>, Byte>builder()
+      .put(GUID.class, CompactCodec.GUID)
+      .put(Node.class, CompactCodec.NODE)
+      .put(RemoteMethodCall.class, CompactCodec.REMOTE_METHOD_CALL)
+      .put(RemoteMethodCallResults.class, CompactCodec.REMOTE_METHOD_CALL_RESULTS)
+      .put(HubInvoke.class, CompactCodec.HUB_INVOKE)
+      .put(SpokeInvoke.class, CompactCodec.SPOKE_INVOKE)
+      .put(HubInvocationResults.class, CompactCodec.HUB_INVOCATION_RESULTS)
+      .put(SpokeInvocationResults.class, CompactCodec.SPOKE_INVOCATION_RESULTS)
+      .build();
+
+  private final IObjectStreamFactory objectStreamFactory;
+  // all objects of types that are not registered are serialized with one stream, so that its header and class
+  // descriptors are written once and objects shared by several of them keep their identity
+  private @Nullable ObjectOutputStream serializedObjectOutput;
+  private final ByteArrayOutputStream serializedBytes = new ByteArrayOutputStream();
+
+  /**
+   * Creates a stream writing to the specified stream. Objects of types that are not registered are serialized with a
+   * stream created by the specified factory when the first of them is written. A new instance must be used for each
+   * message, since that stream refers back to the objects written before.
+   */
+  CompactObjectOutput(final OutputStream out, final IObjectStreamFactory objectStreamFactory) {
+    super(out);
+    this.objectStreamFactory = objectStreamFactory;
+  }
+
+  @Override
+  public void writeObject(final Object obj) throws IOException {
+    if (obj == null) {
+      writeByte(CompactCodec.NULL);
+    } else if (obj instanceof String) {
+      writeByte(CompactCodec.STRING);
+      final byte[] bytes = ((String) obj).getBytes(StandardCharsets.UTF_8);
+      writeVarInt(bytes.length);
+      write(bytes);
+    } else if (obj instanceof Integer) {
+      writeByte(CompactCodec.INTEGER);
+      writeVarLong((Integer) obj);
+    } else if (obj instanceof Long) {
+      writeByte(CompactCodec.LONG);
+      writeVarLong((Long) obj);
+    } else if (obj instanceof Boolean) {
+      writeByte((Boolean) obj ? CompactCodec.TRUE : CompactCodec.FALSE);
+    } else if (obj instanceof VMID) {
+      writeByte(CompactCodec.VMID);
+      writeBytes(CompactCodec.toBytes((VMID) obj));
+    } else if (externalizableTypes.containsKey(obj.getClass())) {
+      writeByte(externalizableTypes.get(obj.getClass()));
+      ((Externalizable) obj).writeExternal(this);
+    } else {
+      writeByte(CompactCodec.SERIALIZED);
+      writeSerializedObject(obj);
+    }
+  }
+
+  /**
+   * Writes the bytes the serialized object stream adds for the specified object, which are only readable after the
+   * bytes it added for the objects written before.
+   */
+  private void writeSerializedObject(final Object obj) throws IOException {
+    if (serializedObjectOutput == null) {
+      serializedObjectOutput = objectStreamFactory.create(serializedBytes);
+    }
+    serializedObjectOutput.writeObject(obj);
+    serializedObjectOutput.flush();
+    writeBytes(serializedBytes.toByteArray());
+    serializedBytes.reset();
+  }
+
+  private void writeBytes(final byte[] bytes) throws IOException {
+    writeVarInt(bytes.length);
+    write(bytes);
+  }
+
+  /**
+   * Writes a non negative number in one to five bytes, seven bits at a time.
+   */
+  void writeVarInt(final int value) throws IOException {
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      writeByte((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    writeByte(remaining);
+  }
+
+  /**
+   * Writes a signed number in one to ten bytes, zig zag encoded so that small negative numbers are short too.
+   */
+  void writeVarLong(final long value) throws IOException {
+    long remaining = (value << 1) ^ (value >> 63);
+    while ((remaining & ~0x7FL) != 0) {
+      writeByte((int) ((remaining & 0x7F) | 0x80));
+      remaining >>>= 7;
+    }
+    writeByte((int) remaining);
+  }
+}
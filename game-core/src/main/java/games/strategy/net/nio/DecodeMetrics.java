@@ -0,0 +1,22 @@
+package games.strategy.net.nio;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A snapshot of the decoding statistics of a single connection.
+ */
+@AllArgsConstructor
+@Getter
+public final class DecodeMetrics {
+  /** Packets read from the connection that have not been decoded yet. */
+  private final int queuedPackets;
+  /** Total size of the packets that have not been decoded yet. */
+  private final long queuedBytes;
+  /** Messages decoded since the connection was added. */
+  private final long decodedMessages;
+  /** Average time between a packet being fully read and its message being delivered. */
+  private final double averageLatencyMillis;
+  /** Longest time between a packet being fully read and its message being delivered. */
+  private final double maxLatencyMillis;
+}
@@ -2,18 +2,32 @@ package games.strategy.net.nio;
 
 import java.io.Externalizable;
 import java.io.IOException;
-import java.io.ObjectInputStream;
+import java.io.InputStream;
+import java.io.ObjectInput;
 import java.io.Serializable;
 import java.net.Socket;
 import java.nio.channels.SocketChannel;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import games.strategy.engine.message.HubInvocationResults;
 import games.strategy.engine.message.HubInvoke;
 import games.strategy.engine.message.SpokeInvocationResults;
 import games.strategy.engine.message.SpokeInvoke;
-import games.strategy.io.IoUtils;
 import games.strategy.net.CouldNotLogInException;
 import games.strategy.net.INode;
 import games.strategy.net.IObjectStreamFactory;
@@ -23,10 +37,27 @@ import games.strategy.net.nio.QuarantineConversation.Action;
 import lombok.extern.java.Log;
 
 /**
- * A thread to Decode messages from a reader.
+ * Decodes messages read by a reader.
+ *
+ * <p>
+ * Packets are decoded by a pool of worker threads, so that one connection sending large messages does not delay the
+ * messages of other connections. Packets of a single connection are still decoded and delivered one at a time, in the
+ * order they were read.
+ * </p>
+ *
+ * <p>
+ * Each connection may have a limited number of packets waiting to be decoded. Once it reaches that limit, the reader
+ * stops reading from it until the decoder has caught up.
+ * </p>
  */
 @Log
 class Decoder {
+  private static final int THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+  // packets decoded for one connection before giving other connections a turn
+  private static final int PACKETS_PER_TURN = 16;
+  static final int MAX_QUEUED_PACKETS = 64;
+  static final long MAX_QUEUED_BYTES = 2L * SocketReadData.MAX_MESSAGE_SIZE;
+
   private final NioReader reader;
   private volatile boolean running = true;
   private final ErrorReporter errorReporter;
@@ -38,7 +69,9 @@ class Decoder {
    */
   private final ConcurrentHashMap<SocketChannel, QuarantineConversation> quarantine =
       new ConcurrentHashMap<>();
-  private final Thread thread;
+  private final ConcurrentHashMap<SocketChannel, ConnectionDecoder> connections = new ConcurrentHashMap<>();
+  private final Executor executor;
+  private final Consumer<SocketReadData> packetDecoder;
 
   Decoder(final NioSocket nioSocket, final NioReader reader, final ErrorReporter reporter,
       final IObjectStreamFactory objectStreamFactory, final String threadSuffix) {
@@ -46,61 +79,161 @@ class Decoder {
     errorReporter = reporter;
     this.objectStreamFactory = objectStreamFactory;
     this.nioSocket = nioSocket;
-    thread = new Thread(this::loop, "Decoder -" + threadSuffix);
-    thread.start();
+    executor = Executors.newFixedThreadPool(THREADS, new ThreadFactoryBuilder()
+        .setDaemon(true)
+        .setNameFormat("Decoder -" + threadSuffix + "-%d")
+        .build());
+    packetDecoder = this::decode;
+  }
+
+  @VisibleForTesting
+  Decoder(final NioReader reader, final Executor executor, final Consumer<SocketReadData> packetDecoder) {
+    this.reader = reader;
+    errorReporter = null;
+    objectStreamFactory = null;
+    nioSocket = null;
+    this.executor = executor;
+    this.packetDecoder = packetDecoder;
   }
 
   void shutDown() {
     running = false;
-    thread.interrupt();
+    if (executor instanceof ExecutorService) {
+      ((ExecutorService) executor).shutdownNow();
+    }
+  }
+
+  /**
+   * Queues a packet that has been read completely for decoding. Called by the reader.
+   *
+   * @return true if the connection has too many packets waiting to be decoded and should not be read until
+   *         {@link NioReader#resume(SocketChannel)} is called.
+   */
+  boolean add(final SocketReadData packet) {
+    if (!running || !packet.getChannel().isOpen()) {
+      packet.release();
+      return false;
+    }
+    return connections.computeIfAbsent(packet.getChannel(), ConnectionDecoder::new).add(packet);
+  }
+
+  /**
+   * Returns the decoding statistics of the specified connection, or empty if no packet has been read from it yet.
+   */
+  Optional<DecodeMetrics> getMetrics(final SocketChannel channel) {
+    return Optional.ofNullable(connections.get(channel)).map(ConnectionDecoder::getMetrics);
   }
 
-  private void loop() {
-    while (running) {
-      try {
-        final SocketReadData data = reader.take();
-        if (data == null || !running) {
-          continue;
+  private void decode(final SocketReadData data) {
+    try {
+      final MessageHeader header = readMessageHeader(data);
+      // make sure we are still open
+      final Socket s = data.getChannel().socket();
+      if (!running || s == null || s.isInputShutdown()) {
+        return;
+      }
+      final QuarantineConversation conversation = quarantine.get(data.getChannel());
+      if (conversation != null) {
+        sendQuarantine(data.getChannel(), conversation, header);
+      } else {
+        if (nioSocket.getLocalNode() == null) {
+          throw new IllegalStateException("we are writing messages, but no local node");
+        }
+        if (header.getFrom() == null) {
+          throw new IllegalArgumentException("Null from:" + header);
         }
+        nioSocket.messageReceived(header, data.getChannel());
+      }
+    } catch (final IOException | RuntimeException e) {
+      // we are reading from memory here
+      // there should be no network errors, something is odd
+      log.log(Level.SEVERE, "error reading object", e);
+      errorReporter.error(data.getChannel(), e);
+    }
+  }
+
+  /**
+   * The packets of one connection waiting to be decoded. At most one worker decodes them at any time.
+   */
+  private final class ConnectionDecoder {
+    private final SocketChannel channel;
+    private final Queue<SocketReadData> packets = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final AtomicBoolean paused = new AtomicBoolean(false);
+    private final AtomicInteger queuedPackets = new AtomicInteger();
+    private final AtomicLong queuedBytes = new AtomicLong();
+    // only written by the worker currently decoding this connection
+    private volatile long decodedMessages = 0;
+    private volatile long totalLatencyNanos = 0;
+    private volatile long maxLatencyNanos = 0;
 
+    ConnectionDecoder(final SocketChannel channel) {
+      this.channel = channel;
+    }
+
+    boolean add(final SocketReadData packet) {
+      packets.add(packet);
+      final int packetCount = queuedPackets.incrementAndGet();
+      final long byteCount = queuedBytes.addAndGet(packet.size());
+      schedule();
+      if (packetCount >= MAX_QUEUED_PACKETS || byteCount >= MAX_QUEUED_BYTES) {
+        paused.set(true);
+        // the queue may have been drained before we paused, in which case nobody would resume reading
+        return !(isBelowLowWaterMark() && paused.compareAndSet(true, false));
+      }
+      return false;
+    }
+
+    // resume reading once half of the queue has been decoded
+    private boolean isBelowLowWaterMark() {
+      return queuedPackets.get() <= MAX_QUEUED_PACKETS / 2 && queuedBytes.get() <= MAX_QUEUED_BYTES / 2;
+    }
+
+    private void schedule() {
+      if (scheduled.compareAndSet(false, true)) {
         try {
-          final MessageHeader header = IoUtils.readFromMemory(data.getData(), is -> {
-            try {
-              return readMessageHeader(data.getChannel(), objectStreamFactory.create(is));
-            } catch (final ClassNotFoundException e) {
-              throw new IOException(e);
-            }
-          });
-          // make sure we are still open
-          final Socket s = data.getChannel().socket();
-          if (!running || s == null || s.isInputShutdown()) {
-            continue;
-          }
-          final QuarantineConversation conversation = quarantine.get(data.getChannel());
-          if (conversation != null) {
-            sendQuarantine(data.getChannel(), conversation, header);
-          } else {
-            if (nioSocket.getLocalNode() == null) {
-              throw new IllegalStateException("we are writing messages, but no local node");
-            }
-            if (header.getFrom() == null) {
-              throw new IllegalArgumentException("Null from:" + header);
-            }
-            nioSocket.messageReceived(header, data.getChannel());
-          }
-        } catch (final IOException | RuntimeException e) {
-          // we are reading from memory here
-          // there should be no network errors, something is odd
-          log.log(Level.SEVERE, "error reading object", e);
-          errorReporter.error(data.getChannel(), e);
+          executor.execute(this::decodePackets);
+        } catch (final RejectedExecutionException e) {
+          // we are shutting down
+          scheduled.set(false);
+        }
+      }
+    }
+
+    private void decodePackets() {
+      for (int i = 0; i < PACKETS_PER_TURN && running; i++) {
+        final SocketReadData packet = packets.poll();
+        if (packet == null) {
+          break;
         }
-      } catch (final InterruptedException e) {
-        // Do nothing if we were interrupted due to an explicit shutdown because the thread will terminate normally;
-        // otherwise re-interrupt this thread and keep running
-        if (running) {
-          Thread.currentThread().interrupt();
+        packetDecoder.accept(packet);
+        final long latency = System.nanoTime() - packet.getCompletedNanos();
+        totalLatencyNanos += latency;
+        maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+        decodedMessages++;
+        queuedPackets.decrementAndGet();
+        queuedBytes.addAndGet(-packet.size());
+        if (isBelowLowWaterMark() && paused.compareAndSet(true, false)) {
+          reader.resume(channel);
         }
       }
+      scheduled.set(false);
+      if (!packets.isEmpty() && running) {
+        schedule();
+      }
+    }
+
+    void clear() {
+      SocketReadData packet;
+      while ((packet = packets.poll()) != null) {
+        packet.release();
+      }
+    }
+
+    DecodeMetrics getMetrics() {
+      final long decoded = decodedMessages;
+      return new DecodeMetrics(queuedPackets.get(), queuedBytes.get(), decoded,
+          decoded == 0 ? 0.0 : totalLatencyNanos / 1_000_000.0 / decoded, maxLatencyNanos / 1_000_000.0);
     }
   }
 
@@ -117,7 +250,28 @@ class Decoder {
     }
   }
 
-  private MessageHeader readMessageHeader(final SocketChannel channel, final ObjectInputStream objectInput)
+  /**
+   * Decodes the packet straight from its pooled buffer, then returns the buffer to the pool.
+   */
+  private MessageHeader readMessageHeader(final SocketReadData data) throws IOException {
+    try {
+      final InputStream in = data.getInputStream();
+      in.mark(1);
+      if (in.read() == CompactCodec.MAGIC) {
+        // the remote node would not write this encoding if it could not read it too
+        nioSocket.enableCompactEncoding(data.getChannel());
+        return readMessageHeader(data.getChannel(), new CompactObjectInput(in, objectStreamFactory));
+      }
+      in.reset();
+      return readMessageHeader(data.getChannel(), objectStreamFactory.create(in));
+    } catch (final ClassNotFoundException e) {
+      throw new IOException(e);
+    } finally {
+      data.release();
+    }
+  }
+
+  private MessageHeader readMessageHeader(final SocketChannel channel, final ObjectInput objectInput)
       throws IOException, ClassNotFoundException {
     final INode to;
     if (objectInput.read() == 1) {
@@ -191,6 +345,10 @@ class Decoder {
   }
 
   void closed(final SocketChannel channel) {
+    final ConnectionDecoder connection = connections.remove(channel);
+    if (connection != null) {
+      connection.clear();
+    }
     // remove if it exists
     final QuarantineConversation conversation = quarantine.remove(channel);
     if (conversation != null) {
@@ -4,11 +4,13 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.Externalizable;
 import java.io.IOException;
+import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
 import java.nio.channels.SocketChannel;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
-import games.strategy.io.IoUtils;
 import games.strategy.net.IObjectStreamFactory;
 import games.strategy.net.MessageHeader;
 import games.strategy.net.Node;
@@ -22,11 +24,16 @@ class Encoder {
   private final NioWriter writer;
   private final IObjectStreamFactory objectStreamFactory;
   private final NioSocket nioSocket;
+  private final BufferPool bufferPool;
+  // channels whose remote node reads the compact encoding
+  private final Set<SocketChannel> compactChannels = ConcurrentHashMap.newKeySet();
 
-  Encoder(final NioSocket nioSocket, final NioWriter writer, final IObjectStreamFactory objectStreamFactory) {
+  Encoder(final NioSocket nioSocket, final NioWriter writer, final IObjectStreamFactory objectStreamFactory,
+      final BufferPool bufferPool) {
     this.nioSocket = nioSocket;
     this.writer = writer;
     this.objectStreamFactory = objectStreamFactory;
+    this.bufferPool = bufferPool;
   }
 
   void write(final SocketChannel to, final MessageHeader header) {
@@ -34,17 +41,40 @@ class Encoder {
     if (header.getFrom() == null) {
       throw new IllegalArgumentException("No from node");
     }
+    // serialize straight into a pooled buffer, which is handed over to the writer without copying
+    final PooledBufferOutputStream os = new PooledBufferOutputStream(bufferPool);
     try {
-      final byte[] bytes = IoUtils.writeToMemory(os -> write(header, objectStreamFactory.create(os), to));
-      final SocketWriteData data = new SocketWriteData(bytes, bytes.length);
-      writer.enque(data, to);
+      if (compactChannels.contains(to)) {
+        os.write(CompactCodec.MAGIC);
+        final CompactObjectOutput out = new CompactObjectOutput(os, objectStreamFactory);
+        write(header, out, to);
+        out.flush();
+      } else {
+        final ObjectOutputStream out = objectStreamFactory.create(os);
+        write(header, out, to);
+        out.reset();
+      }
+      writer.enque(new SocketWriteData(os.toBuffer(), bufferPool), to);
     } catch (final IOException e) {
       // we aren't doing any I/O, just writing in memory so something is very wrong
       log.log(Level.SEVERE, "Error writing object:" + header, e);
+    } finally {
+      os.close();
     }
   }
 
-  private void write(final MessageHeader header, final ObjectOutputStream out, final SocketChannel remote)
+  /**
+   * Writes messages to the specified channel using the {@link CompactCodec} encoding from now on.
+   */
+  void enableCompactEncoding(final SocketChannel channel) {
+    compactChannels.add(channel);
+  }
+
+  void closed(final SocketChannel channel) {
+    compactChannels.remove(channel);
+  }
+
+  private void write(final MessageHeader header, final ObjectOutput out, final SocketChannel remote)
       throws IOException {
     if (header.getFrom() == null) {
       throw new IllegalArgumentException("null from");
@@ -79,6 +109,5 @@ class Encoder {
     } else {
       out.writeObject(header.getMessage());
     }
-    out.reset();
   }
 }
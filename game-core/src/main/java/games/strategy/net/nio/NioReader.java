@@ -14,29 +14,32 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.logging.Level;
 
 import lombok.extern.java.Log;
 
 /**
  * A thread that reads socket data using NIO from a collection of sockets.
- * Data is read in packets, and placed in the output queue.
- * Packets are placed in the output queue in order they are read from the socket.
+ * Data is read in packets, and handed to the decoder in the order they are read from the socket.
+ * A socket is not read while the decoder has too many of its packets waiting, so that a client sending faster than
+ * we can decode cannot exhaust the heap.
  */
 @Log
 class NioReader {
-  private final LinkedBlockingQueue<SocketReadData> outputQueue = new LinkedBlockingQueue<>();
   private volatile boolean running = true;
   private final Map<SocketChannel, SocketReadData> reading = new ConcurrentHashMap<>();
   private final ErrorReporter errorReporter;
+  private final BufferPool bufferPool;
   private final Selector selector;
   private final Object socketsToAddMutex = new Object();
   private final List<SocketChannel> socketsToAdd = new ArrayList<>();
+  private final List<SocketChannel> socketsToResume = new ArrayList<>();
+  private volatile Decoder decoder;
   private long totalBytes;
 
-  NioReader(final ErrorReporter reporter, final String threadSuffix) {
+  NioReader(final ErrorReporter reporter, final BufferPool bufferPool, final String threadSuffix) {
     errorReporter = reporter;
+    this.bufferPool = bufferPool;
     try {
       selector = Selector.open();
     } catch (final IOException e) {
@@ -55,6 +58,13 @@ class NioReader {
     }
   }
 
+  /**
+   * Sets the decoder packets are handed to. Must be called before any channel is added.
+   */
+  void setDecoder(final Decoder decoder) {
+    this.decoder = decoder;
+  }
+
   void add(final SocketChannel channel) {
     synchronized (socketsToAddMutex) {
       socketsToAdd.add(channel);
@@ -62,14 +72,33 @@ class NioReader {
     }
   }
 
+  /**
+   * Resumes reading from a channel paused because the decoder had too many of its packets waiting.
+   */
+  void resume(final SocketChannel channel) {
+    synchronized (socketsToAddMutex) {
+      socketsToResume.add(channel);
+      selector.wakeup();
+    }
+  }
+
   private void selectNewChannels() {
     final List<SocketChannel> toAdd;
+    final List<SocketChannel> toResume;
     synchronized (socketsToAddMutex) {
-      if (socketsToAdd.isEmpty()) {
+      if (socketsToAdd.isEmpty() && socketsToResume.isEmpty()) {
         return;
       }
       toAdd = new ArrayList<>(socketsToAdd);
       socketsToAdd.clear();
+      toResume = new ArrayList<>(socketsToResume);
+      socketsToResume.clear();
+    }
+    for (final SocketChannel channel : toResume) {
+      final SelectionKey key = channel.keyFor(selector);
+      if (key != null && key.isValid()) {
+        key.interestOps(SelectionKey.OP_READ);
+      }
     }
     for (final SocketChannel channel : toAdd) {
       try {
@@ -114,7 +143,7 @@ class NioReader {
                   log.fine(" done reading from:" + remote + " size:" + packet.size() + " readCalls;"
                       + packet.getReadCalls() + " total:" + totalBytes);
                 }
-                enque(packet);
+                enque(key, packet);
               }
             } catch (final Exception e) {
               log.log(Level.FINER, "exception reading", e);
@@ -134,24 +163,23 @@ class NioReader {
     }
   }
 
-  private void enque(final SocketReadData packet) {
+  private void enque(final SelectionKey key, final SocketReadData packet) {
     reading.remove(packet.getChannel());
-    outputQueue.offer(packet);
+    if (decoder.add(packet)) {
+      // stop reading until the decoder catches up
+      key.interestOps(0);
+    }
   }
 
   private SocketReadData getReadData(final SocketChannel channel) {
     if (reading.containsKey(channel)) {
       return reading.get(channel);
     }
-    final SocketReadData packet = new SocketReadData(channel);
+    final SocketReadData packet = new SocketReadData(channel, bufferPool);
     reading.put(channel, packet);
     return packet;
   }
 
-  SocketReadData take() throws InterruptedException {
-    return outputQueue.take();
-  }
-
   void closed(final SocketChannel channel) {
     reading.remove(channel);
   }
@@ -5,6 +5,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.IOException;
 import java.net.Socket;
 import java.nio.channels.SocketChannel;
+import java.util.Optional;
 import java.util.logging.Level;
 
 import games.strategy.net.INode;
@@ -14,8 +15,9 @@ import lombok.extern.java.Log;
 
 /**
  * The threads needed for a group of sockets using NIO.
- * One thread reds socket data, one thread writes socket data and one thread deserializes (decodes) packets read by the
- * read thread.
+ * One thread reds socket data, one thread writes socket data and a small pool of threads deserializes (decodes)
+ * packets read by the read thread. Messages from one socket are delivered in the order they were read, but messages
+ * from different sockets may be delivered to the listener concurrently.
  * serializing (encoding) objects to be written across the network is done by threads calling this object.
  */
 @Log
@@ -28,10 +30,12 @@ public class NioSocket implements ErrorReporter {
 
   public NioSocket(final IObjectStreamFactory factory, final NioSocketListener listener, final String name) {
     this.listener = listener;
+    final BufferPool bufferPool = new BufferPool();
     writer = new NioWriter(this, name);
-    reader = new NioReader(this, name);
+    reader = new NioReader(this, bufferPool, name);
     decoder = new Decoder(this, reader, this, factory, name);
-    encoder = new Encoder(this, writer, factory);
+    reader.setDecoder(decoder);
+    encoder = new Encoder(this, writer, factory, bufferPool);
   }
 
   INode getLocalNode() {
@@ -42,6 +46,13 @@ public class NioSocket implements ErrorReporter {
     return listener.getRemoteNode(channel);
   }
 
+  /**
+   * Returns the decoding statistics of the specified channel, or empty if nothing has been read from it yet.
+   */
+  public Optional<DecodeMetrics> getDecodeMetrics(final SocketChannel channel) {
+    return decoder.getMetrics(channel);
+  }
+
   /**
    * Stop our threads.
    * This does not close the sockets we are connected to.
@@ -78,6 +89,14 @@ public class NioSocket implements ErrorReporter {
     reader.add(channel);
   }
 
+  /**
+   * Writes messages to the specified channel using a compact encoding from now on. Must only be called once the remote
+   * node is known to read that encoding.
+   */
+  void enableCompactEncoding(final SocketChannel channel) {
+    encoder.enableCompactEncoding(channel);
+  }
+
   void unquarantine(final SocketChannel channel, final QuarantineConversation conversation) {
     listener.socketUnqaurantined(channel, conversation);
   }
@@ -108,6 +127,7 @@ public class NioSocket implements ErrorReporter {
       log.log(Level.FINE, "error closing channel", e1);
     }
     decoder.closed(channel);
+    encoder.closed(channel);
     writer.closed(channel);
     reader.closed(channel);
   }
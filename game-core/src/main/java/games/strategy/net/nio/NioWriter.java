@@ -141,7 +141,13 @@ class NioWriter {
 
   private void removeAll(final SocketChannel to) {
     synchronized (mutex) {
-      writing.remove(to);
+      final List<SocketWriteData> values = writing.remove(to);
+      if (values != null) {
+        // the first packet may still be being written, so leave its buffer to the garbage collector
+        for (int i = 1; i < values.size(); i++) {
+          values.get(i).release();
+        }
+      }
     }
   }
 
@@ -152,7 +158,7 @@ class NioWriter {
         log.severe("NO socket data to:" + to);
         return;
       }
-      values.remove(0);
+      values.remove(0).release();
       // remove empty lists, so we can detect that we need to wake up the socket
       if (values.isEmpty()) {
         writing.remove(to);
@@ -176,6 +182,7 @@ class NioWriter {
   void enque(final SocketWriteData data, final SocketChannel channel) {
     synchronized (mutex) {
       if (!running) {
+        data.release();
         return;
       }
       if (writing.containsKey(channel)) {
@@ -0,0 +1,72 @@
+package games.strategy.net.nio;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An output stream that writes into a buffer acquired from a {@link BufferPool}, growing into a larger pooled buffer
+ * when full. The bytes written are handed over with {@link #toBuffer()}, so they are never copied into a byte array.
+ */
+final class PooledBufferOutputStream extends OutputStream {
+  private static final int INITIAL_SIZE = 4096;
+
+  private final BufferPool pool;
+  private ByteBuffer buffer;
+
+  PooledBufferOutputStream(final BufferPool pool) {
+    this.pool = pool;
+    buffer = pool.acquire(INITIAL_SIZE);
+    buffer.limit(buffer.capacity());
+  }
+
+  private void ensureRemaining(final int count) {
+    if (buffer.remaining() >= count) {
+      return;
+    }
+    final int required = buffer.position() + count;
+    if (required < 0 || required > SocketReadData.MAX_MESSAGE_SIZE) {
+      throw new IllegalStateException("Invalid message size:" + required);
+    }
+    final ByteBuffer larger = pool.acquire(Math.max(required, Math.min(buffer.capacity() * 2,
+        SocketReadData.MAX_MESSAGE_SIZE)));
+    larger.limit(larger.capacity());
+    buffer.flip();
+    larger.put(buffer);
+    pool.release(buffer);
+    buffer = larger;
+  }
+
+  @Override
+  public void write(final int b) {
+    ensureRemaining(1);
+    buffer.put((byte) b);
+  }
+
+  @Override
+  public void write(final byte[] bytes, final int offset, final int length) {
+    ensureRemaining(length);
+    buffer.put(bytes, offset, length);
+  }
+
+  /**
+   * Returns the buffer holding the bytes written, flipped for reading. The caller becomes responsible for releasing
+   * it to the pool, and this stream must not be used afterwards.
+   */
+  ByteBuffer toBuffer() {
+    final ByteBuffer written = buffer;
+    buffer = null;
+    written.flip();
+    return written;
+  }
+
+  /**
+   * Releases the buffer to the pool unless it has been handed over with {@link #toBuffer()}.
+   */
+  @Override
+  public void close() {
+    if (buffer != null) {
+      pool.release(buffer);
+      buffer = null;
+    }
+  }
+}
@@ -22,7 +22,8 @@ public class ServerQuarantineConversation extends QuarantineConversation {
    * 1) server reads client name
    * 2) server sends challenge (or null if no challenge is to be made)
    * 3) server reads response (or null if no challenge)
-   * 4) server send null then client name and node info on success, or an error message if there is an error
+   * 4) server send null then client name, node info and the encodings it reads on success, or an error message if
+   * there is an error
    * 5) if the client reads an error message, the client sends an acknowledgment (we need to make sur the client gets
    * the message before
    * closing the socket).
@@ -87,8 +88,9 @@ public class ServerQuarantineConversation extends QuarantineConversation {
           }
           // get a unique name
           remoteName = serverMessenger.getUniqueName(remoteName);
-          // send the node its name and our name
-          send(new String[] {remoteName, serverMessenger.getLocalNode().getName()});
+          // send the node its name and our name, and tell it we read the compact encoding,
+          // older clients only look at the first two names
+          send(new String[] {remoteName, serverMessenger.getLocalNode().getName(), CompactCodec.NAME});
           // send the node its and our address as we see it
           send(new InetSocketAddress[] {(InetSocketAddress) channel.socket().getRemoteSocketAddress(),
               serverMessenger.getLocalNode().getSocketAddress()});
@@ -1,6 +1,7 @@
 package games.strategy.net.nio;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -11,7 +12,8 @@ import lombok.extern.java.Log;
  * A packet of data being read over the network.
  *
  * <p>
- * A Packet does not correspond to a network packet, rather it is the bytes for 1 serialized java object.
+ * A Packet does not correspond to a network packet, rather it is the bytes for 1 serialized java object. The bytes
+ * are read into a buffer acquired from a {@link BufferPool}, and stay there until the packet is decoded and released.
  * </p>
  */
 @Log
@@ -28,11 +30,14 @@ class SocketReadData {
   // we read into here after knowing out size
   private ByteBuffer contentBuffer;
   private final SocketChannel channel;
+  private final BufferPool pool;
   private final int number = counter.incrementAndGet();
   private int readCalls;
+  private long completedNanos;
 
-  SocketReadData(final SocketChannel channel) {
+  SocketReadData(final SocketChannel channel, final BufferPool pool) {
     this.channel = channel;
+    this.pool = pool;
   }
 
   /**
@@ -68,7 +73,7 @@ class SocketReadData {
         if (targetSize <= 0 || targetSize > MAX_MESSAGE_SIZE) {
           throw new IOException("Invalid triplea packet size:" + targetSize);
         }
-        contentBuffer = ByteBuffer.allocate(targetSize);
+        contentBuffer = pool.acquire(targetSize);
         sizeBuffer = null;
       } else {
         // we ddnt read all 4 bytes, return
@@ -81,7 +86,11 @@ class SocketReadData {
     if (size == -1) {
       throw new IOException("Socket closed");
     }
-    return !contentBuffer.hasRemaining();
+    if (contentBuffer.hasRemaining()) {
+      return false;
+    }
+    completedNanos = System.nanoTime();
+    return true;
   }
 
   public SocketChannel getChannel() {
@@ -89,15 +98,22 @@ class SocketReadData {
   }
 
   /**
-   * Get the data as a byte[].
-   * This method can only be called once.
+   * Returns a stream reading the data directly from the pooled buffer.
+   * This method can only be called once, and the stream must not be used after {@link #release()} is called.
    */
-  public byte[] getData() {
-    final byte[] data = new byte[contentBuffer.capacity()];
+  InputStream getInputStream() {
     contentBuffer.flip();
-    contentBuffer.get(data);
-    contentBuffer = null;
-    return data;
+    return new ByteBufferInputStream(contentBuffer);
+  }
+
+  /**
+   * Returns the buffer holding the data to the pool.
+   */
+  void release() {
+    if (contentBuffer != null) {
+      pool.release(contentBuffer);
+      contentBuffer = null;
+    }
   }
 
   public int size() {
@@ -105,6 +121,13 @@ class SocketReadData {
     return targetSize + 4;
   }
 
+  /**
+   * Returns the value of {@link System#nanoTime()} when the last byte of this packet was read.
+   */
+  long getCompletedNanos() {
+    return completedNanos;
+  }
+
   public int getReadCalls() {
     return readCalls;
   }
@@ -15,32 +15,41 @@ import lombok.extern.java.Log;
  * </p>
  *
  * <p>
- * The packet is written over the network as 32 bits indicating the size in bytes, then the data itself.
+ * The packet is written over the network as 32 bits indicating the size in bytes, then the data itself. Both are
+ * written with a single gathering write, straight from the pooled buffer the data was serialized into.
  * </p>
  */
 @Log
 class SocketWriteData {
   private static final AtomicInteger counter = new AtomicInteger();
+  private final BufferPool pool;
   private final ByteBuffer size;
   private final ByteBuffer content;
+  private final ByteBuffer[] buffers;
   private final int number = counter.incrementAndGet();
   // how many times we called write before we finished writing ourselves
   private int writeCalls = 0;
+  private boolean released = false;
 
-  SocketWriteData(final byte[] data, final int count) {
-    content = ByteBuffer.allocate(count);
-    content.put(data, 0, count);
-    size = ByteBuffer.allocate(4);
+  /**
+   * Creates a packet for the remaining bytes of the specified buffer, which was acquired from the specified pool. The
+   * packet takes ownership of the buffer and returns it to the pool when {@link #release()} is called.
+   */
+  SocketWriteData(final ByteBuffer content, final BufferPool pool) {
+    final int count = content.remaining();
     if (count < 0 || count > SocketReadData.MAX_MESSAGE_SIZE) {
       throw new IllegalStateException("Invalid message size:" + count);
     }
+    this.pool = pool;
+    this.content = content;
+    size = ByteBuffer.allocate(4);
     size.putInt(count ^ SocketReadData.MAGIC);
     size.flip();
-    content.flip();
+    buffers = new ByteBuffer[] {size, content};
   }
 
   int size() {
-    return size.capacity() + content.capacity();
+    return size.capacity() + content.limit();
   }
 
   int getWriteCalls() {
@@ -54,27 +63,26 @@ class SocketWriteData {
    */
   boolean write(final SocketChannel channel) throws IOException {
     writeCalls++;
-    if (size.hasRemaining()) {
-      final int count = channel.write(size);
-      if (count == -1) {
-        throw new IOException("triplea: end of stream detected");
-      }
-      log.finest(() -> "wrote size_buffer bytes:" + count);
-      // we could not write everything
-      if (size.hasRemaining()) {
-        return false;
-      }
-    }
-    final int count = channel.write(content);
+    final long count = channel.write(buffers);
     if (count == -1) {
       throw new IOException("triplea: end of stream detected");
     }
-    log.finest(() -> "wrote content bytes:" + count);
+    log.finest(() -> "wrote bytes:" + count);
     return !content.hasRemaining();
   }
 
+  /**
+   * Returns the content buffer to the pool. The packet must not be written afterwards.
+   */
+  void release() {
+    if (!released) {
+      released = true;
+      pool.release(content);
+    }
+  }
+
   @Override
   public String toString() {
-    return "<id:" + number + " size:" + content.capacity() + ">";
+    return "<id:" + number + " size:" + content.limit() + ">";
   }
 }
@@ -7,6 +7,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
 
+import javax.annotation.Nullable;
+
 import org.triplea.java.collections.CollectionUtils;
 import org.triplea.java.collections.IntegerMap;
 import org.triplea.util.Tuple;
@@ -20,6 +22,8 @@ import games.strategy.engine.data.MutableProperty;
 import games.strategy.engine.data.PlayerId;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitHolder;
+import games.strategy.engine.data.UnitLocationIndex;
 import games.strategy.engine.data.UnitType;
 import games.strategy.engine.data.changefactory.ChangeFactory;
 import games.strategy.triplea.attachments.TechAbilityAttachment;
@@ -106,22 +110,27 @@ public class TripleAUnit extends Unit {
   }
 
   private void setTransportedBy(final TripleAUnit transportedBy) {
+    final TripleAUnit oldTransportedBy = this.transportedBy;
     this.transportedBy = transportedBy;
+    if (getData() != null) {
+      getData().unitTransportChanged(this, oldTransportedBy, transportedBy);
+    }
   }
 
   /**
-   * This is a very slow method because it checks all territories on the map. Try not to use this method if possible.
+   * Returns the units this transport carries in the territory it is in.
    */
   public List<Unit> getTransporting() {
-    // we don't store the units we are transporting
-    // rather we look at the transported by property of units
-    for (final Territory t : getData().getMap()) {
-      // find the territory this transport is in
-      if (t.getUnitCollection().contains(this)) {
-        return getTransporting(t.getUnitCollection());
-      }
+    final UnitLocationIndex unitLocationIndex = getData().getUnitLocationIndex();
+    if (unitLocationIndex.getCargo(this).isEmpty()) {
+      return Collections.emptyList();
+    }
+    final @Nullable UnitHolder holder = unitLocationIndex.getHolder(this);
+    if (!(holder instanceof Territory)) {
+      return Collections.emptyList();
     }
-    return Collections.emptyList();
+    // filter the territory rather than the cargo to keep the order of the units in the territory
+    return getTransporting(holder.getUnitCollection());
   }
 
   public List<Unit> getTransporting(final Collection<Unit> transportedUnitsPossible) {
@@ -13,6 +13,7 @@ import games.strategy.triplea.ai.pro.util.ProBattleUtils;
 import games.strategy.triplea.ai.pro.util.ProPurchaseUtils;
 import games.strategy.triplea.odds.calculator.AggregateResults;
 import games.strategy.triplea.odds.calculator.IOddsCalculator;
+import games.strategy.triplea.odds.calculator.StoppingCriterion;
 
 class FastOddsEstimator implements IOddsCalculator {
 
@@ -93,6 +94,9 @@ class FastOddsEstimator implements IOddsCalculator {
   @Override
   public void setDefenderOrderOfLosses(final String defenderOrderOfLosses) {}
 
+  @Override
+  public void setStoppingCriterion(final StoppingCriterion stoppingCriterion) {}
+
   @Override
   public void cancel() {}
 
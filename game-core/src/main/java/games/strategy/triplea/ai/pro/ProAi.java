@@ -47,6 +47,8 @@ import games.strategy.triplea.delegate.remote.IAbstractPlaceDelegate;
 import games.strategy.triplea.delegate.remote.IMoveDelegate;
 import games.strategy.triplea.delegate.remote.IPurchaseDelegate;
 import games.strategy.triplea.delegate.remote.ITechDelegate;
+import games.strategy.triplea.odds.calculator.CachingOddsCalculator;
+import games.strategy.triplea.odds.calculator.CompiledBattleOddsCalculator;
 import games.strategy.triplea.odds.calculator.ConcurrentOddsCalculator;
 import games.strategy.triplea.odds.calculator.IOddsCalculator;
 import games.strategy.triplea.ui.TripleAFrame;
@@ -57,7 +59,8 @@ import games.strategy.triplea.ui.TripleAFrame;
 public class ProAi extends AbstractAi {
 
   // Odds calculator
-  private static final IOddsCalculator concurrentCalc = new ConcurrentOddsCalculator("ProAi");
+  private static final IOddsCalculator concurrentCalc =
+      new CachingOddsCalculator(new CompiledBattleOddsCalculator(new ConcurrentOddsCalculator("ProAi")));
   protected ProOddsCalculator calc;
 
   // Phases
@@ -186,13 +189,13 @@ public class ProAi extends AbstractAi {
       // Setup data copy and delegates
       final GameData dataCopy;
       try {
-        data.acquireWriteLock();
+        data.acquireReadLock();
         dataCopy = GameDataUtils.cloneGameDataWithoutHistory(data, true);
       } catch (final Throwable t) {
         ProLogger.log(Level.WARNING, "Error trying to clone game data for simulating phases", t);
         return;
       } finally {
-        data.releaseWriteLock();
+        data.releaseReadLock();
       }
       calc.setData(dataCopy);
       final PlayerId playerCopy = dataCopy.getPlayerList().getPlayerId(player.getName());
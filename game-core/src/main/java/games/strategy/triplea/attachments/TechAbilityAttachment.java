@@ -118,6 +118,31 @@ public class TechAbilityAttachment extends DefaultAttachment {
     putter.accept(getUnitType(s[1]), getInt(s[0]));
   }
 
+  /**
+   * The bonuses a tech ability grants per unit type that are looked up during battles and moves. The sum of each over
+   * the techs of a player is kept in the {@link TechBonusTable} of the game.
+   */
+  enum UnitBonus {
+    ATTACK(TechAbilityAttachment::getAttackBonus),
+    DEFENSE(TechAbilityAttachment::getDefenseBonus),
+    MOVEMENT(TechAbilityAttachment::getMovementBonus),
+    RADAR(TechAbilityAttachment::getRadarBonus),
+    AIR_ATTACK(TechAbilityAttachment::getAirAttackBonus),
+    AIR_DEFENSE(TechAbilityAttachment::getAirDefenseBonus),
+    ATTACK_ROLLS(TechAbilityAttachment::getAttackRollsBonus),
+    DEFENSE_ROLLS(TechAbilityAttachment::getDefenseRollsBonus);
+
+    private final Function<TechAbilityAttachment, IntegerMap<UnitType>> mapper;
+
+    UnitBonus(final Function<TechAbilityAttachment, IntegerMap<UnitType>> mapper) {
+      this.mapper = mapper;
+    }
+
+    IntegerMap<UnitType> getBonuses(final TechAbilityAttachment attachment) {
+      return mapper.apply(attachment);
+    }
+  }
+
   @VisibleForTesting
   static int sumIntegerMap(final Function<TechAbilityAttachment, IntegerMap<UnitType>> mapper,
       final UnitType ut,
@@ -175,7 +200,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getAttackBonus(final UnitType ut, final PlayerId player, final GameData data) {
-    return sumIntegerMap(TechAbilityAttachment::getAttackBonus, ut, player, data);
+    return data.getTechBonusTable().getBonus(UnitBonus.ATTACK, ut, player);
   }
 
   private void resetAttackBonus() {
@@ -195,7 +220,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getDefenseBonus(final UnitType ut, final PlayerId player, final GameData data) {
-    return sumIntegerMap(TechAbilityAttachment::getDefenseBonus, ut, player, data);
+    return data.getTechBonusTable().getBonus(UnitBonus.DEFENSE, ut, player);
   }
 
   private void resetDefenseBonus() {
@@ -215,7 +240,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getMovementBonus(final UnitType ut, final PlayerId player, final GameData data) {
-    return sumIntegerMap(TechAbilityAttachment::getMovementBonus, ut, player, data);
+    return data.getTechBonusTable().getBonus(UnitBonus.MOVEMENT, ut, player);
   }
 
   private void resetMovementBonus() {
@@ -235,7 +260,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getRadarBonus(final UnitType ut, final PlayerId player, final GameData data) {
-    return sumIntegerMap(TechAbilityAttachment::getRadarBonus, ut, player, data);
+    return data.getTechBonusTable().getBonus(UnitBonus.RADAR, ut, player);
   }
 
   private void resetRadarBonus() {
@@ -255,7 +280,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getAirAttackBonus(final UnitType ut, final PlayerId player, final GameData data) {
-    return sumIntegerMap(TechAbilityAttachment::getAirAttackBonus, ut, player, data);
+    return data.getTechBonusTable().getBonus(UnitBonus.AIR_ATTACK, ut, player);
   }
 
   private void resetAirAttackBonus() {
@@ -275,7 +300,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getAirDefenseBonus(final UnitType ut, final PlayerId player, final GameData data) {
-    return sumIntegerMap(TechAbilityAttachment::getAirDefenseBonus, ut, player, data);
+    return data.getTechBonusTable().getBonus(UnitBonus.AIR_DEFENSE, ut, player);
   }
 
   private void resetAirDefenseBonus() {
@@ -704,7 +729,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getAttackRollsBonus(final UnitType ut, final PlayerId player, final GameData data) {
-    return sumIntegerMap(TechAbilityAttachment::getAttackRollsBonus, ut, player, data);
+    return data.getTechBonusTable().getBonus(UnitBonus.ATTACK_ROLLS, ut, player);
   }
 
   private void resetAttackRollsBonus() {
@@ -724,7 +749,7 @@ public class TechAbilityAttachment extends DefaultAttachment {
   }
 
   static int getDefenseRollsBonus(final UnitType ut, final PlayerId player, final GameData data) {
-    return sumIntegerMap(TechAbilityAttachment::getDefenseRollsBonus, ut, player, data);
+    return data.getTechBonusTable().getBonus(UnitBonus.DEFENSE_ROLLS, ut, player);
   }
 
   private void setBombingBonus(final String value) throws GameParseException {
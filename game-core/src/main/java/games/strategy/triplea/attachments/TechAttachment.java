@@ -193,6 +193,7 @@ public class TechAttachment extends DefaultAttachment {
 
   public void setParatroopers(final String s) {
     paratroopers = getBool(s);
+    techsChanged();
   }
 
   private void setParatroopers(final Boolean s) {
@@ -229,6 +230,7 @@ public class TechAttachment extends DefaultAttachment {
 
   public void setMechanizedInfantry(final String s) {
     mechanizedInfantry = getBool(s);
+    techsChanged();
   }
 
   private void setMechanizedInfantry(final Boolean s) {
@@ -241,6 +243,7 @@ public class TechAttachment extends DefaultAttachment {
 
   public void setAaRadar(final String s) {
     aaRadar = getBool(s);
+    techsChanged();
   }
 
   private void setAaRadar(final Boolean s) {
@@ -342,6 +345,14 @@ public class TechAttachment extends DefaultAttachment {
 
   public void setGenericTech(final String name, final boolean value) {
     genericTech.put(name, value);
+    techsChanged();
+  }
+
+  private void techsChanged() {
+    // the public setters are also called directly, not only through a change to the game data
+    if (getData() != null) {
+      getData().resetTechBonusTable();
+    }
   }
 
   public Map<String, Boolean> getGenericTech() {
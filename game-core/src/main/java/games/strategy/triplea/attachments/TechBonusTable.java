@@ -0,0 +1,60 @@
+package games.strategy.triplea.attachments;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.triplea.java.collections.IntegerMap;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerId;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.attachments.TechAbilityAttachment.UnitBonus;
+import games.strategy.triplea.delegate.TechAdvance;
+import games.strategy.triplea.delegate.TechTracker;
+
+/**
+ * The unit bonuses each player gets from the techs they have, summed over those techs.
+ *
+ * <p>
+ * Finding the techs of a player means checking every tech in the game, which is too slow to do each time a unit's
+ * attack or movement is looked up. The bonuses of a player are therefore summed the first time they are needed and
+ * kept until the game data discards this table, which it does whenever an attachment or the techs of the game change
+ * (see {@link GameData#getTechBonusTable()}).
+ * </p>
+ */
+@ThreadSafe
+public final class TechBonusTable {
+  private final GameData data;
+  private final ConcurrentMap<PlayerId, Map<UnitBonus, IntegerMap<UnitType>>> bonusesByPlayer =
+      new ConcurrentHashMap<>();
+
+  public TechBonusTable(final GameData data) {
+    checkNotNull(data);
+
+    this.data = data;
+  }
+
+  int getBonus(final UnitBonus bonus, final UnitType unitType, final PlayerId player) {
+    return bonusesByPlayer.computeIfAbsent(player, this::sumBonuses).get(bonus).getInt(unitType);
+  }
+
+  private Map<UnitBonus, IntegerMap<UnitType>> sumBonuses(final PlayerId player) {
+    final Map<UnitBonus, IntegerMap<UnitType>> bonuses = new EnumMap<>(UnitBonus.class);
+    for (final UnitBonus bonus : UnitBonus.values()) {
+      bonuses.put(bonus, new IntegerMap<>());
+    }
+    for (final TechAdvance advance : TechTracker.getCurrentTechAdvances(player, data)) {
+      final TechAbilityAttachment attachment = TechAbilityAttachment.get(advance);
+      if (attachment != null) {
+        bonuses.forEach((bonus, sum) -> sum.add(bonus.getBonuses(attachment)));
+      }
+    }
+    return bonuses;
+  }
+}
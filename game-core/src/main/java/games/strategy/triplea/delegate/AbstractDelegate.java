@@ -38,7 +38,7 @@ public abstract class AbstractDelegate implements IDelegate {
    */
   @Override
   public void start() {
-    BattleCalculator.clearOolCache();
+    getData().getOrderOfLossesCache().clear();
   }
 
   /**
@@ -10,7 +10,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import org.triplea.java.collections.CollectionUtils;
@@ -46,14 +45,8 @@ import lombok.extern.java.Log;
  */
 @Log
 public class BattleCalculator {
-  private static final Map<String, List<UnitType>> oolCache = new ConcurrentHashMap<>();
-
   private BattleCalculator() {}
 
-  public static void clearOolCache() {
-    oolCache.clear();
-  }
-
   // There is a problem with this variable, that it isn't being cleared out when we switch maps.
   // private static IntegerMap<UnitType> costsForTuvForAllPlayersMergedAndAveraged;
   // we want to sort in a determined way so that those looking at the dice results can tell what dice is for who
@@ -660,21 +653,10 @@ public class BattleCalculator {
         amphibTypes.add(u.getType());
       }
     }
-    // Calculate hashes and cache key
-    int targetsHashCode = 1;
-    for (final UnitType ut : targetTypes) {
-      targetsHashCode += ut.hashCode();
-    }
-    targetsHashCode *= 31;
-    int amphibHashCode = 1;
-    for (final UnitType ut : amphibTypes) {
-      amphibHashCode += ut.hashCode();
-    }
-    amphibHashCode *= 31;
-    String key = player.getName() + "|" + battlesite.getName() + "|" + defending + "|" + amphibious + "|"
-        + targetsHashCode + "|" + amphibHashCode;
     // Check OOL cache
-    final List<UnitType> stored = oolCache.get(key);
+    final OrderOfLossesCache oolCache = data.getOrderOfLossesCache();
+    final List<UnitType> stored = oolCache.get(
+        new OrderOfLossesCache.Key(player, battlesite, defending, amphibious, targetTypes, amphibTypes));
     if (stored != null) {
       final List<Unit> result = new ArrayList<>();
       final List<Unit> selectFrom = new ArrayList<>(targetsToPickFrom);
@@ -828,24 +810,14 @@ public class BattleCalculator {
       unitTypes.add(u.getType());
     }
     for (final Iterator<UnitType> it = unitTypes.iterator(); it.hasNext();) {
-      oolCache.put(key, new ArrayList<>(unitTypes));
+      oolCache.put(
+          new OrderOfLossesCache.Key(player, battlesite, defending, amphibious, targetTypes, amphibTypes),
+          unitTypes);
       final UnitType unitTypeToRemove = it.next();
       targetTypes.remove(unitTypeToRemove);
       if (Collections.frequency(targetTypes, unitTypeToRemove) < Collections.frequency(amphibTypes, unitTypeToRemove)) {
         amphibTypes.remove(unitTypeToRemove);
       }
-      targetsHashCode = 1;
-      for (final UnitType ut : targetTypes) {
-        targetsHashCode += ut.hashCode();
-      }
-      targetsHashCode *= 31;
-      amphibHashCode = 1;
-      for (final UnitType ut : amphibTypes) {
-        amphibHashCode += ut.hashCode();
-      }
-      amphibHashCode *= 31;
-      key = player.getName() + "|" + battlesite.getName() + "|" + defending + "|" + amphibious + "|" + targetsHashCode
-          + "|" + amphibHashCode;
       it.remove();
     }
     return sortedWellEnoughUnitsList;
@@ -46,6 +46,17 @@ public class BattleResults extends GameDataComponent {
     whoWon = scriptedWhoWon;
   }
 
+  /**
+   * Use this for battles that were resolved without an {@link IBattle}, e.g. by a battle simulator.
+   */
+  public BattleResults(final int battleRoundsFought, final List<Unit> remainingAttackingUnits,
+      final List<Unit> remainingDefendingUnits, final WhoWon whoWon, final GameData data) {
+    super(data);
+    this.battleRoundsFought = battleRoundsFought;
+    this.remainingAttackingUnits = remainingAttackingUnits;
+    this.remainingDefendingUnits = remainingDefendingUnits;
+    this.whoWon = whoWon;
+  }
 
   public List<Unit> getRemainingAttackingUnits() {
     return remainingAttackingUnits;
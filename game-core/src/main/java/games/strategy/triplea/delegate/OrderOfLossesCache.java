@@ -0,0 +1,134 @@
+package games.strategy.triplea.delegate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMultiset;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerId;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.UnitType;
+import lombok.EqualsAndHashCode;
+
+/**
+ * The orders in which units of each type should be taken as casualties, as found by {@link BattleCalculator} when the
+ * units support one another, kept in a bounded, least recently used cache.
+ *
+ * <p>
+ * Each game data owns its own cache (see {@link GameData#getOrderOfLossesCache()}), so the game data copies used by
+ * concurrent odds calculators never share or evict each other's entries. The cache is cleared whenever a delegate
+ * starts, since the support units give each other may change from one step to the next.
+ * </p>
+ */
+@ThreadSafe
+public final class OrderOfLossesCache {
+  private static final int DEFAULT_MAX_SIZE = 5000;
+
+  private final int maxSize;
+  @GuardedBy("this")
+  private final Map<Key, List<UnitType>> cache;
+  @GuardedBy("this")
+  private long hitCount = 0;
+  @GuardedBy("this")
+  private long missCount = 0;
+  @GuardedBy("this")
+  private long evictionCount = 0;
+
+  public OrderOfLossesCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  @VisibleForTesting
+  OrderOfLossesCache(final int maxSize) {
+    this.maxSize = maxSize;
+    cache = new LinkedHashMap<Key, List<UnitType>>(16, 0.75f, true) {
+      private static final long serialVersionUID = -3412076549163280754L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Key, List<UnitType>> eldest) {
+        if (size() > maxSize) {
+          evictionCount++;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns the order in which the unit types of the specified key should be taken as casualties, or {@code null} if
+   * it is not cached.
+   */
+  synchronized @Nullable List<UnitType> get(final Key key) {
+    final @Nullable List<UnitType> orderOfLosses = cache.get(key);
+    if (orderOfLosses == null) {
+      missCount++;
+    } else {
+      hitCount++;
+    }
+    return orderOfLosses;
+  }
+
+  synchronized void put(final Key key, final List<UnitType> orderOfLosses) {
+    cache.put(key, Collections.unmodifiableList(new ArrayList<>(orderOfLosses)));
+  }
+
+  public synchronized void clear() {
+    cache.clear();
+  }
+
+  public synchronized int size() {
+    return cache.size();
+  }
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * Everything about a casualty selection that the order of losses depends on. The unit types are compared as
+   * multisets, so the order in which the units are given does not matter, but how many there are of each type does.
+   */
+  @EqualsAndHashCode
+  static final class Key {
+    private final PlayerId player;
+    private final Territory battlesite;
+    private final boolean defending;
+    private final boolean amphibious;
+    private final ImmutableMultiset<UnitType> targetTypes;
+    private final ImmutableMultiset<UnitType> amphibiousTypes;
+
+    Key(
+        final PlayerId player,
+        final Territory battlesite,
+        final boolean defending,
+        final boolean amphibious,
+        final Collection<UnitType> targetTypes,
+        final Collection<UnitType> amphibiousTypes) {
+      this.player = player;
+      this.battlesite = battlesite;
+      this.defending = defending;
+      this.amphibious = amphibious;
+      this.targetTypes = ImmutableMultiset.copyOf(targetTypes);
+      this.amphibiousTypes = ImmutableMultiset.copyOf(amphibiousTypes);
+    }
+  }
+}
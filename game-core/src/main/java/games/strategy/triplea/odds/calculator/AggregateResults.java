@@ -2,11 +2,14 @@ package games.strategy.triplea.odds.calculator;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.triplea.java.collections.IntegerMap;
+import org.triplea.java.collections.ObjectIntMap;
 import org.triplea.util.Tuple;
 
 import games.strategy.engine.data.GameData;
@@ -20,34 +23,150 @@ import lombok.Setter;
 
 /**
  * A container for the results of multiple battle simulation runs.
+ *
+ * <p>
+ * Results are accumulated as they are added rather than retained, so memory use does not depend on the number of
+ * runs: only win/draw/loss counts, sums of remaining units (in total and per unit type) and a bounded random sample of
+ * individual results, used to pick the result closest to average, are kept.
+ * </p>
  */
 public class AggregateResults {
-  private final List<BattleResults> results;
+  private static final int SAMPLE_SIZE = 64;
+
+  private final List<BattleResults> sample = new ArrayList<>();
+  // updated for every unit left after every battle, so avoid boxing the counts
+  private final ObjectIntMap<UnitType> attackingUnitTypesLeft = new ObjectIntMap<>();
+  private final ObjectIntMap<UnitType> defendingUnitTypesLeft = new ObjectIntMap<>();
+  private final IntegerMap<UnitType> attackerCostsForTuv;
+  private final IntegerMap<UnitType> defenderCostsForTuv;
+  private int rollCount;
+  private int attackerWins;
+  private int defenderWins;
+  private int draws;
+  private long battleRoundsFought;
+  private long attackingUnitsLeft;
+  private long defendingUnitsLeft;
+  private long attackingUnitsLeftWhenAttackerWon;
+  private long defendingUnitsLeftWhenDefenderWon;
+  // the TUV swing of a run differs from the TUV left over by the attacker minus the defender only by a constant
+  private double tuvLeftDifference;
+  private double tuvLeftDifferenceSquared;
   @Getter
   @Setter
   private long time;
 
-  public AggregateResults(final int expectedCount) {
-    results = new ArrayList<>(expectedCount);
+  public AggregateResults() {
+    this(new IntegerMap<>(), new IntegerMap<>());
+  }
+
+  /**
+   * Creates results that also track the variance of the TUV swing using the specified unit costs.
+   */
+  AggregateResults(final IntegerMap<UnitType> attackerCostsForTuv, final IntegerMap<UnitType> defenderCostsForTuv) {
+    this.attackerCostsForTuv = attackerCostsForTuv;
+    this.defenderCostsForTuv = defenderCostsForTuv;
   }
 
+  /**
+   * Adds the result of a single battle simulation run.
+   */
   public void addResult(final BattleResults result) {
-    results.add(result);
+    final List<Unit> remainingAttackingUnits = result.getRemainingAttackingUnits();
+    final List<Unit> remainingDefendingUnits = result.getRemainingDefendingUnits();
+    rollCount++;
+    if (result.attackerWon()) {
+      attackerWins++;
+      attackingUnitsLeftWhenAttackerWon += remainingAttackingUnits.size();
+    } else if (result.defenderWon()) {
+      defenderWins++;
+      defendingUnitsLeftWhenDefenderWon += remainingDefendingUnits.size();
+    } else if (result.draw()) {
+      draws++;
+    }
+    battleRoundsFought += result.getBattleRoundsFought();
+    attackingUnitsLeft += remainingAttackingUnits.size();
+    defendingUnitsLeft += remainingDefendingUnits.size();
+    int tuvLeft = 0;
+    for (final Unit unit : remainingAttackingUnits) {
+      attackingUnitTypesLeft.add(unit.getType(), 1);
+      tuvLeft += attackerCostsForTuv.getInt(unit.getType());
+    }
+    for (final Unit unit : remainingDefendingUnits) {
+      defendingUnitTypesLeft.add(unit.getType(), 1);
+      tuvLeft -= defenderCostsForTuv.getInt(unit.getType());
+    }
+    tuvLeftDifference += tuvLeft;
+    tuvLeftDifferenceSquared += ((double) tuvLeft) * tuvLeft;
+    addToSample(result);
   }
 
-  public void addResults(final Collection<BattleResults> results) {
-    this.results.addAll(results);
+  /**
+   * Reservoir sampling: every result added so far has the same chance of being in the sample.
+   */
+  private void addToSample(final BattleResults result) {
+    if (sample.size() < SAMPLE_SIZE) {
+      sample.add(result);
+    } else {
+      final int index = ThreadLocalRandom.current().nextInt(rollCount);
+      if (index < SAMPLE_SIZE) {
+        sample.set(index, result);
+      }
+    }
   }
 
-  public List<BattleResults> getResults() {
-    return results;
+  /**
+   * Merges the results accumulated by another instance, e.g. by another worker, into this one.
+   */
+  public void addResults(final AggregateResults other) {
+    mergeSample(other);
+    rollCount += other.rollCount;
+    attackerWins += other.attackerWins;
+    defenderWins += other.defenderWins;
+    draws += other.draws;
+    battleRoundsFought += other.battleRoundsFought;
+    attackingUnitsLeft += other.attackingUnitsLeft;
+    defendingUnitsLeft += other.defendingUnitsLeft;
+    attackingUnitsLeftWhenAttackerWon += other.attackingUnitsLeftWhenAttackerWon;
+    defendingUnitsLeftWhenDefenderWon += other.defendingUnitsLeftWhenDefenderWon;
+    tuvLeftDifference += other.tuvLeftDifference;
+    tuvLeftDifferenceSquared += other.tuvLeftDifferenceSquared;
+    attackingUnitTypesLeft.add(other.attackingUnitTypesLeft);
+    defendingUnitTypesLeft.add(other.defendingUnitTypesLeft);
+  }
+
+  /**
+   * Draws the merged sample from both samples, weighting each sampled result by the number of runs it represents.
+   */
+  private void mergeSample(final AggregateResults other) {
+    if (other.sample.isEmpty()) {
+      return;
+    }
+    final List<BattleResults> ours = new ArrayList<>(sample);
+    final List<BattleResults> theirs = new ArrayList<>(other.sample);
+    Collections.shuffle(ours, ThreadLocalRandom.current());
+    Collections.shuffle(theirs, ThreadLocalRandom.current());
+    final double ourWeightPerResult = ours.isEmpty() ? 0 : ((double) rollCount) / ours.size();
+    final double theirWeightPerResult = ((double) other.rollCount) / theirs.size();
+    sample.clear();
+    while (sample.size() < SAMPLE_SIZE && !(ours.isEmpty() && theirs.isEmpty())) {
+      final double ourWeight = ours.size() * ourWeightPerResult;
+      final double theirWeight = theirs.size() * theirWeightPerResult;
+      if (theirs.isEmpty() || (!ours.isEmpty()
+          && ThreadLocalRandom.current().nextDouble(ourWeight + theirWeight) < ourWeight)) {
+        sample.add(ours.remove(ours.size() - 1));
+      } else {
+        sample.add(theirs.remove(theirs.size() - 1));
+      }
+    }
   }
 
   private Optional<BattleResults> getBattleResultsClosestToAverage() {
-    return results.stream()
+    final double averageAttackingUnitsLeft = getAverageAttackingUnitsLeft();
+    final double averageDefendingUnitsLeft = getAverageDefendingUnitsLeft();
+    return sample.stream()
         .min(Comparator.comparingDouble(
-            result -> Math.abs(result.getRemainingAttackingUnits().size() - getAverageAttackingUnitsLeft())
-                + Math.abs(result.getRemainingDefendingUnits().size() - getAverageDefendingUnitsLeft())));
+            result -> Math.abs(result.getRemainingAttackingUnits().size() - averageAttackingUnitsLeft)
+                + Math.abs(result.getRemainingDefendingUnits().size() - averageDefendingUnitsLeft)));
   }
 
   public List<Unit> getAverageAttackingUnitsRemaining() {
@@ -63,13 +182,10 @@ public class AggregateResults {
   }
 
   double getAverageAttackingUnitsLeft() {
-    if (results.isEmpty()) {
+    if (rollCount == 0) {
       return 0.0;
     }
-    return results.stream()
-        .map(BattleResults::getRemainingAttackingUnits)
-        .mapToDouble(Collection::size)
-        .sum() / results.size();
+    return ((double) attackingUnitsLeft) / rollCount;
   }
 
   /**
@@ -77,16 +193,20 @@ public class AggregateResults {
    */
   public Tuple<Double, Double> getAverageTuvOfUnitsLeftOver(final IntegerMap<UnitType> attackerCostsForTuv,
       final IntegerMap<UnitType> defenderCostsForTuv) {
-    if (results.isEmpty()) {
+    if (rollCount == 0) {
       return Tuple.of(0.0, 0.0);
     }
-    double attackerTuv = 0;
-    double defenderTuv = 0;
-    for (final BattleResults result : results) {
-      attackerTuv += TuvUtils.getTuv(result.getRemainingAttackingUnits(), attackerCostsForTuv);
-      defenderTuv += TuvUtils.getTuv(result.getRemainingDefendingUnits(), defenderCostsForTuv);
+    final double attackerTuv = getTotalTuv(attackingUnitTypesLeft, attackerCostsForTuv);
+    final double defenderTuv = getTotalTuv(defendingUnitTypesLeft, defenderCostsForTuv);
+    return Tuple.of(attackerTuv / rollCount, defenderTuv / rollCount);
+  }
+
+  private static double getTotalTuv(final ObjectIntMap<UnitType> unitTypes, final IntegerMap<UnitType> costsForTuv) {
+    double tuv = 0;
+    for (final UnitType unitType : unitTypes.keySet()) {
+      tuv += ((double) unitTypes.getInt(unitType)) * costsForTuv.getInt(unitType);
     }
-    return Tuple.of(attackerTuv / results.size(), defenderTuv / results.size());
+    return tuv;
   }
 
   /**
@@ -99,7 +219,7 @@ public class AggregateResults {
    */
   public double getAverageTuvSwing(final PlayerId attacker, final Collection<Unit> attackers, final PlayerId defender,
       final Collection<Unit> defenders, final GameData data) {
-    if (results.isEmpty()) {
+    if (rollCount == 0) {
       return 0.0;
     }
     final IntegerMap<UnitType> attackerCostsForTuv = TuvUtils.getCostsForTuv(attacker, data);
@@ -113,97 +233,79 @@ public class AggregateResults {
     return defenderLost - attackerLost;
   }
 
-  double getAverageAttackingUnitsLeftWhenAttackerWon() {
-    if (results.isEmpty()) {
+  /**
+   * Returns the sample variance of the TUV swing of a single run, or 0 if these results were not created with unit
+   * costs.
+   */
+  double getTuvSwingVariance() {
+    if (rollCount < 2) {
       return 0.0;
     }
-    double count = 0;
-    double total = 0;
-    for (final BattleResults result : results) {
-      if (result.attackerWon()) {
-        count += result.getRemainingAttackingUnits().size();
-        total += 1;
-      }
-    }
-    if (total <= 0) {
-      return 0;
+    final double mean = tuvLeftDifference / rollCount;
+    return Math.max(0.0, (tuvLeftDifferenceSquared - mean * tuvLeftDifference) / (rollCount - 1));
+  }
+
+  double getAverageAttackingUnitsLeftWhenAttackerWon() {
+    if (attackerWins == 0) {
+      return 0.0;
     }
-    return count / total;
+    return ((double) attackingUnitsLeftWhenAttackerWon) / attackerWins;
   }
 
   double getAverageDefendingUnitsLeft() {
-    if (results.isEmpty()) {
+    if (rollCount == 0) {
       return 0.0;
     }
-    return results.stream()
-        .map(BattleResults::getRemainingDefendingUnits)
-        .mapToDouble(Collection::size)
-        .sum() / results.size();
+    return ((double) defendingUnitsLeft) / rollCount;
   }
 
   double getAverageDefendingUnitsLeftWhenDefenderWon() {
-    if (results.isEmpty()) {
+    if (defenderWins == 0) {
       return 0.0;
     }
-    double count = 0;
-    double total = 0;
-    for (final BattleResults result : results) {
-      if (result.defenderWon()) {
-        count += result.getRemainingDefendingUnits().size();
-        total += 1;
-      }
-    }
-    if (total <= 0) {
-      return 0;
-    }
-    return count / total;
+    return ((double) defendingUnitsLeftWhenDefenderWon) / defenderWins;
   }
 
   public double getAttackerWinPercent() {
-    if (results.isEmpty()) {
+    if (rollCount == 0) {
       return 0.0;
     }
-    return results.stream()
-        .filter(BattleResults::attackerWon)
-        .count() / (double) results.size();
+    return attackerWins / (double) rollCount;
   }
 
   double getDefenderWinPercent() {
-    if (results.isEmpty()) {
+    if (rollCount == 0) {
       return 0.0;
     }
-    return results.stream()
-        .filter(BattleResults::defenderWon)
-        .count() / (double) results.size();
+    return defenderWins / (double) rollCount;
   }
 
   /**
    * Returns the average number of rounds fought across all simulations of the battle.
    */
   public double getAverageBattleRoundsFought() {
-    if (results.isEmpty()) {
+    if (rollCount == 0) {
       return 0.0;
     }
-    final long count = results.stream()
-        .mapToInt(BattleResults::getBattleRoundsFought)
-        .sum();
-    if (count == 0) {
+    if (battleRoundsFought == 0) {
       // If this is a 'fake' aggregate result, return 1.0
       return 1.0;
     }
-    return count / (double) results.size();
+    return battleRoundsFought / (double) rollCount;
   }
 
   double getDrawPercent() {
-    if (results.isEmpty()) {
+    if (rollCount == 0) {
       return 0.0;
     }
-    return results.stream()
-        .filter(BattleResults::draw)
-        .count() / (double) results.size();
+    return draws / (double) rollCount;
   }
 
+  /**
+   * Returns the number of runs actually fought, which is less than the requested run count if the calculation was
+   * cancelled or stopped early by a {@link StoppingCriterion}.
+   */
   public int getRollCount() {
-    return results.size();
+    return rollCount;
   }
 }
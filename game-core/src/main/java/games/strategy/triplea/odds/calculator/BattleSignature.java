@@ -0,0 +1,84 @@
+package games.strategy.triplea.odds.calculator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import games.strategy.engine.data.Named;
+import games.strategy.engine.data.PlayerId;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.TripleAUnit;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Everything about a battle that the result of a calculation depends on, other than the rules, attachments,
+ * technologies and relationships of the game. Two battles with the same signature are fought between units of the
+ * same types, owners and damage, regardless of which unit instances or game data copy they come from.
+ */
+@Builder
+@EqualsAndHashCode
+final class BattleSignature {
+  private final String attacker;
+  private final String defender;
+  private final String territory;
+  private final String territoryOwner;
+  private final List<String> attackingUnits;
+  private final List<String> defendingUnits;
+  private final List<String> bombardingUnits;
+  private final List<String> territoryEffects;
+  private final boolean keepOneAttackingLandUnit;
+  private final boolean amphibious;
+  private final int retreatAfterRound;
+  private final int retreatAfterXUnitsLeft;
+  private final boolean retreatWhenOnlyAirLeft;
+  private final String attackerOrderOfLosses;
+  private final String defenderOrderOfLosses;
+  private final int runCount;
+  // compared by identity, callers normally reuse a single criterion
+  private final StoppingCriterion stoppingCriterion;
+
+  static String name(final PlayerId player) {
+    return player == null ? null : player.getName();
+  }
+
+  static String name(final Territory territory) {
+    return territory == null ? null : territory.getName();
+  }
+
+  static String ownerName(final Territory territory) {
+    return territory == null ? null : name(territory.getOwner());
+  }
+
+  /**
+   * Returns the specified units sorted by their signature, so that units with equal signatures from two battles with
+   * the same signature are at the same index.
+   */
+  static List<Unit> sortBySignature(final Collection<Unit> units) {
+    if (units == null) {
+      return new ArrayList<>();
+    }
+    final List<Unit> sorted = new ArrayList<>(units);
+    sorted.sort(Comparator.comparing(BattleSignature::signature));
+    return sorted;
+  }
+
+  static List<String> signatures(final List<Unit> sortedUnits) {
+    return sortedUnits.stream().map(BattleSignature::signature).collect(Collectors.toList());
+  }
+
+  static List<String> names(final Collection<? extends Named> named) {
+    return named == null
+        ? Collections.emptyList()
+        : named.stream().map(Named::getName).sorted().collect(Collectors.toList());
+  }
+
+  private static String signature(final Unit unit) {
+    return unit.getType().getName() + '|' + name(unit.getOwner()) + '|' + unit.getHits() + '|'
+        + TripleAUnit.get(unit).getUnitDamage();
+  }
+}
@@ -0,0 +1,426 @@
+package games.strategy.triplea.odds.calculator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.triplea.java.collections.IntegerMap;
+import org.triplea.util.Tuple;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerId;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.data.events.GameDataChangeListener;
+import games.strategy.triplea.delegate.BattleResults;
+
+/**
+ * An odds calculator that remembers the results of the wrapped calculator in a bounded, least recently used cache
+ * keyed by {@link BattleSignature}. Asking for the odds of a battle that was already calculated, even with other
+ * unit instances of the same types, owners and damage, returns the cached results without fighting it again.
+ *
+ * <p>
+ * The cache is cleared when the calculator is given another game data, and whenever the current game data changes in
+ * a way other than moving or damaging units (see {@link ChangeFactory#isUnitOrResourceChange}), since such a change
+ * may alter technologies, relationships or unit attachments that affect combat.
+ * </p>
+ *
+ * <p>
+ * Calculations and setup are serialized on this instance; {@link #cancel()} may be called at any time.
+ * </p>
+ */
+public class CachingOddsCalculator implements IOddsCalculator {
+  private static final int DEFAULT_MAX_SIZE = 1000;
+
+  private final IOddsCalculator calculator;
+  private final int maxSize;
+  private final Map<BattleSignature, CacheEntry> cache;
+  private final GameDataChangeListener invalidatingListener = change -> {
+    if (!ChangeFactory.isUnitOrResourceChange(change)) {
+      invalidate();
+    }
+  };
+  private GameData gameData;
+  // incremented whenever the cache is invalidated, so that results of a calculation in progress are not cached
+  private int generation = 0;
+  private long hitCount = 0;
+  private long missCount = 0;
+  private long evictionCount = 0;
+  private BattleSignature signature = null;
+  private List<Unit> attackingUnits = new ArrayList<>();
+  private List<Unit> defendingUnits = new ArrayList<>();
+  private CacheEntry cachedEntry = null;
+  private int runCount = 0;
+  private boolean keepOneAttackingLandUnit = false;
+  private boolean amphibious = false;
+  private int retreatAfterRound = -1;
+  private int retreatAfterXUnitsLeft = -1;
+  private boolean retreatWhenOnlyAirLeft = false;
+  private String attackerOrderOfLosses = null;
+  private String defenderOrderOfLosses = null;
+  private StoppingCriterion stoppingCriterion = null;
+  private volatile boolean cancelled = false;
+
+  public CachingOddsCalculator(final IOddsCalculator calculator) {
+    this(calculator, DEFAULT_MAX_SIZE);
+  }
+
+  CachingOddsCalculator(final IOddsCalculator calculator, final int maxSize) {
+    this.calculator = calculator;
+    this.maxSize = maxSize;
+    cache = new LinkedHashMap<BattleSignature, CacheEntry>(16, 0.75f, true) {
+      private static final long serialVersionUID = 2427381923479823141L;
+
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<BattleSignature, CacheEntry> eldest) {
+        if (size() > maxSize) {
+          evictionCount++;
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  @Override
+  public synchronized void setGameData(final GameData data) {
+    if (data != gameData) {
+      if (gameData != null) {
+        gameData.removeDataChangeListener(invalidatingListener);
+      }
+      invalidate();
+      gameData = data;
+      if (data != null) {
+        data.addDataChangeListener(invalidatingListener);
+      }
+    }
+    signature = null;
+    cachedEntry = null;
+    calculator.setGameData(data);
+  }
+
+  /**
+   * Removes all cached results.
+   */
+  public void invalidate() {
+    synchronized (cache) {
+      cache.clear();
+      generation++;
+    }
+  }
+
+  @Override
+  public synchronized void setCalculateData(final PlayerId attacker, final PlayerId defender, final Territory location,
+      final Collection<Unit> attacking, final Collection<Unit> defending, final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects, final int runCount) {
+    this.runCount = runCount;
+    cancelled = false;
+    attackingUnits = BattleSignature.sortBySignature(attacking);
+    defendingUnits = BattleSignature.sortBySignature(defending);
+    signature = BattleSignature.builder()
+        .attacker(BattleSignature.name(attacker))
+        .defender(BattleSignature.name(defender))
+        .territory(BattleSignature.name(location))
+        .territoryOwner(BattleSignature.ownerName(location))
+        .attackingUnits(BattleSignature.signatures(attackingUnits))
+        .defendingUnits(BattleSignature.signatures(defendingUnits))
+        .bombardingUnits(BattleSignature.signatures(BattleSignature.sortBySignature(bombarding)))
+        .territoryEffects(BattleSignature.names(territoryEffects))
+        .keepOneAttackingLandUnit(keepOneAttackingLandUnit)
+        .amphibious(amphibious)
+        .retreatAfterRound(retreatAfterRound)
+        .retreatAfterXUnitsLeft(retreatAfterXUnitsLeft)
+        .retreatWhenOnlyAirLeft(retreatWhenOnlyAirLeft)
+        .attackerOrderOfLosses(attackerOrderOfLosses)
+        .defenderOrderOfLosses(defenderOrderOfLosses)
+        .runCount(runCount)
+        .stoppingCriterion(stoppingCriterion)
+        .build();
+    synchronized (cache) {
+      cachedEntry = cache.get(signature);
+      if (cachedEntry == null) {
+        missCount++;
+      } else {
+        hitCount++;
+      }
+    }
+    if (cachedEntry == null) {
+      calculator.setCalculateData(attacker, defender, location, attacking, defending, bombarding, territoryEffects,
+          runCount);
+    }
+  }
+
+  @Override
+  public synchronized AggregateResults calculate() {
+    if (cachedEntry != null) {
+      return cachedEntry.remapUnits(attackingUnits, defendingUnits);
+    }
+    final int startGeneration;
+    synchronized (cache) {
+      startGeneration = generation;
+    }
+    final AggregateResults results = calculator.calculate();
+    // empty results mean the wrapped calculator was not ready or was cancelled, and only estimated
+    if (signature != null && !cancelled && results.getRollCount() > 0) {
+      synchronized (cache) {
+        if (generation == startGeneration) {
+          cachedEntry = new CacheEntry(results, attackingUnits, defendingUnits);
+          cache.put(signature, cachedEntry);
+        }
+      }
+    }
+    return results;
+  }
+
+  @Override
+  public synchronized AggregateResults setCalculateDataAndCalculate(final PlayerId attacker, final PlayerId defender,
+      final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
+      final Collection<Unit> bombarding, final Collection<TerritoryEffect> territoryEffects, final int runCount) {
+    setCalculateData(attacker, defender, location, attacking, defending, bombarding, territoryEffects, runCount);
+    return calculate();
+  }
+
+  public long getHitCount() {
+    synchronized (cache) {
+      return hitCount;
+    }
+  }
+
+  public long getMissCount() {
+    synchronized (cache) {
+      return missCount;
+    }
+  }
+
+  public long getEvictionCount() {
+    synchronized (cache) {
+      return evictionCount;
+    }
+  }
+
+  public int getSize() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  @Override
+  public synchronized int getRunCount() {
+    return cachedEntry == null ? calculator.getRunCount() : runCount;
+  }
+
+  @Override
+  public synchronized boolean getIsReady() {
+    return cachedEntry != null || calculator.getIsReady();
+  }
+
+  @Override
+  public synchronized void setKeepOneAttackingLandUnit(final boolean bool) {
+    keepOneAttackingLandUnit = bool;
+    calculator.setKeepOneAttackingLandUnit(bool);
+  }
+
+  @Override
+  public synchronized void setAmphibious(final boolean bool) {
+    amphibious = bool;
+    calculator.setAmphibious(bool);
+  }
+
+  @Override
+  public synchronized void setRetreatAfterRound(final int value) {
+    retreatAfterRound = value;
+    calculator.setRetreatAfterRound(value);
+  }
+
+  @Override
+  public synchronized void setRetreatAfterXUnitsLeft(final int value) {
+    retreatAfterXUnitsLeft = value;
+    calculator.setRetreatAfterXUnitsLeft(value);
+  }
+
+  @Override
+  public synchronized void setRetreatWhenOnlyAirLeft(final boolean value) {
+    retreatWhenOnlyAirLeft = value;
+    calculator.setRetreatWhenOnlyAirLeft(value);
+  }
+
+  @Override
+  public synchronized void setAttackerOrderOfLosses(final String attackerOrderOfLosses) {
+    this.attackerOrderOfLosses = attackerOrderOfLosses;
+    calculator.setAttackerOrderOfLosses(attackerOrderOfLosses);
+  }
+
+  @Override
+  public synchronized void setDefenderOrderOfLosses(final String defenderOrderOfLosses) {
+    this.defenderOrderOfLosses = defenderOrderOfLosses;
+    calculator.setDefenderOrderOfLosses(defenderOrderOfLosses);
+  }
+
+  @Override
+  public synchronized void setStoppingCriterion(final StoppingCriterion stoppingCriterion) {
+    this.stoppingCriterion = stoppingCriterion;
+    calculator.setStoppingCriterion(stoppingCriterion);
+  }
+
+  @Override
+  public void cancel() {
+    cancelled = true;
+    calculator.cancel();
+  }
+
+  @Override
+  public void shutdown() {
+    cancel();
+    calculator.shutdown();
+  }
+
+  @Override
+  public int getThreadCount() {
+    return calculator.getThreadCount();
+  }
+
+  /**
+   * The results of a calculation together with the units it was asked for, sorted by signature.
+   */
+  private static final class CacheEntry {
+    private final AggregateResults results;
+    private final List<Unit> attackingUnits;
+    private final List<Unit> defendingUnits;
+
+    CacheEntry(final AggregateResults results, final List<Unit> attackingUnits, final List<Unit> defendingUnits) {
+      this.results = results;
+      this.attackingUnits = attackingUnits;
+      this.defendingUnits = defendingUnits;
+    }
+
+    /**
+     * Returns the cached results with the remaining units replaced by the units at the same index of the specified
+     * units, which have the same signatures as the units the results were calculated for.
+     */
+    AggregateResults remapUnits(final List<Unit> attackingUnits, final List<Unit> defendingUnits) {
+      if (attackingUnits.equals(this.attackingUnits) && defendingUnits.equals(this.defendingUnits)) {
+        return results;
+      }
+      final Map<Unit, Unit> units = new HashMap<>();
+      for (int i = 0; i < attackingUnits.size(); i++) {
+        units.put(this.attackingUnits.get(i), attackingUnits.get(i));
+      }
+      for (int i = 0; i < defendingUnits.size(); i++) {
+        units.put(this.defendingUnits.get(i), defendingUnits.get(i));
+      }
+      return new RemappedAggregateResults(results, units);
+    }
+  }
+
+  /**
+   * Cached results whose remaining units are translated to the units of another battle with the same signature.
+   */
+  private static final class RemappedAggregateResults extends AggregateResults {
+    private final AggregateResults results;
+    private final List<Unit> averageAttackingUnitsRemaining;
+    private final List<Unit> averageDefendingUnitsRemaining;
+
+    RemappedAggregateResults(final AggregateResults results, final Map<Unit, Unit> units) {
+      this.results = results;
+      averageAttackingUnitsRemaining = remap(results.getAverageAttackingUnitsRemaining(), units);
+      averageDefendingUnitsRemaining = remap(results.getAverageDefendingUnitsRemaining(), units);
+      setTime(0);
+    }
+
+    private static List<Unit> remap(final List<Unit> remainingUnits, final Map<Unit, Unit> units) {
+      final List<Unit> remapped = new ArrayList<>(remainingUnits.size());
+      for (final Unit unit : remainingUnits) {
+        remapped.add(units.getOrDefault(unit, unit));
+      }
+      return remapped;
+    }
+
+    @Override
+    public void addResult(final BattleResults result) {
+      throw new UnsupportedOperationException("Cached results cannot be changed");
+    }
+
+    @Override
+    public void addResults(final AggregateResults other) {
+      throw new UnsupportedOperationException("Cached results cannot be changed");
+    }
+
+    @Override
+    public List<Unit> getAverageAttackingUnitsRemaining() {
+      return averageAttackingUnitsRemaining;
+    }
+
+    @Override
+    public List<Unit> getAverageDefendingUnitsRemaining() {
+      return averageDefendingUnitsRemaining;
+    }
+
+    @Override
+    double getAverageAttackingUnitsLeft() {
+      return results.getAverageAttackingUnitsLeft();
+    }
+
+    @Override
+    public Tuple<Double, Double> getAverageTuvOfUnitsLeftOver(final IntegerMap<UnitType> attackerCostsForTuv,
+        final IntegerMap<UnitType> defenderCostsForTuv) {
+      return results.getAverageTuvOfUnitsLeftOver(attackerCostsForTuv, defenderCostsForTuv);
+    }
+
+    @Override
+    public double getAverageTuvSwing(final PlayerId attacker, final Collection<Unit> attackers,
+        final PlayerId defender, final Collection<Unit> defenders, final GameData data) {
+      return results.getAverageTuvSwing(attacker, attackers, defender, defenders, data);
+    }
+
+    @Override
+    double getTuvSwingVariance() {
+      return results.getTuvSwingVariance();
+    }
+
+    @Override
+    double getAverageAttackingUnitsLeftWhenAttackerWon() {
+      return results.getAverageAttackingUnitsLeftWhenAttackerWon();
+    }
+
+    @Override
+    double getAverageDefendingUnitsLeft() {
+      return results.getAverageDefendingUnitsLeft();
+    }
+
+    @Override
+    double getAverageDefendingUnitsLeftWhenDefenderWon() {
+      return results.getAverageDefendingUnitsLeftWhenDefenderWon();
+    }
+
+    @Override
+    public double getAttackerWinPercent() {
+      return results.getAttackerWinPercent();
+    }
+
+    @Override
+    double getDefenderWinPercent() {
+      return results.getDefenderWinPercent();
+    }
+
+    @Override
+    public double getAverageBattleRoundsFought() {
+      return results.getAverageBattleRoundsFought();
+    }
+
+    @Override
+    double getDrawPercent() {
+      return results.getDrawPercent();
+    }
+
+    @Override
+    public int getRollCount() {
+      return results.getRollCount();
+    }
+  }
+}
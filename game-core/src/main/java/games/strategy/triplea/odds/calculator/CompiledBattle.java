@@ -0,0 +1,237 @@
+package games.strategy.triplea.odds.calculator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.triplea.util.Tuple;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerId;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.Properties;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.attachments.UnitSupportAttachment;
+import games.strategy.triplea.delegate.BattleResults;
+import games.strategy.triplea.delegate.DiceRoll;
+import games.strategy.triplea.delegate.IBattle.WhoWon;
+import games.strategy.triplea.delegate.UnitBattleComparator;
+import games.strategy.triplea.util.TuvUtils;
+
+/**
+ * A battle compiled into primitive arrays (strength, rolls and hit points of each unit in order of losses) so that it
+ * can be fought many times without allocating or changing any {@link GameData}.
+ *
+ * <p>
+ * Only plain battles can be compiled: both sides fire simultaneously each round, every unit can fire, and casualties
+ * are taken in the default order of losses with extra hit points absorbed first. Battles involving supports, AA,
+ * submarines, destroyers, transports, infrastructure, suicide units, units that change when damaged or low luck are
+ * not compiled, so that callers can fall back to the full battle engine.
+ * </p>
+ */
+final class CompiledBattle {
+  private final GameData data;
+  private final int diceSides;
+  private final int maxRounds;
+  private final Side attack;
+  private final Side defense;
+
+  private CompiledBattle(final GameData data, final int maxRounds, final Side attack, final Side defense) {
+    this.data = data;
+    diceSides = data.getDiceSides();
+    this.maxRounds = maxRounds;
+    this.attack = attack;
+    this.defense = defense;
+  }
+
+  /**
+   * Compiles the specified battle. <strong>You should have the game data's read lock before calling this
+   * method</strong>
+   *
+   * @return The compiled battle or empty if the battle uses a feature that cannot be simulated by a compiled battle.
+   */
+  static Optional<CompiledBattle> compile(final GameData data, final PlayerId attacker, final PlayerId defender,
+      final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
+      final Collection<TerritoryEffect> territoryEffects) {
+    if (attacking.isEmpty() || defending.isEmpty() || !isBattleSupported(data)
+        || !attacking.stream().allMatch(CompiledBattle::isUnitSupported)
+        || !defending.stream().allMatch(CompiledBattle::isUnitSupported)) {
+      return Optional.empty();
+    }
+    final Side attack = Side.compile(data, attacker, location, attacking, defending, territoryEffects, false);
+    final Side defense = Side.compile(data, defender, location, defending, attacking, territoryEffects, true);
+    if (attack == null || defense == null) {
+      return Optional.empty();
+    }
+    final int maxRounds =
+        location.isWater() ? Properties.getSeaBattleRounds(data) : Properties.getLandBattleRounds(data);
+    return Optional.of(new CompiledBattle(data, maxRounds, attack, defense));
+  }
+
+  private static boolean isBattleSupported(final GameData data) {
+    return !Properties.getLowLuck(data);
+  }
+
+  private static boolean isUnitSupported(final Unit unit) {
+    final UnitAttachment ua = UnitAttachment.get(unit.getType());
+    return !ua.getIsSub()
+        && !ua.getIsDestroyer()
+        && !ua.getIsInfrastructure()
+        && !ua.getIsSuicide()
+        && !ua.getIsSuicideOnHit()
+        && !ua.getIsAaForCombatOnly()
+        && !ua.getIsAaForBombingThisUnitOnly()
+        && !ua.getIsAaForFlyOverOnly()
+        && !(ua.getIsSea() && ua.getTransportCapacity() > 0)
+        && ua.getWhenHitPointsDamagedChangesInto().isEmpty()
+        && UnitSupportAttachment.get(unit.getType()).isEmpty();
+  }
+
+  /**
+   * Fights the battle once, starting from the compiled state.
+   */
+  BattleResults fight() {
+    attack.reset();
+    defense.reset();
+    int round = 0;
+    while (true) {
+      round++;
+      final int attackHits = attack.rollHits(diceSides);
+      final int defenseHits = defense.rollHits(diceSides);
+      defense.takeHits(attackHits);
+      attack.takeHits(defenseHits);
+      if (!attack.hasUnitsLeft()) {
+        return newBattleResults(round, WhoWon.DEFENDER);
+      } else if (!defense.hasUnitsLeft()) {
+        return newBattleResults(round, WhoWon.ATTACKER);
+      } else if (maxRounds > 0 && maxRounds <= round) {
+        return newBattleResults(round, WhoWon.DRAW);
+      }
+    }
+  }
+
+  private BattleResults newBattleResults(final int round, final WhoWon whoWon) {
+    return new BattleResults(round, attack.getUnitsLeft(), defense.getUnitsLeft(), whoWon, data);
+  }
+
+  /**
+   * One side of a compiled battle. Units are kept in order of losses, so the units still alive are always a suffix of
+   * that order starting at {@code firstAlive}.
+   */
+  private static final class Side {
+    private final List<Unit> units;
+    private final int[] strength;
+    private final int[] rolls;
+    private final boolean[] chooseBestRoll;
+    private final int[] initialHitPoints;
+    private final int[] hitPoints;
+    private int firstAlive;
+
+    private Side(final List<Unit> units, final int[] strength, final int[] rolls, final boolean[] chooseBestRoll,
+        final int[] initialHitPoints) {
+      this.units = Collections.unmodifiableList(units);
+      this.strength = strength;
+      this.rolls = rolls;
+      this.chooseBestRoll = chooseBestRoll;
+      this.initialHitPoints = initialHitPoints;
+      hitPoints = new int[initialHitPoints.length];
+    }
+
+    /**
+     * Returns the compiled side or null if one of its units cannot fire.
+     */
+    static Side compile(final GameData data, final PlayerId player, final Territory location,
+        final Collection<Unit> units, final Collection<Unit> enemyUnits,
+        final Collection<TerritoryEffect> territoryEffects, final boolean defending) {
+      final List<Unit> sorted = new ArrayList<>(units);
+      sorted.sort(new UnitBattleComparator(defending, TuvUtils.getCostsForTuv(player, data), territoryEffects, data,
+          true, false));
+      final Map<Unit, Tuple<Integer, Integer>> unitPowerAndRolls = DiceRoll.getUnitPowerAndRollsForNormalBattles(
+          sorted, new ArrayList<>(enemyUnits), defending, data, location, territoryEffects, false,
+          Collections.emptyList());
+      final boolean lhtrBombers = Properties.getLhtrHeavyBombers(data);
+      final int size = sorted.size();
+      final int[] strength = new int[size];
+      final int[] rolls = new int[size];
+      final boolean[] chooseBestRoll = new boolean[size];
+      final int[] hitPoints = new int[size];
+      for (int i = 0; i < size; i++) {
+        final Unit unit = sorted.get(i);
+        final UnitAttachment ua = UnitAttachment.get(unit.getType());
+        final Tuple<Integer, Integer> powerAndRolls = unitPowerAndRolls.get(unit);
+        strength[i] = powerAndRolls.getFirst();
+        rolls[i] = powerAndRolls.getSecond();
+        if (strength[i] <= 0 || rolls[i] <= 0) {
+          return null;
+        }
+        chooseBestRoll[i] = rolls[i] > 1 && (lhtrBombers || ua.getChooseBestRoll());
+        hitPoints[i] = Math.max(1, ua.getHitPoints() - unit.getHits());
+      }
+      return new Side(sorted, strength, rolls, chooseBestRoll, hitPoints);
+    }
+
+    void reset() {
+      System.arraycopy(initialHitPoints, 0, hitPoints, 0, hitPoints.length);
+      firstAlive = 0;
+    }
+
+    int rollHits(final int diceSides) {
+      final ThreadLocalRandom random = ThreadLocalRandom.current();
+      int hits = 0;
+      for (int i = firstAlive; i < strength.length; i++) {
+        if (chooseBestRoll[i]) {
+          // best of n dice means a hit if any die hits
+          for (int roll = 0; roll < rolls[i]; roll++) {
+            if (strength[i] > random.nextInt(diceSides)) {
+              hits++;
+              break;
+            }
+          }
+        } else {
+          for (int roll = 0; roll < rolls[i]; roll++) {
+            if (strength[i] > random.nextInt(diceSides)) {
+              hits++;
+            }
+          }
+        }
+      }
+      return hits;
+    }
+
+    /**
+     * Takes the specified number of hits the same way the default casualty selection does: extra hit points are
+     * absorbed first, then units die in order of losses.
+     */
+    void takeHits(final int hits) {
+      int hitsLeft = hits;
+      int totalHitPoints = 0;
+      for (int i = firstAlive; i < hitPoints.length; i++) {
+        totalHitPoints += hitPoints[i];
+      }
+      if (hitsLeft >= totalHitPoints) {
+        firstAlive = hitPoints.length;
+        return;
+      }
+      for (int i = firstAlive; i < hitPoints.length && hitsLeft > 0; i++) {
+        final int extraHitPoints = Math.min(hitsLeft, hitPoints[i] - 1);
+        hitPoints[i] -= extraHitPoints;
+        hitsLeft -= extraHitPoints;
+      }
+      firstAlive += hitsLeft;
+    }
+
+    boolean hasUnitsLeft() {
+      return firstAlive < hitPoints.length;
+    }
+
+    List<Unit> getUnitsLeft() {
+      return units.subList(firstAlive, units.size());
+    }
+  }
+}
@@ -0,0 +1,236 @@
+package games.strategy.triplea.odds.calculator;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.triplea.java.collections.IntegerMap;
+
+import com.google.common.base.Strings;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerId;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.util.TuvUtils;
+
+/**
+ * An odds calculator that fights plain battles with a {@link CompiledBattle} instead of the full battle engine. A
+ * battle is compiled once per call to {@code setCalculateData} and then fought {@code runCount} times without copying
+ * units, creating changes or touching the game data.
+ *
+ * <p>
+ * Battles that cannot be compiled, or that use options the compiled battle does not model (retreats, keeping a land
+ * unit, amphibious assaults, bombardment or a custom order of losses), are passed on to the wrapped calculator.
+ * </p>
+ *
+ * <p>
+ * Calculations and setup are serialized on this instance; {@link #cancel()} may be called at any time.
+ * </p>
+ */
+public class CompiledBattleOddsCalculator implements IOddsCalculator {
+  private final IOddsCalculator fallback;
+  private GameData gameData;
+  private CompiledBattle compiledBattle = null;
+  private PlayerId attacker = null;
+  private PlayerId defender = null;
+  private int runCount = 0;
+  private boolean keepOneAttackingLandUnit = false;
+  private boolean amphibious = false;
+  private int retreatAfterRound = -1;
+  private int retreatAfterXUnitsLeft = -1;
+  private boolean retreatWhenOnlyAirLeft = false;
+  private String attackerOrderOfLosses = null;
+  private String defenderOrderOfLosses = null;
+  private StoppingCriterion stoppingCriterion = null;
+  private volatile boolean cancelled = false;
+
+  public CompiledBattleOddsCalculator(final IOddsCalculator fallback) {
+    this.fallback = fallback;
+  }
+
+  @Override
+  public synchronized void setGameData(final GameData data) {
+    gameData = data;
+    compiledBattle = null;
+    fallback.setGameData(data);
+  }
+
+  @Override
+  public synchronized void setCalculateData(final PlayerId attacker, final PlayerId defender, final Territory location,
+      final Collection<Unit> attacking, final Collection<Unit> defending, final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects, final int runCount) {
+    cancelled = false;
+    compiledBattle = compile(attacker, defender, location, attacking, defending, bombarding, territoryEffects)
+        .orElse(null);
+    this.attacker = attacker;
+    this.defender = defender;
+    this.runCount = runCount;
+    if (compiledBattle == null) {
+      fallback.setCalculateData(attacker, defender, location, attacking, defending, bombarding, territoryEffects,
+          runCount);
+    }
+  }
+
+  private Optional<CompiledBattle> compile(final PlayerId attacker, final PlayerId defender,
+      final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
+      final Collection<Unit> bombarding, final Collection<TerritoryEffect> territoryEffects) {
+    if (gameData == null || attacker == null || defender == null || !isDefaultBattleOptions()
+        || (bombarding != null && !bombarding.isEmpty())) {
+      return Optional.empty();
+    }
+    gameData.acquireReadLock();
+    try {
+      return CompiledBattle.compile(gameData, attacker, defender, location, attacking, defending, territoryEffects);
+    } finally {
+      gameData.releaseReadLock();
+    }
+  }
+
+  private boolean isDefaultBattleOptions() {
+    return !keepOneAttackingLandUnit
+        && !amphibious
+        && retreatAfterRound < 0
+        && retreatAfterXUnitsLeft < 0
+        && !retreatWhenOnlyAirLeft
+        && Strings.isNullOrEmpty(attackerOrderOfLosses)
+        && Strings.isNullOrEmpty(defenderOrderOfLosses);
+  }
+
+  /**
+   * Indicates the current battle will be fought by a compiled battle rather than by the wrapped calculator.
+   */
+  synchronized boolean isCompiled() {
+    return compiledBattle != null;
+  }
+
+  @Override
+  public synchronized AggregateResults calculate() {
+    final CompiledBattle battle = compiledBattle;
+    try {
+      if (battle == null) {
+        return fallback.calculate();
+      }
+      final long start = System.currentTimeMillis();
+      final AggregateResults aggregateResults = new AggregateResults();
+      if (stoppingCriterion == null) {
+        for (int i = 0; i < runCount && !cancelled; i++) {
+          aggregateResults.addResult(battle.fight());
+        }
+      } else {
+        fightUntilStopped(battle, aggregateResults);
+      }
+      aggregateResults.setTime(System.currentTimeMillis() - start);
+      return aggregateResults;
+    } finally {
+      // a cancellation only applies to the calculation in progress
+      cancelled = false;
+    }
+  }
+
+  private void fightUntilStopped(final CompiledBattle battle, final AggregateResults aggregateResults) {
+    final IntegerMap<UnitType> attackerCostsForTuv;
+    final IntegerMap<UnitType> defenderCostsForTuv;
+    gameData.acquireReadLock();
+    try {
+      attackerCostsForTuv = TuvUtils.getCostsForTuv(attacker, gameData);
+      defenderCostsForTuv = TuvUtils.getCostsForTuv(defender, gameData);
+    } finally {
+      gameData.releaseReadLock();
+    }
+    final RunProgress progress = new RunProgress(stoppingCriterion);
+    int runsLeft = runCount;
+    while (runsLeft > 0 && !cancelled && !progress.isDone()) {
+      final AggregateResults batch = new AggregateResults(attackerCostsForTuv, defenderCostsForTuv);
+      for (int i = 0; i < RunProgress.BATCH_SIZE && runsLeft > 0 && !cancelled; i++, runsLeft--) {
+        batch.addResult(battle.fight());
+      }
+      aggregateResults.addResults(batch);
+      progress.addBatch(batch);
+    }
+  }
+
+  @Override
+  public synchronized AggregateResults setCalculateDataAndCalculate(final PlayerId attacker, final PlayerId defender,
+      final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
+      final Collection<Unit> bombarding, final Collection<TerritoryEffect> territoryEffects, final int runCount) {
+    setCalculateData(attacker, defender, location, attacking, defending, bombarding, territoryEffects, runCount);
+    return calculate();
+  }
+
+  @Override
+  public synchronized int getRunCount() {
+    return compiledBattle == null ? fallback.getRunCount() : runCount;
+  }
+
+  @Override
+  public synchronized boolean getIsReady() {
+    return compiledBattle != null || fallback.getIsReady();
+  }
+
+  @Override
+  public synchronized void setKeepOneAttackingLandUnit(final boolean bool) {
+    keepOneAttackingLandUnit = bool;
+    fallback.setKeepOneAttackingLandUnit(bool);
+  }
+
+  @Override
+  public synchronized void setAmphibious(final boolean bool) {
+    amphibious = bool;
+    fallback.setAmphibious(bool);
+  }
+
+  @Override
+  public synchronized void setRetreatAfterRound(final int value) {
+    retreatAfterRound = value;
+    fallback.setRetreatAfterRound(value);
+  }
+
+  @Override
+  public synchronized void setRetreatAfterXUnitsLeft(final int value) {
+    retreatAfterXUnitsLeft = value;
+    fallback.setRetreatAfterXUnitsLeft(value);
+  }
+
+  @Override
+  public synchronized void setRetreatWhenOnlyAirLeft(final boolean value) {
+    retreatWhenOnlyAirLeft = value;
+    fallback.setRetreatWhenOnlyAirLeft(value);
+  }
+
+  @Override
+  public synchronized void setAttackerOrderOfLosses(final String attackerOrderOfLosses) {
+    this.attackerOrderOfLosses = attackerOrderOfLosses;
+    fallback.setAttackerOrderOfLosses(attackerOrderOfLosses);
+  }
+
+  @Override
+  public synchronized void setDefenderOrderOfLosses(final String defenderOrderOfLosses) {
+    this.defenderOrderOfLosses = defenderOrderOfLosses;
+    fallback.setDefenderOrderOfLosses(defenderOrderOfLosses);
+  }
+
+  @Override
+  public synchronized void setStoppingCriterion(final StoppingCriterion stoppingCriterion) {
+    this.stoppingCriterion = stoppingCriterion;
+    fallback.setStoppingCriterion(stoppingCriterion);
+  }
+
+  @Override
+  public void cancel() {
+    cancelled = true;
+    fallback.cancel();
+  }
+
+  @Override
+  public void shutdown() {
+    cancel();
+    fallback.shutdown();
+  }
+
+  @Override
+  public int getThreadCount() {
+    return fallback.getThreadCount();
+  }
+}
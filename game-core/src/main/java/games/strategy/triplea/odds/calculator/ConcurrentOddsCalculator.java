@@ -1,5 +1,6 @@
 package games.strategy.triplea.odds.calculator;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -60,6 +61,7 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   // do not let multiple calculations or setting calc data happen at same time
   private final Object mutexCalcIsRunning = new Object();
   private final Runnable dataLoadedAction;
+  private StoppingCriterion stoppingCriterion = null;
 
   public ConcurrentOddsCalculator(final String threadNamePrefix) {
     this(threadNamePrefix, Runnables.doNothing());
@@ -140,51 +142,14 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
   private void createWorkers(final GameData data) {
     workers.clear();
     if (data != null && cancelCurrentOperation.get() >= 0) {
-      // see how long 1 copy takes (some games can get REALLY big)
-      final long startTime = System.currentTimeMillis();
-      final long startMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
-      final GameData newData;
       try {
-        // make first copy, then release lock on it so game can continue (ie: we don't want to lock on it while we copy
-        // it 16 times, when once is enough) don't let the data change while we make the first copy
-        data.acquireWriteLock();
-        newData = GameDataUtils.cloneGameDataWithoutHistory(data, false);
-      } finally {
-        data.releaseWriteLock();
-      }
-      currentThreads = getThreadsToUse((System.currentTimeMillis() - startTime), startMemory);
-      try {
-        // make sure all workers are using the same data
-        newData.acquireReadLock();
-        int i = 0;
-        // we are already in 1 executor thread, so we have MAX_THREADS-1 threads left to use
-        if (currentThreads <= 2 || MAX_THREADS <= 2) {
-          // if 2 or fewer threads, do not multi-thread the copying (we have already copied it once above, so at most
-          // only 1 more copy to make)
-          while (cancelCurrentOperation.get() >= 0 && i < currentThreads) {
-            // the last one will use our already copied data from above, without copying it again
-            workers.add(new OddsCalculator(newData, (currentThreads == ++i)));
-          }
-        } else { // multi-thread our copying, cus why the heck not (it increases the speed of copying by about double)
-          final CountDownLatch workerLatch = new CountDownLatch(currentThreads - 1);
-          while (i < (currentThreads - 1)) {
-            ++i;
-            executor.execute(() -> {
-              if (cancelCurrentOperation.get() >= 0) {
-                workers.add(new OddsCalculator(newData, false));
-              }
-              workerLatch.countDown();
-            });
-          }
-          // the last one will use our already copied data from above, without copying it again
-          workers.add(new OddsCalculator(newData, true));
-          Interruptibles.await(workerLatch);
-        }
-      } finally {
-        newData.releaseReadLock();
+        createWorkersFromSnapshot(data);
+      } catch (final IOException e) {
+        log.log(Level.SEVERE, "Failed to copy game data for battle calculator workers", e);
+        workers.clear();
       }
     }
-    if (cancelCurrentOperation.get() < 0 || data == null) {
+    if (cancelCurrentOperation.get() < 0 || data == null || workers.isEmpty()) {
       // we could have cancelled while setting data, so clear the workers again if so
       workers.clear();
       isDataSet = false;
@@ -199,6 +164,57 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
     latchSetData.countDown();
   }
 
+  /**
+   * Takes a single serialized snapshot of the game data while holding its read lock, then restores one independent
+   * copy per worker from that snapshot. Restoring needs no lock on either the original or a previous copy, so the game
+   * can continue and the copies can be made in parallel.
+   *
+   * <p>
+   * Each worker still owns a full copy of the game data, so memory grows with the number of workers. Nothing is shared
+   * between copies: every game object, including unit types and attachments, refers back to the game data it belongs
+   * to and looks other objects up through it, so a worker using shared parts would read the live game data.
+   * </p>
+   */
+  private void createWorkersFromSnapshot(final GameData data) throws IOException {
+    // see how long 1 copy takes (some games can get REALLY big)
+    final long startTime = System.currentTimeMillis();
+    final long startMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+    final byte[] snapshot;
+    try {
+      // don't let the data change while we take the snapshot
+      data.acquireReadLock();
+      snapshot = GameDataUtils.snapshotGameDataWithoutHistory(data, false);
+    } finally {
+      data.releaseReadLock();
+    }
+    workers.add(new OddsCalculator(GameDataUtils.restoreGameData(snapshot), true));
+    currentThreads = getThreadsToUse((System.currentTimeMillis() - startTime), startMemory);
+    final int copiesLeft = currentThreads - 1;
+    // we are already in 1 executor thread, so we have MAX_THREADS-1 threads left to use
+    if (copiesLeft <= 1 || MAX_THREADS <= 2) {
+      // if 2 or fewer threads, do not multi-thread the copying (at most only 1 more copy to make)
+      for (int i = 0; i < copiesLeft && cancelCurrentOperation.get() >= 0; i++) {
+        workers.add(new OddsCalculator(GameDataUtils.restoreGameData(snapshot), true));
+      }
+    } else { // multi-thread our copying, cus why the heck not (it increases the speed of copying by about double)
+      final CountDownLatch workerLatch = new CountDownLatch(copiesLeft);
+      for (int i = 0; i < copiesLeft; i++) {
+        executor.execute(() -> {
+          try {
+            if (cancelCurrentOperation.get() >= 0) {
+              workers.add(new OddsCalculator(GameDataUtils.restoreGameData(snapshot), true));
+            }
+          } catch (final IOException e) {
+            log.log(Level.SEVERE, "Failed to copy game data for battle calculator worker", e);
+          } finally {
+            workerLatch.countDown();
+          }
+        });
+      }
+      Interruptibles.await(workerLatch);
+    }
+  }
+
   @Override
   public void shutdown() {
     isShutDown = true;
@@ -255,30 +271,33 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
       final long start = System.currentTimeMillis();
       // Create worker thread pool and start all workers
       int totalRunCount = 0;
+      // all workers stop as soon as their combined results satisfy the stopping criterion
+      final RunProgress progress = stoppingCriterion == null ? null : new RunProgress(stoppingCriterion);
       final List<Future<AggregateResults>> list = new ArrayList<>();
       for (final OddsCalculator worker : workers) {
         if (!getIsReady()) {
           // we could have attempted to set a new game data, while the old one was still being set, causing it to abort
           // with null data
-          return new AggregateResults(0);
+          return new AggregateResults();
         }
         if (!worker.getIsReady()) {
           throw new IllegalStateException("Called calculate before setting calculate data!");
         }
         if (worker.getRunCount() > 0) {
           totalRunCount += worker.getRunCount();
+          worker.setRunProgress(progress);
           final Future<AggregateResults> workerResult = executor.submit(worker);
           list.add(workerResult);
         }
       }
       // Wait for all worker futures to complete and combine results
-      final AggregateResults results = new AggregateResults(totalRunCount);
+      final AggregateResults results = new AggregateResults();
       final Set<InterruptedException> interruptExceptions = new HashSet<>();
       final Map<String, Set<ExecutionException>> executionExceptions = new HashMap<>();
       for (final Future<AggregateResults> future : list) {
         try {
           final AggregateResults result = future.get();
-          results.addResults(result.getResults());
+          results.addResults(result);
         } catch (final InterruptedException e) {
           Thread.currentThread().interrupt();
           interruptExceptions.add(e);
@@ -409,6 +428,13 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
     }
   }
 
+  @Override
+  public void setStoppingCriterion(final StoppingCriterion stoppingCriterion) {
+    synchronized (mutexCalcIsRunning) {
+      this.stoppingCriterion = stoppingCriterion;
+    }
+  }
+
   // not on purpose, we need to be able to cancel at any time
   @Override
   public void cancel() {
@@ -42,6 +42,12 @@ public interface IOddsCalculator {
 
   void setDefenderOrderOfLosses(String defenderOrderOfLosses);
 
+  /**
+   * Sets the criterion used to stop a calculation before the run count is reached, or null to always fight the full
+   * run count.
+   */
+  void setStoppingCriterion(StoppingCriterion stoppingCriterion);
+
   void cancel();
 
   void shutdown();
@@ -17,6 +17,7 @@ import games.strategy.triplea.delegate.BattleResults;
 import games.strategy.triplea.delegate.BattleTracker;
 import games.strategy.triplea.delegate.GameDelegateBridge;
 import games.strategy.triplea.delegate.MustFightBattle;
+import games.strategy.triplea.util.TuvUtils;
 
 class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
   private GameData gameData;
@@ -35,6 +36,9 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
   private String attackerOrderOfLosses = null;
   private String defenderOrderOfLosses = null;
   private int runCount = 0;
+  private StoppingCriterion stoppingCriterion = null;
+  // shared with the other workers of a concurrent calculation, overrides the stopping criterion when set
+  private volatile RunProgress runProgress = null;
   private volatile boolean cancelled = false;
   private volatile boolean isDataSet = false;
   private volatile boolean isCalcSet = false;
@@ -120,7 +124,12 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
   private AggregateResults calculate(final int count) {
     isRunning = true;
     final long start = System.currentTimeMillis();
-    final AggregateResults aggregateResults = new AggregateResults(count);
+    final AggregateResults aggregateResults = new AggregateResults();
+    final RunProgress progress = runProgress != null
+        ? runProgress
+        : (stoppingCriterion == null ? null : new RunProgress(stoppingCriterion));
+    // when stopping early, results are reported to the progress in batches that also track the TUV swing variance
+    AggregateResults batch = progress == null ? aggregateResults : newBatch();
     final BattleTracker battleTracker = new BattleTracker();
     // CasualtySortingCaching can cause issues if there is more than 1 one battle being calced at the same time (like if
     // the AI and a human are both using the calc)
@@ -130,7 +139,7 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
         OrderOfLossesInputPanel.getUnitListByOrderOfLoss(this.attackerOrderOfLosses, attackingUnits, gameData);
     final List<Unit> defenderOrderOfLosses =
         OrderOfLossesInputPanel.getUnitListByOrderOfLoss(this.defenderOrderOfLosses, defendingUnits, gameData);
-    for (int i = 0; i < count && !cancelled; i++) {
+    for (int i = 0; i < count && !cancelled && (progress == null || !progress.isDone()); i++) {
       final CompositeChange allChanges = new CompositeChange();
       final DummyDelegateBridge bridge1 =
           new DummyDelegateBridge(attacker, gameData, allChanges, attackerOrderOfLosses, defenderOrderOfLosses,
@@ -142,11 +151,19 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
           (amphibious ? attackingUnits : new ArrayList<>()), defender, territoryEffects);
       bridge1.setBattle(battle);
       battle.fight(bridge);
-      aggregateResults.addResult(new BattleResults(battle, gameData));
+      batch.addResult(new BattleResults(battle, gameData));
       // restore the game to its original state
       gameData.performChange(allChanges.invert());
       battleTracker.clear();
       battleTracker.clearBattleRecords();
+      if (progress != null && batch.getRollCount() >= RunProgress.BATCH_SIZE) {
+        aggregateResults.addResults(batch);
+        progress.addBatch(batch);
+        batch = newBatch();
+      }
+    }
+    if (batch != aggregateResults) {
+      aggregateResults.addResults(batch);
     }
     aggregateResults.setTime(System.currentTimeMillis() - start);
     isRunning = false;
@@ -154,6 +171,11 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
     return aggregateResults;
   }
 
+  private AggregateResults newBatch() {
+    return new AggregateResults(
+        TuvUtils.getCostsForTuv(attacker, gameData), TuvUtils.getCostsForTuv(defender, gameData));
+  }
+
   @Override
   public AggregateResults call() {
     return calculate();
@@ -204,6 +226,15 @@ class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
     this.defenderOrderOfLosses = defenderOrderOfLosses;
   }
 
+  @Override
+  public void setStoppingCriterion(final StoppingCriterion stoppingCriterion) {
+    this.stoppingCriterion = stoppingCriterion;
+  }
+
+  void setRunProgress(final RunProgress runProgress) {
+    this.runProgress = runProgress;
+  }
+
   @Override
   public void cancel() {
     cancelled = true;
@@ -0,0 +1,34 @@
+package games.strategy.triplea.odds.calculator;
+
+/**
+ * The progress of a single calculation that is stopped by a {@link StoppingCriterion}. One instance is shared by all
+ * workers of a calculation: each worker reports the results of every batch it fights, and all workers stop once the
+ * combined results satisfy the criterion.
+ */
+final class RunProgress {
+  /** Number of runs a worker fights between checks of the stopping criterion. */
+  static final int BATCH_SIZE = 25;
+
+  private final StoppingCriterion stoppingCriterion;
+  private final long start = System.currentTimeMillis();
+  private final AggregateResults results = new AggregateResults();
+  private volatile boolean done = false;
+
+  RunProgress(final StoppingCriterion stoppingCriterion) {
+    this.stoppingCriterion = stoppingCriterion;
+  }
+
+  /**
+   * Adds the results of a batch fought by one worker and checks whether the calculation can stop.
+   */
+  synchronized void addBatch(final AggregateResults batch) {
+    results.addResults(batch);
+    if (stoppingCriterion.isSatisfied(results, System.currentTimeMillis() - start)) {
+      done = true;
+    }
+  }
+
+  boolean isDone() {
+    return done;
+  }
+}
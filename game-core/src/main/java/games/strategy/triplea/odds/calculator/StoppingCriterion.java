@@ -0,0 +1,50 @@
+package games.strategy.triplea.odds.calculator;
+
+import lombok.Builder;
+
+/**
+ * Decides when a battle calculation has run enough battles to stop before reaching its run count. A calculation stops
+ * early once the 95% confidence intervals of both the attacker's win probability and the TUV swing are narrower than
+ * the requested margins of error, or once its time budget has expired. The run count passed to the calculator is
+ * still the maximum number of runs.
+ *
+ * <p>
+ * For example, a battle the attacker wins every time stops after {@link #minRunCount} runs, because the observed win
+ * probability has no variance.
+ * </p>
+ */
+@Builder
+public final class StoppingCriterion {
+  // two-sided 95% confidence
+  private static final double Z_SCORE = 1.96;
+
+  /** Number of runs fought before the confidence intervals are checked at all. */
+  @Builder.Default
+  private final int minRunCount = 200;
+  /** Half width of the confidence interval of the attacker's win probability, between 0 and 1. */
+  @Builder.Default
+  private final double winPercentMarginOfError = 0.02;
+  /** Half width of the confidence interval of the average TUV swing. */
+  @Builder.Default
+  private final double tuvSwingMarginOfError = 1.0;
+  /** Time after which the calculation stops regardless of confidence, or 0 to never stop because of time. */
+  @Builder.Default
+  private final long timeBudgetMillis = 0;
+
+  /**
+   * Indicates the specified results, accumulated over the specified time, are precise enough to stop the calculation.
+   */
+  boolean isSatisfied(final AggregateResults results, final long elapsedMillis) {
+    if (timeBudgetMillis > 0 && elapsedMillis >= timeBudgetMillis) {
+      return true;
+    }
+    final int runs = results.getRollCount();
+    if (runs < Math.max(2, minRunCount)) {
+      return false;
+    }
+    final double winPercent = results.getAttackerWinPercent();
+    final double winPercentError = Z_SCORE * Math.sqrt(winPercent * (1 - winPercent) / runs);
+    final double tuvSwingError = Z_SCORE * Math.sqrt(results.getTuvSwingVariance() / runs);
+    return winPercentError <= winPercentMarginOfError && tuvSwingError <= tuvSwingMarginOfError;
+  }
+}
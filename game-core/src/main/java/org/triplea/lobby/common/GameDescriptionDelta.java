@@ -0,0 +1,108 @@
+package org.triplea.lobby.common;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import javax.annotation.concurrent.Immutable;
+
+import games.strategy.engine.lobby.server.GameDescription;
+import games.strategy.net.INode;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * The fields of a {@link GameDescription} that changed between two versions of it, so that only the changed values
+ * need to be sent to lobby clients.
+ */
+@Immutable
+@EqualsAndHashCode
+@ToString
+public final class GameDescriptionDelta implements Serializable {
+  private static final long serialVersionUID = -2281934125578347318L;
+
+  /**
+   * A field of a game description that can be part of a delta. New fields must be added at the end.
+   */
+  enum Field {
+    HOSTED_BY(GameDescription::getHostedBy, (description, value) -> description.setHostedBy((INode) value)),
+    PORT(GameDescription::getPort, (description, value) -> description.setPort((Integer) value)),
+    GAME_NAME(GameDescription::getGameName, (description, value) -> description.setGameName((String) value)),
+    PLAYER_COUNT(
+        GameDescription::getPlayerCount,
+        (description, value) -> description.setPlayerCount((Integer) value)),
+    ROUND(GameDescription::getRound, (description, value) -> description.setRound((String) value)),
+    STATUS(
+        GameDescription::getStatus,
+        (description, value) -> description.setStatus((GameDescription.GameStatus) value)),
+    HOST_NAME(GameDescription::getHostName, (description, value) -> description.setHostName((String) value)),
+    COMMENT(GameDescription::getComment, (description, value) -> description.setComment((String) value)),
+    PASSWORDED(GameDescription::getPassworded, (description, value) -> description.setPassworded((Boolean) value)),
+    GAME_VERSION(
+        GameDescription::getGameVersion,
+        (description, value) -> description.setGameVersion((String) value)),
+    ENGINE_VERSION(
+        GameDescription::getEngineVersion,
+        (description, value) -> description.setEngineVersion((String) value)),
+    START_DATE_TIME(
+        GameDescription::getStartDateTime,
+        (description, value) -> description.setStartDateTime((Instant) value));
+
+    private final Function<GameDescription, Object> getter;
+    private final BiConsumer<GameDescription, Object> setter;
+
+    Field(final Function<GameDescription, Object> getter, final BiConsumer<GameDescription, Object> setter) {
+      this.getter = getter;
+      this.setter = setter;
+    }
+  }
+
+  private final EnumMap<Field, Serializable> changedValues;
+
+  private GameDescriptionDelta(final EnumMap<Field, Serializable> changedValues) {
+    this.changedValues = changedValues;
+  }
+
+  /**
+   * Returns the fields that differ between the specified descriptions, with their values in {@code newDescription}.
+   */
+  public static GameDescriptionDelta between(
+      final GameDescription oldDescription,
+      final GameDescription newDescription) {
+    checkNotNull(oldDescription);
+    checkNotNull(newDescription);
+
+    final EnumMap<Field, Serializable> changedValues = new EnumMap<>(Field.class);
+    for (final Field field : Field.values()) {
+      final Object newValue = field.getter.apply(newDescription);
+      if (!Objects.equals(field.getter.apply(oldDescription), newValue)) {
+        changedValues.put(field, (Serializable) newValue);
+      }
+    }
+    return new GameDescriptionDelta(changedValues);
+  }
+
+  public boolean isEmpty() {
+    return changedValues.isEmpty();
+  }
+
+  /**
+   * Returns a copy of the specified description with the changed fields of this delta applied to it. The specified
+   * description is not modified.
+   */
+  public GameDescription applyTo(final GameDescription description) {
+    checkNotNull(description);
+
+    final GameDescription newDescription = (GameDescription) description.clone();
+    for (final Map.Entry<Field, Serializable> entry : changedValues.entrySet()) {
+      entry.getKey().setter.accept(newDescription, entry.getValue());
+    }
+    return newDescription;
+  }
+}
@@ -0,0 +1,88 @@
+package org.triplea.lobby.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.concurrent.Immutable;
+
+import games.strategy.engine.lobby.server.GameDescription;
+import games.strategy.net.GUID;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A change to the lobby game list, taking it from one version to the next.
+ *
+ * <p>
+ * A frame is either a snapshot, which replaces the whole list, or a set of changes, which applies only to the version
+ * it was made from. Changed games carry only the fields that changed, see {@link GameDescriptionDelta}.
+ * </p>
+ */
+@Immutable
+@Getter
+@ToString
+public final class GameListFrame implements Serializable {
+  private static final long serialVersionUID = 4409137245137421788L;
+
+  private final boolean snapshot;
+  /** The version of the game list this frame applies to; ignored for a snapshot. */
+  private final long baseVersion;
+  /** The version of the game list after this frame is applied. */
+  private final long version;
+  /** The games added by this frame, or all games if this frame is a snapshot. */
+  private final Map<GUID, GameDescription> addedGames;
+  private final Map<GUID, GameDescriptionDelta> updatedGames;
+  private final Set<GUID> removedGames;
+
+  private GameListFrame(
+      final boolean snapshot,
+      final long baseVersion,
+      final long version,
+      final Map<GUID, GameDescription> addedGames,
+      final Map<GUID, GameDescriptionDelta> updatedGames,
+      final Set<GUID> removedGames) {
+    this.snapshot = snapshot;
+    this.baseVersion = baseVersion;
+    this.version = version;
+    this.addedGames = Collections.unmodifiableMap(new LinkedHashMap<>(addedGames));
+    this.updatedGames = Collections.unmodifiableMap(new LinkedHashMap<>(updatedGames));
+    this.removedGames = Collections.unmodifiableSet(new LinkedHashSet<>(removedGames));
+  }
+
+  /**
+   * Creates a frame that replaces the whole game list with the specified games.
+   */
+  public static GameListFrame snapshot(final long version, final Map<GUID, GameDescription> games) {
+    checkNotNull(games);
+
+    return new GameListFrame(true, version, version, games, Collections.emptyMap(), Collections.emptySet());
+  }
+
+  /**
+   * Creates a frame that takes the game list from {@code baseVersion} to {@code version}.
+   */
+  public static GameListFrame changes(
+      final long baseVersion,
+      final long version,
+      final Map<GUID, GameDescription> addedGames,
+      final Map<GUID, GameDescriptionDelta> updatedGames,
+      final Set<GUID> removedGames) {
+    checkArgument(baseVersion <= version, "version must not be less than base version");
+    checkNotNull(addedGames);
+    checkNotNull(updatedGames);
+    checkNotNull(removedGames);
+
+    return new GameListFrame(false, baseVersion, version, addedGames, updatedGames, removedGames);
+  }
+
+  public boolean isEmpty() {
+    return !snapshot && addedGames.isEmpty() && updatedGames.isEmpty() && removedGames.isEmpty();
+  }
+}
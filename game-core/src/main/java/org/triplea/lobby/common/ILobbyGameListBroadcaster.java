@@ -0,0 +1,19 @@
+package org.triplea.lobby.common;
+
+import games.strategy.engine.message.IChannelSubscriber;
+import games.strategy.engine.message.RemoteName;
+
+/**
+ * A service that notifies nodes of changes to the lobby game list as versioned frames.
+ *
+ * <p>
+ * Clients that subscribe to this channel do not need to subscribe to {@link ILobbyGameBroadcaster}, which sends every
+ * changed game in full.
+ * </p>
+ */
+public interface ILobbyGameListBroadcaster extends IChannelSubscriber {
+  RemoteName REMOTE_NAME =
+      new RemoteName("org.triplea.lobby.common.ILobbyGameListBroadcaster.CHANNEL", ILobbyGameListBroadcaster.class);
+
+  void gameListChanged(GameListFrame frame);
+}
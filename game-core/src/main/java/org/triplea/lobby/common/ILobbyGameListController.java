@@ -0,0 +1,20 @@
+package org.triplea.lobby.common;
+
+import java.util.List;
+
+import games.strategy.engine.message.IRemote;
+import games.strategy.engine.message.RemoteName;
+
+/**
+ * A service that provides the lobby game list as versioned frames, for use with {@link ILobbyGameListBroadcaster}.
+ */
+public interface ILobbyGameListController extends IRemote {
+  RemoteName REMOTE_NAME =
+      new RemoteName("org.triplea.lobby.common.ILobbyGameListController.REMOTE", ILobbyGameListController.class);
+
+  /**
+   * Returns the frames that take the game list from the specified version to the current version, in order. If the
+   * specified version is negative or too old to catch up from, returns a single snapshot frame instead.
+   */
+  List<GameListFrame> getGameListSince(long version);
+}
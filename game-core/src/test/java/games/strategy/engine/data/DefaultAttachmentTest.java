@@ -6,6 +6,9 @@ import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
@@ -188,6 +191,20 @@ final class DefaultAttachmentTest {
     }
   }
 
+  @Nested
+  final class GetPropertyTest {
+    private final TestAttachment attachment = spy(new TestAttachment("attachment", null, new GameData()));
+
+    @Test
+    void shouldBuildPropertyMapOnlyOnce() throws Exception {
+      attachment.getPropertyOrThrow("value").setValue("newValue");
+
+      assertThat(attachment.getPropertyOrThrow("value").getValue(), is("newValue"));
+      assertThat(attachment.getProperty("unknown").isPresent(), is(false));
+      verify(attachment, times(1)).getPropertyMap();
+    }
+  }
+
   @Nested
   final class SplitOnColonTest {
     @Test
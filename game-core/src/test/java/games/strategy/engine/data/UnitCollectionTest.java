@@ -3,11 +3,13 @@ package games.strategy.engine.data;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 
@@ -277,6 +279,37 @@ public class UnitCollectionTest {
     assertThat(allDefaultPlayerUnitCollection.containsAll(unitsOfDefaultPlayerOfUnitTypeOne), is(equalTo(true)));
   }
 
+  @Test
+  public void getUnitCountByPlayerIdAfterUnitChangedOwner() {
+    final UnitCollection allPlayersUnitCollection = addAllPlayerUnitsToUnitCollection(unitCollection);
+    assertThat(allPlayersUnitCollection.getUnitCount(unitTypeOne, otherPlayerId),
+        is(equalTo(unitCountOtherPlayerUnitTypeOne)));
+
+    unitDefaultPlayer1.setOwner(otherPlayerId);
+    // the game data would tell the collection the unit is in, but it is mocked here
+    allPlayersUnitCollection.unitOwnerChanged(unitDefaultPlayer1, defaultPlayerId);
+
+    assertThat(allPlayersUnitCollection.getUnitCount(unitTypeOne, otherPlayerId),
+        is(equalTo(unitCountOtherPlayerUnitTypeOne + 1)));
+    assertThat(allPlayersUnitCollection.getUnitCount(defaultPlayerId), is(equalTo(unitCountDefaultPlayer - 1)));
+  }
+
+  @Test
+  public void removeKeepsOrderOfRemainingUnits() {
+    final UnitCollection allPlayersUnitCollection = addAllPlayerUnitsToUnitCollection(unitCollection);
+    allPlayersUnitCollection.remove(unitDefaultPlayer2);
+    allPlayersUnitCollection.removeAll(Arrays.asList(unitOtherPlayer1, unitOtherPlayer5));
+
+    assertThat(allPlayersUnitCollection.contains(unitDefaultPlayer2), is(false));
+    assertThat(allPlayersUnitCollection.contains(unitOtherPlayer2), is(true));
+    assertThat(allPlayersUnitCollection.getUnits(), contains(unitDefaultPlayer1, unitDefaultPlayer3,
+        unitOtherPlayer2, unitOtherPlayer3, unitOtherPlayer4, unitOtherPlayer6, unitOtherPlayer7));
+    assertThat(allPlayersUnitCollection.getUnits(unitTypeTwo, 3),
+        contains(unitDefaultPlayer3, unitOtherPlayer4, unitOtherPlayer6));
+    assertThat(allPlayersUnitCollection.getUnitCount(unitTypeOne, otherPlayerId),
+        is(equalTo(unitCountOtherPlayerUnitTypeOne - 1)));
+  }
+
   @Test
   public void getUnitsByUnitTypeAndMaxValue() {
     final UnitCollection allDefaultPlayerUnitCollection = addAllDefaultPlayerUnitsToUnitCollection(unitCollection);
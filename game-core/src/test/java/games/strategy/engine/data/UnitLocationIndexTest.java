@@ -0,0 +1,101 @@
+package games.strategy.engine.data;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static games.strategy.triplea.delegate.GameDataTestUtil.transport;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.xml.TestMapGameData;
+
+final class UnitLocationIndexTest {
+  private GameData gameData;
+  private PlayerId germans;
+  private Territory germany;
+  private Territory poland;
+  private Territory seaZone;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    gameData = TestMapGameData.WW2V3_1941.getGameData();
+    germans = germans(gameData);
+    germany = territory("Germany", gameData);
+    poland = territory("Poland", gameData);
+    seaZone = territory("5 Sea Zone", gameData);
+  }
+
+  private Unit addUnit(final UnitType unitType, final Territory territory) {
+    final List<Unit> units = unitType.create(1, germans);
+    gameData.performChange(ChangeFactory.addUnits(territory, units));
+    return units.get(0);
+  }
+
+  @Test
+  void shouldFollowUnitsAsTheyMove() {
+    final Unit unit = addUnit(infantry(gameData), germany);
+    assertThat(gameData.getUnitLocationIndex().getHolder(unit), is(germany));
+
+    gameData.performChange(ChangeFactory.moveUnits(germany, poland, Collections.singletonList(unit)));
+    assertThat(gameData.getUnitLocationIndex().getHolder(unit), is(poland));
+
+    gameData.performChange(ChangeFactory.removeUnits(poland, Collections.singletonList(unit)));
+    assertThat(gameData.getUnitLocationIndex().getHolder(unit), is(nullValue()));
+  }
+
+  @Test
+  void shouldFollowUnitsAsTheyAreLoadedAndUnloaded() {
+    final TripleAUnit transport = (TripleAUnit) addUnit(transport(gameData), seaZone);
+    final Unit infantry = addUnit(infantry(gameData), seaZone);
+    assertThat(transport.getTransporting(), is(empty()));
+
+    gameData.performChange(ChangeFactory.unitPropertyChange(infantry, transport, TripleAUnit.TRANSPORTED_BY));
+    assertThat(gameData.getUnitLocationIndex().getCargo(transport), contains(infantry));
+    assertThat(transport.getTransporting(), contains(infantry));
+
+    gameData.performChange(ChangeFactory.unitPropertyChange(infantry, null, TripleAUnit.TRANSPORTED_BY));
+    assertThat(gameData.getUnitLocationIndex().getCargo(transport), is(empty()));
+    assertThat(transport.getTransporting(), is(empty()));
+  }
+
+  @Test
+  void shouldLetHolderOfUnitCountItUnderItsNewOwner() {
+    final UnitType infantryType = infantry(gameData);
+    final PlayerId russians = russians(gameData);
+    final int germanInfantryCount = germany.getUnitCollection().getUnitCount(infantryType, germans);
+    final int russianInfantryCount = germany.getUnitCollection().getUnitCount(infantryType, russians);
+    final Unit unit = addUnit(infantryType, germany);
+
+    gameData.performChange(ChangeFactory.changeOwner(unit, russians, germany));
+
+    assertThat(germany.getUnitCollection().getUnitCount(infantryType, germans), is(germanInfantryCount));
+    assertThat(germany.getUnitCollection().getUnitCount(infantryType, russians), is(russianInfantryCount + 1));
+  }
+
+  @Test
+  void shouldBeRebuiltWhenGameDataIsCloned() {
+    final Unit transport = addUnit(transport(gameData), seaZone);
+    final Unit infantry = addUnit(infantry(gameData), seaZone);
+    gameData.performChange(ChangeFactory.unitPropertyChange(infantry, transport, TripleAUnit.TRANSPORTED_BY));
+
+    final GameData clone = GameDataUtils.cloneGameData(gameData);
+
+    final TripleAUnit clonedTransport = (TripleAUnit) clone.getUnits().get(transport.getId());
+    final Unit clonedInfantry = clone.getUnits().get(infantry.getId());
+    assertThat(clone.getUnitLocationIndex().getHolder(clonedTransport), is(territory("5 Sea Zone", clone)));
+    assertThat(clonedTransport.getTransporting(), contains(clonedInfantry));
+  }
+}
@@ -0,0 +1,140 @@
+package games.strategy.engine.data.changefactory;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.triplea.java.collections.IntegerMap;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerId;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.xml.TestMapGameData;
+
+final class ChangeCompactorTest {
+  private final ChangeCompactor compactor = new ChangeCompactor();
+  private GameData gameData;
+  private PlayerId germans;
+  private Territory germany;
+  private Territory poland;
+  private Territory ukraine;
+  private TripleAUnit unit;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    gameData = TestMapGameData.WW2V3_1941.getGameData();
+    germans = germans(gameData);
+    germany = territory("Germany", gameData);
+    poland = territory("Poland", gameData);
+    ukraine = territory("Ukraine", gameData);
+    final List<Unit> units = infantry(gameData).create(1, germans);
+    gameData.performChange(ChangeFactory.addUnits(germany, units));
+    unit = (TripleAUnit) units.get(0);
+  }
+
+  private void performChange(final Change change) {
+    gameData.performChange(change);
+    compactor.add(change);
+  }
+
+  private static List<Change> getChanges(final Change change) {
+    return ((CompositeChange) change).getChanges();
+  }
+
+  @Test
+  void shouldMergeMovesOfUnitIntoOneRemovalAndAddition() {
+    performChange(ChangeFactory.moveUnits(germany, poland, Collections.singletonList(unit)));
+    performChange(ChangeFactory.unitPropertyChange(unit, 1, TripleAUnit.ALREADY_MOVED));
+    performChange(ChangeFactory.moveUnits(poland, ukraine, Collections.singletonList(unit)));
+    performChange(ChangeFactory.unitPropertyChange(unit, 2, TripleAUnit.ALREADY_MOVED));
+
+    final Change change = compactor.toChange();
+
+    assertThat(getChanges(change), hasSize(3));
+    gameData.performChange(change.invert());
+    assertThat(germany.getUnitCollection().contains(unit), is(true));
+    assertThat(poland.getUnitCollection().contains(unit), is(false));
+    assertThat(ukraine.getUnitCollection().contains(unit), is(false));
+    assertThat(unit.getAlreadyMoved(), is(0));
+    gameData.performChange(change);
+    assertThat(germany.getUnitCollection().contains(unit), is(false));
+    assertThat(ukraine.getUnitCollection().contains(unit), is(true));
+    assertThat(unit.getAlreadyMoved(), is(2));
+  }
+
+  @Test
+  void shouldDropChangesUndoneLater() {
+    final PlayerId russians = russians(gameData);
+    performChange(ChangeFactory.changeOwner(poland, russians));
+    performChange(ChangeFactory.moveUnits(germany, poland, Collections.singletonList(unit)));
+    performChange(ChangeFactory.moveUnits(poland, germany, Collections.singletonList(unit)));
+    performChange(ChangeFactory.changeOwner(poland, germans));
+
+    assertThat(getChanges(compactor.toChange()), hasSize(0));
+  }
+
+  @Test
+  void shouldSumResourceChangesOfEachPlayer() {
+    final Resource pus = gameData.getResourceList().getResource(Constants.PUS);
+    final int quantity = germans.getResources().getQuantity(pus);
+    performChange(ChangeFactory.changeResourcesChange(germans, pus, -quantity));
+    performChange(ChangeFactory.changeResourcesChange(germans, pus, 5));
+
+    final Change change = compactor.toChange();
+
+    assertThat(getChanges(change), hasSize(1));
+    gameData.performChange(change.invert());
+    assertThat(germans.getResources().getQuantity(pus), is(quantity));
+  }
+
+  @Test
+  void shouldNotMergeChangesAcrossChangesItCannotMerge() {
+    final IntegerMap<Unit> hits = new IntegerMap<>();
+    hits.put(unit, 1);
+    final Change unitsHit = ChangeFactory.unitsHit(hits);
+    performChange(ChangeFactory.moveUnits(germany, poland, Collections.singletonList(unit)));
+    performChange(unitsHit);
+    performChange(ChangeFactory.moveUnits(poland, ukraine, Collections.singletonList(unit)));
+
+    final List<Change> changes = getChanges(compactor.toChange());
+
+    assertThat(changes, hasSize(5));
+    assertThat(changes.get(1), is(instanceOf(AddUnits.class)));
+    assertThat(changes.get(2), is(sameInstance(unitsHit)));
+    assertThat(changes.get(3), is(instanceOf(RemoveUnits.class)));
+  }
+
+  @Test
+  void shouldCompactChangesOfCompositeChanges() {
+    performChange(new CompositeChange(
+        ChangeFactory.moveUnits(germany, poland, Collections.singletonList(unit)),
+        ChangeFactory.changeOwner(ukraine, germans)));
+    performChange(ChangeFactory.moveUnits(poland, ukraine, Collections.singletonList(unit)));
+
+    final List<Change> changes = getChanges(compactor.toChange());
+
+    assertThat(changes, hasSize(3));
+    assertThat(changes.get(0), is(instanceOf(OwnerChange.class)));
+    assertThat(changes.get(1), is(instanceOf(RemoveUnits.class)));
+    assertThat(changes.get(2), is(instanceOf(AddUnits.class)));
+    assertThat(((AddUnits) changes.get(2)).getUnits(), contains(unit));
+  }
+}
@@ -0,0 +1,85 @@
+package games.strategy.engine.framework;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junitpioneer.jupiter.TempDirectory;
+import org.junitpioneer.jupiter.TempDirectory.TempDir;
+
+import games.strategy.engine.data.GameData;
+
+@ExtendWith(TempDirectory.class)
+final class AutoSaveWriterTest {
+  private final Queue<Runnable> tasks = new ArrayDeque<>();
+  private final AutoSaveWriter autoSaveWriter = new AutoSaveWriter(tasks::add);
+  private File file;
+
+  @BeforeEach
+  void setUp(@TempDir final Path tempDirPath) {
+    file = tempDirPath.resolve("autoSave").resolve("autosave.tsvg").toFile();
+  }
+
+  private static byte[] snapshot(final String gameName) throws Exception {
+    final GameData data = new GameData();
+    data.setGameName(gameName);
+    return GameDataManager.snapshotGame(data);
+  }
+
+  private void runTasks() {
+    while (!tasks.isEmpty()) {
+      tasks.remove().run();
+    }
+  }
+
+  @Test
+  void shouldWriteLoadableSaveGame() throws Exception {
+    autoSaveWriter.write(file, snapshot("first"), 0);
+    runTasks();
+
+    assertEquals("first", GameDataManager.loadGame(file).getGameName());
+    assertEquals(1, file.getParentFile().list().length);
+  }
+
+  @Test
+  void shouldOnlyWriteNewestPendingSnapshotOfFile() throws Exception {
+    autoSaveWriter.write(file, snapshot("first"), 0);
+    autoSaveWriter.write(file, snapshot("second"), 0);
+
+    assertEquals(1, tasks.size());
+    assertEquals(1, autoSaveWriter.getCoalescedSaveCount());
+    runTasks();
+    assertEquals("second", GameDataManager.loadGame(file).getGameName());
+  }
+
+  @Test
+  void shouldWriteSaveGameOnCallingThreadAfterShutDown() throws Exception {
+    final AutoSaveWriter stoppedAutoSaveWriter = new AutoSaveWriter(Executors.newSingleThreadExecutor());
+    stoppedAutoSaveWriter.shutDown();
+
+    stoppedAutoSaveWriter.write(file, snapshot("first"), 0);
+
+    assertEquals("first", GameDataManager.loadGame(file).getGameName());
+    stoppedAutoSaveWriter.write(file, snapshot("second"), 0);
+    assertEquals(0, stoppedAutoSaveWriter.getCoalescedSaveCount());
+    assertEquals("second", GameDataManager.loadGame(file).getGameName());
+  }
+
+  @Test
+  void shouldReplaceExistingSaveGame() throws Exception {
+    autoSaveWriter.write(file, snapshot("first"), 0);
+    runTasks();
+    autoSaveWriter.write(file, snapshot("second"), 0);
+    runTasks();
+
+    assertEquals(0, autoSaveWriter.getCoalescedSaveCount());
+    assertEquals("second", GameDataManager.loadGame(file).getGameName());
+  }
+}
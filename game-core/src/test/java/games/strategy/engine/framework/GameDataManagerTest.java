@@ -1,16 +1,33 @@
 package games.strategy.engine.framework;
 
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import games.strategy.engine.ClientContext;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerId;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.history.HistoryNode;
+import games.strategy.engine.history.HistoryWriter;
+import games.strategy.engine.history.Step;
 import games.strategy.io.IoUtils;
+import games.strategy.triplea.xml.TestMapGameData;
 
 final class GameDataManagerTest {
   @Nested
@@ -22,6 +39,84 @@ final class GameDataManagerTest {
       final GameData loaded = IoUtils.readFromMemory(bytes, GameDataManager::loadGame);
       assertEquals(loaded.getGameName(), data.getGameName());
     }
+
+    private GameData newGameDataWithHistory() throws Exception {
+      final GameData data = TestMapGameData.REVISED.getGameData();
+      final PlayerId russians = russians(data);
+      final HistoryWriter historyWriter = data.getHistory().getHistoryWriter();
+      historyWriter.startNextRound(1);
+      historyWriter.startNextStep("russianCombatMove", "move", russians, "Combat Move");
+      historyWriter.startEvent("Russians reinforce Russia");
+      historyWriter.addChange(ChangeFactory.addUnits(territory("Russia", data), infantry(data).create(1, russians)));
+      return data;
+    }
+
+    private void assertHistoryResolvedAgainstLoadedGameData(final GameData data, final GameData loaded) {
+      final HistoryNode event = loaded.getHistory().getLastNode();
+      assertEquals("Russians reinforce Russia", event.getTitle());
+      assertSame(russians(loaded), ((Step) event.getParent()).getPlayerId());
+      assertFalse(loaded.getHistory().getDelta((HistoryNode) loaded.getHistory().getRoot(), event).isEmpty());
+      assertEquals(data.getDelegates().size(), loaded.getDelegates().size());
+    }
+
+    @Test
+    void shouldPreserveHistory() throws Exception {
+      final GameData data = newGameDataWithHistory();
+
+      final byte[] bytes = IoUtils.writeToMemory(os -> GameDataManager.saveGame(os, data));
+      final GameData loaded = IoUtils.readFromMemory(bytes, GameDataManager::loadGame);
+
+      assertHistoryResolvedAgainstLoadedGameData(data, loaded);
+    }
+
+    @Test
+    void shouldResolveHistoryOfContainerAgainstLoadedGameData() throws Exception {
+      final GameData data = newGameDataWithHistory();
+
+      final byte[] bytes = IoUtils.writeToMemory(
+          os -> GameDataManager.snapshotSections(data, true).write(os, SaveGameCodec.FAST));
+      final GameData loaded = GameDataManager.readGameData(IoUtils.readFromMemory(bytes, SaveGameContainer::read));
+
+      assertHistoryResolvedAgainstLoadedGameData(data, loaded);
+    }
+
+    @Test
+    void shouldWriteSaveGameReadableByEnginesReleasedBeforeContainers() throws Exception {
+      final GameData data = new GameData();
+      data.setGameName("legacy");
+
+      final byte[] bytes = IoUtils.writeToMemory(os -> GameDataManager.saveGame(os, data));
+
+      assertFalse(SaveGameContainer.isContainer(new ByteArrayInputStream(bytes)));
+      try (ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(new ByteArrayInputStream(bytes)))) {
+        assertEquals(ClientContext.engineVersion(), in.readObject());
+        assertEquals("legacy", GameDataManager.readGameData(in).getGameName());
+      }
+    }
+
+    @Test
+    void shouldLoadSaveGameWrittenBeforeSections() throws Exception {
+      final GameData data = new GameData();
+      data.setGameName("legacy");
+      final byte[] bytes = IoUtils.writeToMemory(os -> {
+        try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(os))) {
+          out.writeObject(ClientContext.engineVersion());
+          GameDataManager.writeGameData(out, data, true);
+        }
+      });
+
+      assertEquals("legacy", IoUtils.readFromMemory(bytes, GameDataManager::loadGame).getGameName());
+    }
+
+    @Test
+    void shouldLoadSnapshotWrittenAsSaveGame() throws Exception {
+      final GameData data = new GameData();
+      data.setGameName("snapshot");
+      final byte[] snapshot = GameDataManager.snapshotGame(data);
+      final byte[] bytes = IoUtils.writeToMemory(os -> GameDataManager.writeSnapshot(snapshot, os));
+
+      assertEquals("snapshot", IoUtils.readFromMemory(bytes, GameDataManager::loadGame).getGameName());
+    }
   }
 
   @Nested
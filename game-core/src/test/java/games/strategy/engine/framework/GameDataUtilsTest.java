@@ -0,0 +1,66 @@
+package games.strategy.engine.framework;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.history.History;
+import games.strategy.triplea.xml.TestMapGameData;
+
+final class GameDataUtilsTest {
+  @Nested
+  final class CloneGameDataTest {
+    @Test
+    void shouldCreateDeepCopy() throws Exception {
+      final GameData data = TestMapGameData.REVISED.getGameData();
+
+      final GameData copy = GameDataUtils.cloneGameData(data, false);
+
+      assertThat(copy, is(notNullValue()));
+      assertThat(copy, is(not(sameInstance(data))));
+      assertThat(copy.getGameName(), is(data.getGameName()));
+      assertThat(copy.getMap().getTerritories().size(), is(data.getMap().getTerritories().size()));
+      final Territory germany = data.getMap().getTerritory("Germany");
+      final Territory copiedGermany = copy.getMap().getTerritory(germany.getName());
+      assertThat(copiedGermany, is(not(sameInstance(germany))));
+      assertThat(copiedGermany.getUnits().size(), is(germany.getUnits().size()));
+      assertThat(copiedGermany.getOwner().getName(), is(germany.getOwner().getName()));
+    }
+
+    @Test
+    void shouldCopyDelegatesOnlyWhenRequested() throws Exception {
+      final GameData data = TestMapGameData.REVISED.getGameData();
+
+      assertThat(GameDataUtils.cloneGameData(data, false).getDelegates().isEmpty(), is(true));
+      assertThat(
+          GameDataUtils.cloneGameData(data, true).getDelegates().size(),
+          is(data.getDelegates().size()));
+    }
+  }
+
+  @Nested
+  final class SnapshotGameDataTest {
+    @Test
+    void shouldRestoreIndependentCopiesWithoutHistory() throws Exception {
+      final GameData data = TestMapGameData.REVISED.getGameData();
+      final History history = data.getHistory();
+
+      final byte[] snapshot = GameDataUtils.snapshotGameDataWithoutHistory(data, false);
+      final GameData first = GameDataUtils.restoreGameData(snapshot);
+      final GameData second = GameDataUtils.restoreGameData(snapshot);
+
+      assertThat(data.getHistory(), is(sameInstance(history)));
+      assertThat(first, is(not(sameInstance(second))));
+      final Territory germany = first.getMap().getTerritory("Germany");
+      assertThat(germany, is(not(sameInstance(second.getMap().getTerritory("Germany")))));
+      assertThat(germany.getUnits().size(), is(data.getMap().getTerritory("Germany").getUnits().size()));
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package games.strategy.engine.framework;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+final class ObserverSnapshotsTest {
+  private final ObserverSnapshots observerSnapshots = new ObserverSnapshots();
+  private final GameModification modification = GameModification.historyEventStarted("event", null);
+
+  @Test
+  void shouldShareSnapshotWithinRound() {
+    final ObserverSnapshots.Snapshot snapshot = observerSnapshots.add(new byte[0], 1);
+
+    assertThat(observerSnapshots.acquire(1).get(), is(sameInstance(snapshot)));
+    assertThat(observerSnapshots.acquire(2), is(Optional.empty()));
+  }
+
+  @Test
+  void shouldRecordModificationsMadeAfterSnapshot() {
+    observerSnapshots.record(GameModification.historyEventStarted("before", null));
+    final ObserverSnapshots.Snapshot snapshot = observerSnapshots.add(new byte[0], 1);
+    observerSnapshots.record(modification);
+
+    assertThat(observerSnapshots.getModifications(snapshot), contains(modification));
+  }
+
+  @Test
+  void shouldDropSnapshotOfPreviousRoundOnceObserversJoined() {
+    final ObserverSnapshots.Snapshot snapshot = observerSnapshots.add(new byte[0], 1);
+    observerSnapshots.roundChanged(2);
+    observerSnapshots.record(modification);
+    assertThat(observerSnapshots.getModifications(snapshot), contains(modification));
+
+    observerSnapshots.release(snapshot);
+    observerSnapshots.roundChanged(2);
+
+    assertThat(observerSnapshots.acquire(1), is(Optional.empty()));
+    assertThat(observerSnapshots.getModifications(observerSnapshots.add(new byte[0], 2)), is(empty()));
+  }
+}
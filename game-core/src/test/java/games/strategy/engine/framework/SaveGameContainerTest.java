@@ -0,0 +1,89 @@
+package games.strategy.engine.framework;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.triplea.util.Version;
+
+import games.strategy.io.IoUtils;
+
+final class SaveGameContainerTest {
+  private static final Version ENGINE_VERSION = new Version(1, 9, 0);
+
+  private static byte[] newSection(final int length) {
+    final byte[] section = new byte[length];
+    final Random random = new Random(length);
+    // half random, half repeated so that compression has something to do
+    for (int i = 0; i < length; i++) {
+      section[i] = (byte) (i % 2 == 0 ? random.nextInt() : 'x');
+    }
+    return section;
+  }
+
+  private static SaveGameContainer newContainer() {
+    final Map<Integer, byte[]> sections = new LinkedHashMap<>();
+    sections.put(SaveGameContainer.GAME_DATA_SECTION, newSection(100_000));
+    sections.put(SaveGameContainer.HISTORY_SECTION, newSection(0));
+    sections.put(SaveGameContainer.DELEGATES_SECTION, newSection(1234));
+    return new SaveGameContainer(ENGINE_VERSION, sections);
+  }
+
+  @ParameterizedTest
+  @EnumSource(SaveGameCodec.class)
+  void shouldRoundTripSectionsWithEachCodec(final SaveGameCodec codec) throws Exception {
+    final SaveGameContainer container = newContainer();
+
+    final byte[] bytes = IoUtils.writeToMemory(os -> container.write(os, codec));
+    final SaveGameContainer read = IoUtils.readFromMemory(bytes, SaveGameContainer::read);
+
+    assertThat(read.getEngineVersion(), is(ENGINE_VERSION));
+    for (final int id : new int[] {
+        SaveGameContainer.GAME_DATA_SECTION, SaveGameContainer.HISTORY_SECTION, SaveGameContainer.DELEGATES_SECTION}) {
+      assertArrayEquals(container.getSection(id).get(), read.getSection(id).get());
+    }
+  }
+
+  @Test
+  void isContainerShouldNotConsumeStream() throws Exception {
+    final byte[] bytes = IoUtils.writeToMemory(os -> newContainer().write(os, SaveGameCodec.FAST));
+    final InputStream is = new ByteArrayInputStream(bytes);
+
+    assertThat(SaveGameContainer.isContainer(is), is(true));
+    assertThat(SaveGameContainer.read(is).getEngineVersion(), is(ENGINE_VERSION));
+  }
+
+  @Test
+  void isContainerShouldBeFalseForGzipSaveGame() throws Exception {
+    final byte[] bytes = IoUtils.writeToMemory(os -> {
+      try (GZIPOutputStream gzip = new GZIPOutputStream(os)) {
+        gzip.write(newSection(100));
+      }
+    });
+
+    assertThat(SaveGameContainer.isContainer(new BufferedInputStream(new ByteArrayInputStream(bytes))), is(false));
+    assertThat(SaveGameContainer.isContainer(new ByteArrayInputStream(new byte[2])), is(false));
+  }
+
+  @Test
+  void readShouldFailWhenSectionIsTruncated() throws Exception {
+    final byte[] bytes = IoUtils.writeToMemory(os -> newContainer().write(os, SaveGameCodec.GZIP));
+    final byte[] truncated = new byte[bytes.length - 10];
+    System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+    assertThrows(IOException.class, () -> IoUtils.readFromMemory(truncated, SaveGameContainer::read));
+  }
+}
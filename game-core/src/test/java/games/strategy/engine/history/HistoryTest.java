@@ -0,0 +1,182 @@
+package games.strategy.engine.history;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.british;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.data.events.TerritoryListener;
+import games.strategy.triplea.xml.TestMapGameData;
+
+final class HistoryTest {
+  @Nested
+  final class ChangeJournalTest {
+    private GameData data;
+    private History history;
+    private Territory germany;
+
+    @BeforeEach
+    void setUp() throws Exception {
+      data = TestMapGameData.REVISED.getGameData();
+      history = data.getHistory();
+      germany = territory("Germany", data);
+    }
+
+    @AfterEach
+    void tearDown() {
+      history.close();
+    }
+
+    private void performChange(final Change change) {
+      data.performChange(change);
+      history.getHistoryWriter().addChange(change);
+    }
+
+    @Test
+    void shouldNavigateChangesMadeBeforeAndAfterMovingToJournal() throws Exception {
+      final HistoryWriter historyWriter = history.getHistoryWriter();
+      historyWriter.startNextRound(1);
+      historyWriter.startNextStep("russianCombatMove", "move", russians(data), "Combat Move");
+      final HistoryNode step = history.getLastNode();
+      historyWriter.startEvent("Russians take Germany");
+      performChange(ChangeFactory.changeOwner(germany, russians(data)));
+      history.moveChangesToJournal();
+      historyWriter.startEvent("British take Germany");
+      performChange(ChangeFactory.changeOwner(germany, british(data)));
+
+      history.gotoNode(step);
+      assertThat(germany.getOwner(), is(sameInstance(germans(data))));
+
+      history.gotoNode(history.getLastNode());
+      assertThat(germany.getOwner(), is(sameInstance(british(data))));
+    }
+
+    @Test
+    void shouldRemoveJournalChangesAfterNode() throws Exception {
+      final HistoryWriter historyWriter = history.getHistoryWriter();
+      history.moveChangesToJournal();
+      historyWriter.startNextRound(1);
+      historyWriter.startNextStep("russianCombatMove", "move", russians(data), "Combat Move");
+      final HistoryNode step = history.getLastNode();
+      historyWriter.startEvent("Russians take Germany");
+      performChange(ChangeFactory.changeOwner(germany, russians(data)));
+      historyWriter.startEvent("British take Germany");
+      performChange(ChangeFactory.changeOwner(germany, british(data)));
+
+      history.removeAllHistoryAfterNode(step);
+
+      assertThat(germany.getOwner(), is(sameInstance(germans(data))));
+      assertThat(history.getChangeCount(), is(1));
+      assertThat(history.getLastNode().getTitle(), is("Russians take Germany"));
+    }
+
+    @Test
+    void gotoNodeShouldNotifyEachChangedTerritoryOnce() {
+      final HistoryWriter historyWriter = history.getHistoryWriter();
+      historyWriter.startNextRound(1);
+      historyWriter.startNextStep("russianCombatMove", "move", russians(data), "Combat Move");
+      final HistoryNode step = history.getLastNode();
+      historyWriter.startEvent("Russians take Germany");
+      performChange(ChangeFactory.changeOwner(germany, russians(data)));
+      historyWriter.startEvent("British take Germany");
+      performChange(ChangeFactory.changeOwner(germany, british(data)));
+      final List<Territory> ownerChanges = new ArrayList<>();
+      data.addTerritoryListener(new TerritoryListener() {
+        @Override
+        public void unitsChanged(final Territory territory) {}
+
+        @Override
+        public void ownerChanged(final Territory territory) {
+          ownerChanges.add(territory);
+        }
+
+        @Override
+        public void attachmentChanged(final Territory territory) {}
+      });
+
+      history.gotoNode(step);
+
+      assertThat(germany.getOwner(), is(sameInstance(germans(data))));
+      assertThat(ownerChanges, contains(germany));
+    }
+  }
+
+  @Nested
+  final class RoundNavigationTest {
+    private GameData data;
+    private History history;
+    private Territory germany;
+    private Territory poland;
+    private Unit unit;
+
+    @BeforeEach
+    void setUp() throws Exception {
+      data = TestMapGameData.WW2V3_1941.getGameData();
+      history = data.getHistory();
+      germany = territory("Germany", data);
+      poland = territory("Poland", data);
+      final List<Unit> units = infantry(data).create(1, germans(data));
+      data.performChange(ChangeFactory.addUnits(germany, units));
+      unit = units.get(0);
+    }
+
+    private void performChange(final Change change) {
+      data.performChange(change);
+      history.getHistoryWriter().addChange(change);
+    }
+
+    private HistoryNode playRound(final int round, final Territory from, final Territory to) {
+      final HistoryWriter historyWriter = history.getHistoryWriter();
+      historyWriter.startNextRound(round);
+      historyWriter.startNextStep("germanCombatMove", "move", germans(data), "Combat Move");
+      final HistoryNode step = history.getLastNode();
+      for (int i = 0; i < 10; i++) {
+        historyWriter.startEvent("Germans move back and forth");
+        performChange(ChangeFactory.moveUnits(from, to, Collections.singletonList(unit)));
+        performChange(ChangeFactory.moveUnits(to, from, Collections.singletonList(unit)));
+      }
+      historyWriter.startEvent("Germans move");
+      performChange(ChangeFactory.moveUnits(from, to, Collections.singletonList(unit)));
+      return step;
+    }
+
+    @Test
+    void gotoNodeShouldApplyCompactedChangesOfRoundsPassedOver() {
+      final HistoryNode firstStep = playRound(1, germany, poland);
+      playRound(2, poland, germany);
+      playRound(3, germany, poland);
+
+      final Change delta = history.getDelta(firstStep, history.getLastNode());
+      assertThat(((CompositeChange) delta).getChanges(), hasSize(2));
+
+      history.gotoNode(firstStep);
+      assertThat(germany.getUnitCollection().contains(unit), is(true));
+      assertThat(poland.getUnitCollection().contains(unit), is(false));
+
+      history.gotoNode(history.getLastNode());
+      assertThat(germany.getUnitCollection().contains(unit), is(false));
+      assertThat(poland.getUnitCollection().contains(unit), is(true));
+    }
+  }
+}
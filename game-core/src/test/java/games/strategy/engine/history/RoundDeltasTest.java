@@ -0,0 +1,147 @@
+package games.strategy.engine.history;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.british;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerId;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.xml.TestMapGameData;
+
+final class RoundDeltasTest {
+  private final RoundDeltas roundDeltas = new RoundDeltas();
+  private final CountingChangeLog changes = new CountingChangeLog();
+  private GameData data;
+  private Territory germany;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    data = TestMapGameData.REVISED.getGameData();
+    germany = territory("Germany", data);
+  }
+
+  private Change changeOwner(final PlayerId owner) {
+    final Change change = ChangeFactory.changeOwner(germany, owner);
+    data.performChange(change);
+    changes.add(change);
+    roundDeltas.changeAdded(change);
+    return change;
+  }
+
+  private static List<Change> getChanges(final Change change) {
+    return ((CompositeChange) change).getChanges();
+  }
+
+  @Test
+  void getDeltaShouldOnlyReadChangesOfRoundsNotEntirelyInRange() {
+    roundDeltas.roundStarted(0);
+    changeOwner(russians(data));
+    changeOwner(british(data));
+    roundDeltas.roundStarted(2);
+    changeOwner(germans(data));
+    changeOwner(russians(data));
+    roundDeltas.roundStarted(4);
+    changeOwner(british(data));
+
+    final Change delta = roundDeltas.getDelta(0, 5, changes);
+
+    assertThat(changes.readCount, is(1));
+    assertThat(getChanges(delta), hasSize(1));
+    data.performChange(delta.invert());
+    assertThat(germany.getOwner(), is(sameInstance(germans(data))));
+  }
+
+  @Test
+  void getDeltaShouldReadChangesOfRoundsPartlyInRange() {
+    roundDeltas.roundStarted(0);
+    changeOwner(russians(data));
+    changeOwner(british(data));
+    roundDeltas.roundStarted(2);
+    changeOwner(germans(data));
+
+    final Change delta = roundDeltas.getDelta(1, 3, changes);
+
+    assertThat(changes.readCount, is(2));
+    data.performChange(delta.invert());
+    assertThat(germany.getOwner(), is(sameInstance(russians(data))));
+  }
+
+  @Test
+  void buildShouldCompactChangesOfEachRound() {
+    changeOwner(russians(data));
+    changeOwner(british(data));
+    changeOwner(germans(data));
+    changeOwner(russians(data));
+
+    final RoundDeltas builtRoundDeltas = RoundDeltas.build(Arrays.asList(0, 2), changes);
+    final Change delta = builtRoundDeltas.getDelta(0, 4, changes);
+
+    assertThat(changes.readCount, is(6));
+    assertThat(getChanges(delta), hasSize(1));
+    data.performChange(delta.invert());
+    assertThat(germany.getOwner(), is(sameInstance(germans(data))));
+  }
+
+  @Test
+  void truncatedShouldCompactRemainingChangesOfLastRoundAgain() {
+    roundDeltas.roundStarted(0);
+    changeOwner(russians(data));
+    final Change secondChange = changeOwner(british(data));
+    roundDeltas.roundStarted(2);
+    final Change thirdChange = changeOwner(germans(data));
+    data.performChange(thirdChange.invert());
+    data.performChange(secondChange.invert());
+    changes.truncate(1);
+
+    roundDeltas.truncated(changes);
+    changeOwner(germans(data));
+    roundDeltas.roundStarted(2);
+    changeOwner(british(data));
+
+    assertThat(getChanges(roundDeltas.getDelta(0, 2, changes)), hasSize(0));
+    final Change delta = roundDeltas.getDelta(0, 3, changes);
+    data.performChange(delta.invert());
+    assertThat(germany.getOwner(), is(sameInstance(germans(data))));
+  }
+
+  private static final class CountingChangeLog implements ChangeLog {
+    private final ChangeLog changes = new InMemoryChangeLog();
+    private int readCount = 0;
+
+    @Override
+    public int size() {
+      return changes.size();
+    }
+
+    @Override
+    public void add(final Change change) {
+      changes.add(change);
+    }
+
+    @Override
+    public List<Change> get(final int fromIndex, final int toIndex) {
+      readCount += toIndex - fromIndex;
+      return changes.get(fromIndex, toIndex);
+    }
+
+    @Override
+    public void truncate(final int size) {
+      changes.truncate(size);
+    }
+  }
+}
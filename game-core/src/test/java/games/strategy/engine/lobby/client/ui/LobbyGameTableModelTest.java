@@ -6,6 +6,7 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -17,7 +18,10 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.triplea.java.Interruptibles;
+import org.triplea.lobby.common.GameDescriptionDelta;
+import org.triplea.lobby.common.GameListFrame;
 import org.triplea.lobby.common.ILobbyGameController;
+import org.triplea.lobby.common.ILobbyGameListController;
 import org.triplea.swing.SwingAction;
 import org.triplea.util.Tuple;
 
@@ -44,6 +48,8 @@ final class LobbyGameTableModelTest {
     private IRemoteMessenger mockRemoteMessenger;
     @Mock
     private ILobbyGameController mockLobbyController;
+    @Mock
+    private ILobbyGameListController mockLobbyGameListController;
     private Map<GUID, GameDescription> fakeGameMap;
     private Tuple<GUID, GameDescription> fakeGame;
     @Mock
@@ -57,6 +63,11 @@ final class LobbyGameTableModelTest {
       fakeGame = Tuple.of(new GUID(), mockGameDescription);
       fakeGameMap.put(fakeGame.getFirst(), fakeGame.getSecond());
 
+      // a lobby that does not support game list frames
+      Mockito.when(mockRemoteMessenger.getRemote(ILobbyGameListController.REMOTE_NAME))
+          .thenReturn(mockLobbyGameListController);
+      Mockito.when(mockLobbyGameListController.getGameListSince(-1))
+          .thenThrow(new RuntimeException("Exception on remote"));
       Mockito.when(mockRemoteMessenger.getRemote(ILobbyGameController.REMOTE_NAME))
           .thenReturn(mockLobbyController);
       Mockito.when(mockLobbyController.listGames()).thenReturn(fakeGameMap);
@@ -119,6 +130,102 @@ final class LobbyGameTableModelTest {
     }
   }
 
+  @ExtendWith(MockitoExtension.class)
+  @Nested
+  final class GameListFrameTest {
+    private LobbyGameTableModel testObj;
+    @Mock
+    private IMessenger mockMessenger;
+    @Mock
+    private IChannelMessenger mockChannelMessenger;
+    @Mock
+    private IRemoteMessenger mockRemoteMessenger;
+    @Mock
+    private ILobbyGameListController mockLobbyGameListController;
+    @Mock
+    private INode serverNode;
+    private final GUID gameId = new GUID();
+    private GameDescription description;
+    private int commentColumnIndex;
+
+    @BeforeEach
+    void setUp() {
+      description = new GameDescription();
+      description.setComment("comment");
+      Mockito.when(mockRemoteMessenger.getRemote(ILobbyGameListController.REMOTE_NAME))
+          .thenReturn(mockLobbyGameListController);
+      Mockito.when(mockLobbyGameListController.getGameListSince(-1))
+          .thenReturn(Collections.singletonList(
+              GameListFrame.snapshot(1, Collections.singletonMap(gameId, description))));
+      testObj = new LobbyGameTableModel(true, mockMessenger, mockChannelMessenger, mockRemoteMessenger);
+      Mockito.verify(mockRemoteMessenger, Mockito.never()).getRemote(ILobbyGameController.REMOTE_NAME);
+
+      MessageContext.setSenderNodeForThread(serverNode);
+      Mockito.when(mockMessenger.getServerNode()).thenReturn(serverNode);
+      waitForSwingThreads();
+      assertThat("games are loaded on init", testObj.getRowCount(), is(1));
+      commentColumnIndex = testObj.getColumnIndex(LobbyGameTableModel.Column.Comments);
+    }
+
+    private void waitForSwingThreads() {
+      Interruptibles.await(() -> SwingAction.invokeAndWait(Runnables.doNothing()));
+    }
+
+    private GameListFrame newUpdateFrame(final long baseVersion, final String comment) {
+      final GameDescription newDescription = (GameDescription) description.clone();
+      newDescription.setComment(comment);
+      return GameListFrame.changes(
+          baseVersion,
+          baseVersion + 1,
+          Collections.emptyMap(),
+          Collections.singletonMap(gameId, GameDescriptionDelta.between(description, newDescription)),
+          Collections.emptySet());
+    }
+
+    @Test
+    void updateFrameChangesOnlyUpdatedFields() {
+      testObj.getLobbyGameListBroadcaster().gameListChanged(newUpdateFrame(1, "new comment"));
+      waitForSwingThreads();
+
+      assertThat(testObj.getRowCount(), is(1));
+      assertThat(testObj.getValueAt(0, commentColumnIndex), is("new comment"));
+      assertThat(testObj.get(0).getGameName(), is(description.getGameName()));
+    }
+
+    @Test
+    void addAndRemoveFramesChangeRows() {
+      final GUID otherGameId = new GUID();
+      testObj.getLobbyGameListBroadcaster().gameListChanged(GameListFrame.changes(
+          1, 2, Collections.singletonMap(otherGameId, new GameDescription()), Collections.emptyMap(),
+          Collections.emptySet()));
+      testObj.getLobbyGameListBroadcaster().gameListChanged(GameListFrame.changes(
+          2, 3, Collections.emptyMap(), Collections.emptyMap(), Collections.singleton(gameId)));
+      waitForSwingThreads();
+
+      assertThat(testObj.getRowCount(), is(1));
+      assertThat(testObj.getValueAt(0, testObj.getColumnIndex(LobbyGameTableModel.Column.GUID)), is(otherGameId));
+    }
+
+    @Test
+    void staleFrameIsIgnored() {
+      testObj.getLobbyGameListBroadcaster().gameListChanged(newUpdateFrame(0, "stale comment"));
+      waitForSwingThreads();
+
+      assertThat(testObj.getValueAt(0, commentColumnIndex), is("comment"));
+    }
+
+    @Test
+    void frameAfterGapFetchesMissedFrames() {
+      Mockito.when(mockLobbyGameListController.getGameListSince(1))
+          .thenReturn(Collections.singletonList(newUpdateFrame(1, "missed comment")));
+
+      testObj.getLobbyGameListBroadcaster().gameListChanged(newUpdateFrame(2, "latest comment"));
+      waitForSwingThreads();
+
+      Mockito.verify(mockLobbyGameListController, Mockito.timeout(5_000)).getGameListSince(1);
+    }
+  }
+
   @Nested
   final class FormatBotStartTimeTest {
     @Test
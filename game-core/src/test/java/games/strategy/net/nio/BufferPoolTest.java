@@ -0,0 +1,72 @@
+package games.strategy.net.nio;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+final class BufferPoolTest {
+  private final BufferPool pool = new BufferPool();
+
+  @Nested
+  final class AcquireTest {
+    @Test
+    void shouldReturnDirectBufferLimitedToRequestedSize() {
+      final ByteBuffer buffer = pool.acquire(5000);
+
+      assertThat(buffer.isDirect(), is(true));
+      assertThat(buffer.capacity(), is(8192));
+      assertThat(buffer.position(), is(0));
+      assertThat(buffer.limit(), is(5000));
+    }
+
+    @Test
+    void shouldReuseReleasedBuffer() {
+      final ByteBuffer buffer = pool.acquire(100);
+      buffer.put((byte) 1);
+      pool.release(buffer);
+
+      final ByteBuffer reused = pool.acquire(4000);
+
+      assertThat(reused, is(sameInstance(buffer)));
+      assertThat(reused.position(), is(0));
+      assertThat(reused.limit(), is(4000));
+    }
+
+    @Test
+    void shouldNotPoolLargeBuffers() {
+      final ByteBuffer buffer = pool.acquire(2 * 1024 * 1024);
+      pool.release(buffer);
+
+      assertThat(buffer.isDirect(), is(false));
+      assertThat(pool.acquire(2 * 1024 * 1024), is(not(sameInstance(buffer))));
+    }
+  }
+
+  @Nested
+  final class StreamTest {
+    @Test
+    void shouldReadBackBytesWrittenBeyondInitialBuffer() throws Exception {
+      final byte[] bytes = new byte[10000];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = (byte) i;
+      }
+      final PooledBufferOutputStream os = new PooledBufferOutputStream(pool);
+      os.write(bytes[0]);
+      os.write(bytes, 1, bytes.length - 1);
+      final ByteBuffer buffer = os.toBuffer();
+
+      final InputStream is = new ByteBufferInputStream(buffer);
+      final byte[] bytesRead = new byte[bytes.length];
+      assertThat(is.read(bytesRead, 0, bytesRead.length), is(bytes.length));
+      assertThat(bytesRead, is(bytes));
+      assertThat(is.read(), is(-1));
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package games.strategy.net.nio;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.chat.IChatChannel;
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerId;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.framework.GameObjectStreamFactory;
+import games.strategy.engine.framework.IGame;
+import games.strategy.engine.framework.IGameModifiedChannel;
+import games.strategy.engine.message.HubInvoke;
+import games.strategy.engine.message.RemoteMethodCall;
+import games.strategy.net.DefaultObjectStreamFactory;
+import games.strategy.net.GUID;
+import games.strategy.net.IObjectStreamFactory;
+import games.strategy.net.Node;
+import games.strategy.triplea.ui.display.ITripleADisplay;
+import games.strategy.triplea.xml.TestMapGameData;
+
+final class CompactObjectStreamTest {
+  private final IObjectStreamFactory objectStreamFactory = new DefaultObjectStreamFactory();
+
+  private byte[] writeCompact(final Object object) throws Exception {
+    return writeCompact(object, objectStreamFactory);
+  }
+
+  private static byte[] writeCompact(final Object object, final IObjectStreamFactory objectStreamFactory)
+      throws Exception {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (CompactObjectOutput out = new CompactObjectOutput(bytes, objectStreamFactory)) {
+      out.writeObject(object);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static byte[] writeJava(final Object object, final IObjectStreamFactory objectStreamFactory)
+      throws Exception {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = objectStreamFactory.create(bytes)) {
+      out.writeObject(object);
+    }
+    return bytes.toByteArray();
+  }
+
+  private Object roundTrip(final Object object) throws Exception {
+    try (CompactObjectInput in =
+        new CompactObjectInput(new ByteArrayInputStream(writeCompact(object)), objectStreamFactory)) {
+      return in.readObject();
+    }
+  }
+
+  private static HubInvoke newChatInvoke() throws Exception {
+    final RemoteMethodCall call = new RemoteMethodCall("_ChatCtrl_games.strategy.engine.lobby.server",
+        "chatOccured", new Object[] {"hello everyone"}, new Class<?>[] {String.class}, IChatChannel.class);
+    return new HubInvoke(new GUID(), true, call);
+  }
+
+  @Test
+  void shouldReadRegisteredTypes() throws Exception {
+    final GUID guid = new GUID();
+    final Node node = new Node("player", InetAddress.getLoopbackAddress(), 3300);
+
+    assertThat(roundTrip(null), is(nullValue()));
+    assertThat(roundTrip("héllo"), is("héllo"));
+    assertThat(roundTrip(-1), is(-1));
+    assertThat(roundTrip(Integer.MIN_VALUE), is(Integer.MIN_VALUE));
+    assertThat(roundTrip(Long.MAX_VALUE), is(Long.MAX_VALUE));
+    assertThat(roundTrip(true), is(true));
+    assertThat(roundTrip(guid), is(guid));
+    assertThat(roundTrip(node), is(node));
+  }
+
+  @Test
+  void shouldReadUnregisteredTypesUsingJavaSerialization() throws Exception {
+    final ArrayList<String> list = new ArrayList<>(Arrays.asList("a", "b"));
+
+    assertThat(roundTrip(list), is(list));
+  }
+
+  @Test
+  void shouldReadInvoke() throws Exception {
+    final HubInvoke invoke = newChatInvoke();
+
+    final HubInvoke read = (HubInvoke) roundTrip(invoke);
+
+    assertThat(read.methodCallId, is(invoke.methodCallId));
+    assertThat(read.needReturnValues, is(true));
+    assertThat(read.call.getRemoteName(), is(invoke.call.getRemoteName()));
+    assertThat(read.call.getArgs(), arrayContaining("hello everyone"));
+  }
+
+  @Test
+  void shouldWriteFewerBytesThanJavaSerialization() throws Exception {
+    final HubInvoke invoke = newChatInvoke();
+
+    assertThat(writeCompact(invoke).length, is(lessThan(writeJava(invoke, objectStreamFactory).length)));
+  }
+
+  @Nested
+  final class GameMessageTest {
+    private GameData data;
+    private IObjectStreamFactory gameObjectStreamFactory;
+    private PlayerId germans;
+    private List<Unit> units;
+    private Change change;
+
+    @BeforeEach
+    void setUp() throws Exception {
+      data = TestMapGameData.WW2V3_1941.getGameData();
+      gameObjectStreamFactory = new GameObjectStreamFactory(data);
+      germans = germans(data);
+      units = infantry(data).create(3, germans);
+      change = new CompositeChange(
+          ChangeFactory.addUnits(territory("Germany", data), units),
+          ChangeFactory.markNoMovementChange(units));
+      data.performChange(change);
+    }
+
+    private HubInvoke newGameDataChanged() {
+      return new HubInvoke(new GUID(), false, new RemoteMethodCall(IGame.GAME_MODIFICATION_CHANNEL.getName(),
+          "gameDataChanged", new Object[] {change}, new Class<?>[] {Change.class}, IGameModifiedChannel.class));
+    }
+
+    private HubInvoke newChangedUnitsNotification() {
+      final Map<Unit, Collection<Unit>> dependents = new HashMap<>();
+      dependents.put(units.get(0), new ArrayList<>(units.subList(1, 3)));
+      return new HubInvoke(new GUID(), false, new RemoteMethodCall(
+          "games.strategy.engine.framework.AbstractGame.DISPLAY_CHANNEL", "changedUnitsNotification",
+          new Object[] {new GUID(), germans, units, units, dependents},
+          new Class<?>[] {GUID.class, PlayerId.class, Collection.class, Collection.class, Map.class},
+          ITripleADisplay.class));
+    }
+
+    @Test
+    void shouldWriteFewerBytesThanJavaSerialization() throws Exception {
+      for (final HubInvoke invoke : Arrays.asList(newGameDataChanged(), newChangedUnitsNotification())) {
+        assertThat(
+            writeCompact(invoke, gameObjectStreamFactory).length,
+            is(lessThan(writeJava(invoke, gameObjectStreamFactory).length)));
+      }
+    }
+
+    @Test
+    void shouldPreserveIdentityOfObjectsSharedBetweenArguments() throws Exception {
+      final byte[] bytes = writeCompact(newChangedUnitsNotification(), gameObjectStreamFactory);
+
+      final Object[] args;
+      try (CompactObjectInput in = new CompactObjectInput(new ByteArrayInputStream(bytes), gameObjectStreamFactory)) {
+        args = ((HubInvoke) in.readObject()).call.getArgs();
+      }
+
+      assertThat(args[1], is(sameInstance(germans)));
+      assertThat(args[2], is(units));
+      assertThat(args[3], is(sameInstance(args[2])));
+    }
+  }
+}
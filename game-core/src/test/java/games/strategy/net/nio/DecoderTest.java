@@ -0,0 +1,177 @@
+package games.strategy.net.nio;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+final class DecoderTest {
+  @Mock
+  private NioReader reader;
+  private final BufferPool bufferPool = new BufferPool();
+  private final List<SocketChannel> channels = new ArrayList<>();
+  private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+  @AfterEach
+  void closeChannels() throws IOException {
+    for (final SocketChannel channel : channels) {
+      channel.close();
+    }
+  }
+
+  private SocketChannel newChannel() throws IOException {
+    final SocketChannel channel = SocketChannel.open();
+    channels.add(channel);
+    return channel;
+  }
+
+  private SocketReadData newPacket(final SocketChannel channel) {
+    return new SocketReadData(channel, bufferPool);
+  }
+
+  private void runTasks() {
+    while (!tasks.isEmpty()) {
+      tasks.remove().run();
+    }
+  }
+
+  @Nested
+  final class OrderingTest {
+    private static final int CHANNEL_COUNT = 4;
+    private static final int PACKETS_PER_CHANNEL = 500;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutDownExecutor() {
+      executor.shutdownNow();
+    }
+
+    @Test
+    void shouldDecodePacketsOfEachChannelOneAtATimeInOrderRead() throws Exception {
+      final Map<SocketChannel, List<SocketReadData>> decodedPackets = new ConcurrentHashMap<>();
+      final Set<SocketChannel> decodingChannels = ConcurrentHashMap.newKeySet();
+      final AtomicBoolean overlapped = new AtomicBoolean(false);
+      final CountDownLatch allDecoded = new CountDownLatch(CHANNEL_COUNT * PACKETS_PER_CHANNEL);
+      final Decoder decoder = new Decoder(reader, executor, packet -> {
+        if (!decodingChannels.add(packet.getChannel())) {
+          overlapped.set(true);
+        }
+        decodedPackets.computeIfAbsent(packet.getChannel(), k -> Collections.synchronizedList(new ArrayList<>()))
+            .add(packet);
+        Thread.yield();
+        decodingChannels.remove(packet.getChannel());
+        allDecoded.countDown();
+      });
+      final Map<SocketChannel, List<SocketReadData>> readPackets = new ConcurrentHashMap<>();
+      for (int i = 0; i < CHANNEL_COUNT; i++) {
+        readPackets.put(newChannel(), new ArrayList<>());
+      }
+
+      for (int i = 0; i < PACKETS_PER_CHANNEL; i++) {
+        for (final Map.Entry<SocketChannel, List<SocketReadData>> entry : readPackets.entrySet()) {
+          final SocketReadData packet = newPacket(entry.getKey());
+          entry.getValue().add(packet);
+          decoder.add(packet);
+        }
+      }
+
+      assertThat(allDecoded.await(10, TimeUnit.SECONDS), is(true));
+      assertThat(overlapped.get(), is(false));
+      assertThat(decodedPackets, is(readPackets));
+    }
+  }
+
+  @Nested
+  final class BackPressureTest {
+    @Test
+    void shouldPauseChannelAtLimitAndResumeOnceHalfDecoded() throws Exception {
+      final SocketChannel channel = newChannel();
+      final Decoder decoder = new Decoder(reader, tasks::add, packet -> {});
+
+      for (int i = 0; i < Decoder.MAX_QUEUED_PACKETS - 1; i++) {
+        assertThat(decoder.add(newPacket(channel)), is(false));
+      }
+      assertThat(decoder.add(newPacket(channel)), is(true));
+      verify(reader, never()).resume(channel);
+
+      runTasks();
+
+      verify(reader).resume(channel);
+      assertThat(decoder.getMetrics(channel).get().getQueuedPackets(), is(0));
+      assertThat(decoder.getMetrics(channel).get().getDecodedMessages(), is((long) Decoder.MAX_QUEUED_PACKETS));
+    }
+
+    @Test
+    void shouldNotPauseOtherChannels() throws Exception {
+      final SocketChannel channel = newChannel();
+      final SocketChannel otherChannel = newChannel();
+      final Decoder decoder = new Decoder(reader, tasks::add, packet -> {});
+      for (int i = 0; i < Decoder.MAX_QUEUED_PACKETS; i++) {
+        decoder.add(newPacket(channel));
+      }
+
+      assertThat(decoder.add(newPacket(otherChannel)), is(false));
+    }
+  }
+
+  @Nested
+  final class ClosedTest {
+    @Test
+    void shouldDiscardQueuedPacketsOfClosedChannel() throws Exception {
+      final SocketChannel channel = newChannel();
+      final List<SocketReadData> decodedPackets = new ArrayList<>();
+      final Decoder decoder = new Decoder(reader, tasks::add, decodedPackets::add);
+      decoder.add(newPacket(channel));
+      decoder.add(newPacket(channel));
+
+      channel.close();
+      decoder.closed(channel);
+      runTasks();
+
+      assertThat(decodedPackets, is(empty()));
+      assertThat(decoder.getMetrics(channel), is(Optional.empty()));
+    }
+
+    @Test
+    void shouldDropPacketsReadAfterChannelClosed() throws Exception {
+      final SocketChannel channel = newChannel();
+      final List<SocketReadData> decodedPackets = new ArrayList<>();
+      final Decoder decoder = new Decoder(reader, tasks::add, decodedPackets::add);
+      channel.close();
+      decoder.closed(channel);
+
+      assertThat(decoder.add(newPacket(channel)), is(false));
+      runTasks();
+
+      assertThat(decodedPackets, is(empty()));
+      assertThat(decoder.getMetrics(channel), is(Optional.empty()));
+    }
+  }
+}
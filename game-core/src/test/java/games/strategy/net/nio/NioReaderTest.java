@@ -0,0 +1,90 @@
+package games.strategy.net.nio;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+final class NioReaderTest {
+  private static final long TIMEOUT_MILLIS = 5_000;
+
+  @Mock
+  private Decoder decoder;
+  @Mock
+  private ErrorReporter errorReporter;
+  private ServerSocketChannel serverChannel;
+  private SocketChannel clientChannel;
+  private SocketChannel channel;
+  private NioReader reader;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    serverChannel = ServerSocketChannel.open();
+    serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    clientChannel = SocketChannel.open(serverChannel.getLocalAddress());
+    channel = serverChannel.accept();
+    channel.configureBlocking(false);
+    reader = new NioReader(errorReporter, new BufferPool(), "test");
+    reader.setDecoder(decoder);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    reader.shutDown();
+    channel.close();
+    clientChannel.close();
+    serverChannel.close();
+  }
+
+  private void writePacket() throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(5);
+    buffer.putInt(SocketReadData.MAGIC | 1);
+    buffer.put((byte) 0);
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      clientChannel.write(buffer);
+    }
+  }
+
+  @Test
+  void shouldStopReadingChannelPausedByDecoderUntilResumed() throws Exception {
+    when(decoder.add(any())).thenReturn(true);
+    reader.add(channel);
+    writePacket();
+    verify(decoder, timeout(TIMEOUT_MILLIS)).add(any());
+
+    writePacket();
+    verify(decoder, after(500).times(1)).add(any());
+
+    reader.resume(channel);
+    verify(decoder, timeout(TIMEOUT_MILLIS).times(2)).add(any());
+  }
+
+  @Test
+  void shouldKeepReadingChannelNotPausedByDecoder() throws Exception {
+    when(decoder.add(any())).thenReturn(false);
+    reader.add(channel);
+
+    writePacket();
+    writePacket();
+
+    verify(decoder, timeout(TIMEOUT_MILLIS).times(2)).add(any());
+  }
+}
@@ -0,0 +1,60 @@
+package games.strategy.triplea.attachments;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.aaGun;
+import static games.strategy.triplea.delegate.GameDataTestUtil.fighter;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerId;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.xml.TestMapGameData;
+
+final class TechBonusTableTest {
+  private GameData gameData;
+  private PlayerId germans;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    gameData = TestMapGameData.WW2V3_1941.getGameData();
+    germans = germans(gameData);
+  }
+
+  @Test
+  void shouldIncludeTechGainedThroughChange() {
+    final UnitAttachment fighterAttachment = UnitAttachment.get(fighter(gameData));
+    final int attack = fighterAttachment.getAttack(germans);
+    final int airAttack = fighterAttachment.getAirAttack(germans);
+
+    gameData.performChange(ChangeFactory.attachmentPropertyChange(TechAttachment.get(germans), "true", "jetPower"));
+
+    assertThat(fighterAttachment.getAttack(germans), is(attack + 1));
+    assertThat(fighterAttachment.getAirAttack(germans), is(airAttack + 1));
+  }
+
+  @Test
+  void shouldIncludeTechSetDirectly() {
+    final UnitAttachment aaGunAttachment = UnitAttachment.get(aaGun(gameData));
+    final int attackAa = aaGunAttachment.getAttackAa(germans);
+
+    TechAttachment.get(germans).setAaRadar("true");
+
+    assertThat(aaGunAttachment.getAttackAa(germans), is(attackAa + 1));
+  }
+
+  @Test
+  void shouldKeepTableWhenChangeDoesNotTouchAttachments() {
+    final TechBonusTable table = gameData.getTechBonusTable();
+
+    gameData.performChange(ChangeFactory.addUnits(
+        gameData.getMap().getTerritory("Germany"), infantry(gameData).create(1, germans)));
+
+    assertThat(gameData.getTechBonusTable(), is(sameInstance(table)));
+  }
+}
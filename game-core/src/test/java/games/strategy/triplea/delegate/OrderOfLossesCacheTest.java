@@ -0,0 +1,81 @@
+package games.strategy.triplea.delegate;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerId;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.UnitType;
+import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.triplea.xml.TestMapGameData;
+
+final class OrderOfLossesCacheTest {
+  private GameData gameData;
+  private PlayerId germans;
+  private Territory germany;
+  private UnitType infantry;
+  private UnitType artillery;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    gameData = TestMapGameData.WW2V3_1941.getGameData();
+    germans = germans(gameData);
+    germany = territory("Germany", gameData);
+    infantry = infantry(gameData);
+    artillery = gameData.getUnitTypeList().getUnitType("artillery");
+  }
+
+  private OrderOfLossesCache.Key newKey(final List<UnitType> targetTypes) {
+    return new OrderOfLossesCache.Key(germans, germany, true, false, targetTypes, Collections.emptyList());
+  }
+
+  @Test
+  void shouldMatchKeysWithSameUnitTypesInAnyOrder() {
+    final OrderOfLossesCache cache = new OrderOfLossesCache();
+    cache.put(newKey(Arrays.asList(infantry, artillery, infantry)), Arrays.asList(infantry, artillery, infantry));
+
+    assertThat(cache.get(newKey(Arrays.asList(artillery, infantry, infantry))),
+        contains(infantry, artillery, infantry));
+    assertThat(cache.get(newKey(Arrays.asList(artillery, artillery, infantry))), is(nullValue()));
+    assertThat(cache.get(newKey(Arrays.asList(artillery, infantry))), is(nullValue()));
+    assertThat(cache.getHitCount(), is(1L));
+    assertThat(cache.getMissCount(), is(2L));
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedEntry() {
+    final OrderOfLossesCache cache = new OrderOfLossesCache(2);
+    cache.put(newKey(Arrays.asList(infantry)), Arrays.asList(infantry));
+    cache.put(newKey(Arrays.asList(artillery)), Arrays.asList(artillery));
+    cache.get(newKey(Arrays.asList(infantry)));
+
+    cache.put(newKey(Arrays.asList(infantry, artillery)), Arrays.asList(infantry, artillery));
+
+    assertThat(cache.size(), is(2));
+    assertThat(cache.getEvictionCount(), is(1L));
+    assertThat(cache.get(newKey(Arrays.asList(artillery))), is(nullValue()));
+    assertThat(cache.get(newKey(Arrays.asList(infantry))), contains(infantry));
+  }
+
+  @Test
+  void shouldNotBeSharedWithCopiesOfGameData() {
+    final GameData copy = GameDataUtils.cloneGameData(gameData);
+
+    assertThat(copy.getOrderOfLossesCache(), is(not(sameInstance(gameData.getOrderOfLossesCache()))));
+  }
+}
@@ -0,0 +1,106 @@
+package games.strategy.triplea.odds.calculator;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.armour;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.triplea.java.collections.IntegerMap;
+import org.triplea.util.Tuple;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.delegate.BattleResults;
+import games.strategy.triplea.delegate.IBattle.WhoWon;
+import games.strategy.triplea.xml.TestMapGameData;
+
+class AggregateResultsTest {
+  private GameData gameData;
+  private List<Unit> attackers;
+  private List<Unit> defenders;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    attackers = new ArrayList<>(infantry(gameData).create(2, russians(gameData)));
+    attackers.addAll(armour(gameData).create(1, russians(gameData)));
+    defenders = infantry(gameData).create(3, germans(gameData));
+  }
+
+  private BattleResults attackerWon(final int unitsLeft) {
+    return new BattleResults(2, attackers.subList(0, unitsLeft), Collections.emptyList(), WhoWon.ATTACKER, gameData);
+  }
+
+  private BattleResults defenderWon(final int unitsLeft) {
+    return new BattleResults(3, Collections.emptyList(), defenders.subList(0, unitsLeft), WhoWon.DEFENDER, gameData);
+  }
+
+  @Test
+  void shouldAccumulateStatistics() {
+    final AggregateResults results = new AggregateResults();
+    results.addResult(attackerWon(3));
+    results.addResult(attackerWon(1));
+    results.addResult(defenderWon(2));
+    results.addResult(new BattleResults(1, Collections.emptyList(), Collections.emptyList(), WhoWon.DEFENDER,
+        gameData));
+
+    assertEquals(4, results.getRollCount());
+    assertEquals(0.5, results.getAttackerWinPercent());
+    assertEquals(0.25, results.getDefenderWinPercent());
+    assertEquals(0.25, results.getDrawPercent());
+    assertEquals(1.0, results.getAverageAttackingUnitsLeft());
+    assertEquals(0.5, results.getAverageDefendingUnitsLeft());
+    assertEquals(2.0, results.getAverageAttackingUnitsLeftWhenAttackerWon());
+    assertEquals(2.0, results.getAverageDefendingUnitsLeftWhenDefenderWon());
+    assertEquals(2.0, results.getAverageBattleRoundsFought());
+  }
+
+  @Test
+  void shouldComputeAverageTuvFromUnitTypesLeft() {
+    final AggregateResults results = new AggregateResults();
+    results.addResult(attackerWon(3));
+    results.addResult(defenderWon(2));
+    final IntegerMap<UnitType> costs = new IntegerMap<>();
+    costs.put(infantry(gameData), 3);
+    costs.put(armour(gameData), 5);
+
+    final Tuple<Double, Double> tuv = results.getAverageTuvOfUnitsLeftOver(costs, costs);
+
+    assertEquals((3 + 3 + 5) / 2.0, tuv.getFirst());
+    assertEquals((3 + 3) / 2.0, tuv.getSecond());
+  }
+
+  @Test
+  void shouldMergeResultsOfOtherInstance() {
+    final AggregateResults first = new AggregateResults();
+    first.addResult(attackerWon(3));
+    final AggregateResults second = new AggregateResults();
+    second.addResult(defenderWon(1));
+    second.addResult(defenderWon(3));
+
+    first.addResults(second);
+
+    assertEquals(3, first.getRollCount());
+    assertEquals(1 / 3.0, first.getAttackerWinPercent(), 0.0001);
+    assertEquals(2 / 3.0, first.getDefenderWinPercent(), 0.0001);
+    assertEquals(4 / 3.0, first.getAverageDefendingUnitsLeft(), 0.0001);
+  }
+
+  @Test
+  void shouldPickSampledResultClosestToAverage() {
+    final AggregateResults results = new AggregateResults();
+    results.addResult(attackerWon(3));
+    results.addResult(attackerWon(2));
+    results.addResult(attackerWon(1));
+
+    assertEquals(attackers.subList(0, 2), results.getAverageAttackingUnitsRemaining());
+  }
+}
@@ -0,0 +1,118 @@
+package games.strategy.triplea.odds.calculator;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.armour;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerId;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.delegate.TerritoryEffectHelper;
+import games.strategy.triplea.xml.TestMapGameData;
+
+class CachingOddsCalculatorTest {
+  private static final int RUN_COUNT = 50;
+
+  private GameData gameData;
+  private PlayerId russians;
+  private PlayerId germans;
+  private Territory germany;
+  private CachingOddsCalculator calculator;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    russians = russians(gameData);
+    germans = germans(gameData);
+    germany = territory("Germany", gameData);
+    calculator = new CachingOddsCalculator(new OddsCalculator(null), 2);
+    calculator.setGameData(gameData);
+  }
+
+  @AfterEach
+  void tearDown() {
+    calculator.shutdown();
+  }
+
+  private AggregateResults calculate(final List<Unit> attacking, final List<Unit> defending) {
+    return calculator.setCalculateDataAndCalculate(russians, germans, germany, attacking, defending,
+        Collections.emptyList(), TerritoryEffectHelper.getEffects(germany), RUN_COUNT);
+  }
+
+  private List<Unit> attackers() {
+    final List<Unit> attacking = infantry(gameData).create(4, russians);
+    attacking.addAll(armour(gameData).create(4, russians));
+    return attacking;
+  }
+
+  @Test
+  void shouldReuseResultsForBattleWithSameSignature() {
+    final List<Unit> defending = infantry(gameData).create(2, germans);
+    final AggregateResults first = calculate(attackers(), defending);
+    final List<Unit> attacking = attackers();
+    final AggregateResults second = calculate(attacking, infantry(gameData).create(2, germans));
+
+    assertEquals(1, calculator.getMissCount());
+    assertEquals(1, calculator.getHitCount());
+    assertEquals(first.getAttackerWinPercent(), second.getAttackerWinPercent());
+    assertEquals(first.getRollCount(), second.getRollCount());
+    assertEquals(first.getAverageAttackingUnitsRemaining().size(), second.getAverageAttackingUnitsRemaining().size());
+    assertTrue(attacking.containsAll(second.getAverageAttackingUnitsRemaining()));
+  }
+
+  @Test
+  void shouldMissForBattleWithDifferentOptions() {
+    calculate(attackers(), infantry(gameData).create(2, germans));
+    calculator.setRetreatAfterRound(1);
+    calculate(attackers(), infantry(gameData).create(2, germans));
+
+    assertEquals(2, calculator.getMissCount());
+    assertEquals(0, calculator.getHitCount());
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedResults() {
+    calculate(attackers(), infantry(gameData).create(1, germans));
+    calculate(attackers(), infantry(gameData).create(2, germans));
+    calculate(attackers(), infantry(gameData).create(1, germans));
+    calculate(attackers(), infantry(gameData).create(3, germans));
+
+    assertEquals(1, calculator.getEvictionCount());
+    assertEquals(2, calculator.getSize());
+    calculate(attackers(), infantry(gameData).create(1, germans));
+    assertEquals(2, calculator.getHitCount());
+  }
+
+  @Test
+  void shouldKeepResultsWhenUnitsChange() {
+    calculate(attackers(), infantry(gameData).create(2, germans));
+    gameData.performChange(ChangeFactory.addUnits(germany, infantry(gameData).create(1, germans)));
+
+    assertEquals(1, calculator.getSize());
+  }
+
+  @Test
+  void shouldInvalidateWhenAttachmentsChange() {
+    calculate(attackers(), infantry(gameData).create(2, germans));
+    gameData.performChange(
+        ChangeFactory.attachmentPropertyChange(UnitAttachment.get(infantry(gameData)), "3", "defense"));
+
+    assertEquals(0, calculator.getSize());
+    calculate(attackers(), infantry(gameData).create(2, germans));
+    assertEquals(2, calculator.getMissCount());
+  }
+}
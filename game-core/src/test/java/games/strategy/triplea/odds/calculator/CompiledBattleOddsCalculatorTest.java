@@ -0,0 +1,133 @@
+package games.strategy.triplea.odds.calculator;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.aaGun;
+import static games.strategy.triplea.delegate.GameDataTestUtil.armour;
+import static games.strategy.triplea.delegate.GameDataTestUtil.battleship;
+import static games.strategy.triplea.delegate.GameDataTestUtil.fighter;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerId;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.TerritoryEffectHelper;
+import games.strategy.triplea.xml.TestMapGameData;
+
+class CompiledBattleOddsCalculatorTest {
+  private static final int RUN_COUNT = 2000;
+
+  private GameData gameData;
+  private PlayerId russians;
+  private PlayerId germans;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    gameData = TestMapGameData.REVISED.getGameData();
+    russians = russians(gameData);
+    germans = germans(gameData);
+  }
+
+  private static AggregateResults calculate(final IOddsCalculator calculator, final PlayerId attacker,
+      final PlayerId defender, final Territory location, final List<Unit> attacking, final List<Unit> defending) {
+    final AggregateResults results = calculator.setCalculateDataAndCalculate(attacker, defender, location, attacking,
+        defending, Collections.emptyList(), TerritoryEffectHelper.getEffects(location), RUN_COUNT);
+    calculator.shutdown();
+    return results;
+  }
+
+  @Test
+  void shouldMatchFullBattleEngineForPlainLandBattle() {
+    final Territory germany = territory("Germany", gameData);
+    final List<Unit> attacking = infantry(gameData).create(6, russians);
+    attacking.addAll(armour(gameData).create(3, russians));
+    final List<Unit> defending = infantry(gameData).create(6, germans);
+    defending.addAll(fighter(gameData).create(1, germans));
+
+    final CompiledBattleOddsCalculator compiled = new CompiledBattleOddsCalculator(new OddsCalculator(gameData));
+    compiled.setGameData(gameData);
+    final AggregateResults fast = calculate(compiled, russians, germans, germany, attacking, defending);
+    final AggregateResults full =
+        calculate(new OddsCalculator(gameData), russians, germans, germany, attacking, defending);
+
+    assertEquals(RUN_COUNT, fast.getRollCount());
+    assertEquals(full.getAttackerWinPercent(), fast.getAttackerWinPercent(), 0.06);
+    assertEquals(full.getDefenderWinPercent(), fast.getDefenderWinPercent(), 0.06);
+    assertEquals(full.getAverageAttackingUnitsLeft(), fast.getAverageAttackingUnitsLeft(), 0.5);
+    assertEquals(full.getAverageDefendingUnitsLeft(), fast.getAverageDefendingUnitsLeft(), 0.5);
+    assertEquals(full.getAverageBattleRoundsFought(), fast.getAverageBattleRoundsFought(), 0.3);
+  }
+
+  @Test
+  void shouldAbsorbExtraHitPointsFirst() {
+    final Territory seaZone = territory("5 Sea Zone", gameData);
+    final List<Unit> attacking = battleship(gameData).create(1, russians);
+    final List<Unit> defending = fighter(gameData).create(1, germans);
+    final CompiledBattleOddsCalculator compiled = new CompiledBattleOddsCalculator(new OddsCalculator(gameData));
+    compiled.setGameData(gameData);
+
+    final AggregateResults fast = calculate(compiled, russians, germans, seaZone, attacking, defending);
+    final AggregateResults full =
+        calculate(new OddsCalculator(gameData), russians, germans, seaZone, attacking, defending);
+
+    assertEquals(full.getAttackerWinPercent(), fast.getAttackerWinPercent(), 0.06);
+  }
+
+  @Test
+  void shouldFallBackToFullBattleEngineForAa() {
+    final Territory germany = territory("Germany", gameData);
+    final List<Unit> attacking = fighter(gameData).create(3, russians);
+    final List<Unit> defending = infantry(gameData).create(1, germans);
+    defending.addAll(aaGun(gameData).create(1, germans));
+    final CompiledBattleOddsCalculator compiled = new CompiledBattleOddsCalculator(new OddsCalculator(gameData));
+    compiled.setGameData(gameData);
+
+    compiled.setCalculateData(russians, germans, germany, attacking, defending, Collections.emptyList(),
+        TerritoryEffectHelper.getEffects(germany), 10);
+
+    assertFalse(compiled.isCompiled());
+    assertEquals(10, compiled.calculate().getRollCount());
+  }
+
+  @Test
+  void shouldNotCarryCancellationOfFallbackCalculationOverToNextCalculation() {
+    final Territory germany = territory("Germany", gameData);
+    final List<Unit> defending = infantry(gameData).create(1, germans);
+    defending.addAll(aaGun(gameData).create(1, germans));
+    final CompiledBattleOddsCalculator compiled = new CompiledBattleOddsCalculator(new OddsCalculator(gameData));
+    compiled.setGameData(gameData);
+    compiled.setCalculateData(russians, germans, germany, fighter(gameData).create(3, russians), defending,
+        Collections.emptyList(), TerritoryEffectHelper.getEffects(germany), 10);
+    compiled.cancel();
+    compiled.calculate();
+
+    compiled.setCalculateData(russians, germans, germany, armour(gameData).create(2, russians),
+        infantry(gameData).create(2, germans), Collections.emptyList(), TerritoryEffectHelper.getEffects(germany), 10);
+
+    assertTrue(compiled.isCompiled());
+    assertEquals(10, compiled.calculate().getRollCount());
+  }
+
+  @Test
+  void shouldCompilePlainBattle() {
+    final Territory germany = territory("Germany", gameData);
+    final CompiledBattleOddsCalculator compiled = new CompiledBattleOddsCalculator(new OddsCalculator(gameData));
+    compiled.setGameData(gameData);
+
+    compiled.setCalculateData(russians, germans, germany, armour(gameData).create(2, russians),
+        infantry(gameData).create(2, germans), Collections.emptyList(), TerritoryEffectHelper.getEffects(germany), 10);
+
+    assertTrue(compiled.isCompiled());
+  }
+}
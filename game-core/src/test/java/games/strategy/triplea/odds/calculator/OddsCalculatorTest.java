@@ -49,6 +49,23 @@ public class OddsCalculatorTest {
     assertTrue(results.getDrawPercent() < 0.1);
   }
 
+  @Test
+  public void testStoppingCriterionStopsUnbalancedFightEarly() {
+    final Territory germany = gameData.getMap().getTerritory("Germany");
+    final Collection<Unit> defendingUnits = new ArrayList<>(germany.getUnits());
+    final PlayerId russians = GameDataTestUtil.russians(gameData);
+    final PlayerId germans = GameDataTestUtil.germans(gameData);
+    final List<Unit> attackingUnits = GameDataTestUtil.infantry(gameData).create(100, russians);
+    final IOddsCalculator calculator = new OddsCalculator(gameData);
+    calculator.setStoppingCriterion(StoppingCriterion.builder().minRunCount(200).tuvSwingMarginOfError(10).build());
+    final AggregateResults results = calculator.setCalculateDataAndCalculate(russians, germans, germany, attackingUnits,
+        defendingUnits, Collections.emptyList(), TerritoryEffectHelper.getEffects(germany), 2000);
+    calculator.shutdown();
+    assertTrue(results.getAttackerWinPercent() > 0.99);
+    assertTrue(results.getRollCount() >= 200);
+    assertTrue(results.getRollCount() < 2000);
+  }
+
   @Test
   public void testKeepOneAttackingLand() {
     // 1 bomber and 1 infantry attacking
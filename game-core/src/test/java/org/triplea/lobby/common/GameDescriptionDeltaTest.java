@@ -0,0 +1,90 @@
+package org.triplea.lobby.common;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import games.strategy.engine.lobby.server.GameDescription;
+
+final class GameDescriptionDeltaTest {
+  private static GameDescription newGameDescription() {
+    return GameDescription.builder()
+        .gameName("game")
+        .round("1")
+        .status(GameDescription.GameStatus.WAITING_FOR_PLAYERS)
+        .comment("comment")
+        .startDateTime(Instant.EPOCH)
+        .build();
+  }
+
+  @Nested
+  final class BetweenTest {
+    @Test
+    void shouldBeEmptyWhenNothingChanged() {
+      assertThat(GameDescriptionDelta.between(newGameDescription(), newGameDescription()).isEmpty(), is(true));
+    }
+
+    @Test
+    void shouldNotBeEmptyWhenFieldChanged() {
+      final GameDescription newDescription = newGameDescription();
+      newDescription.setRound("2");
+
+      assertThat(GameDescriptionDelta.between(newGameDescription(), newDescription).isEmpty(), is(false));
+    }
+  }
+
+  @Nested
+  final class ApplyToTest {
+    @Test
+    void shouldCopyChangedFieldsWithoutModifyingDescription() {
+      final GameDescription oldDescription = newGameDescription();
+      final GameDescription newDescription = newGameDescription();
+      newDescription.setRound("2");
+      newDescription.setStatus(GameDescription.GameStatus.IN_PROGRESS);
+      newDescription.setComment(null);
+
+      final GameDescription result = GameDescriptionDelta.between(oldDescription, newDescription)
+          .applyTo(oldDescription);
+
+      assertThat(result, is(not(sameInstance(oldDescription))));
+      assertThat(result.getRound(), is("2"));
+      assertThat(result.getStatus(), is(GameDescription.GameStatus.IN_PROGRESS));
+      assertThat(result.getComment(), is((String) null));
+      assertThat(result.getGameName(), is("game"));
+      assertThat(oldDescription.getRound(), is("1"));
+    }
+
+    @Test
+    void shouldApplyDeltaAfterSerialization() throws Exception {
+      final GameDescription oldDescription = newGameDescription();
+      final GameDescription newDescription = newGameDescription();
+      newDescription.setPlayerCount(3);
+      newDescription.setStartDateTime(Instant.EPOCH.plusSeconds(60));
+      final GameDescriptionDelta delta = GameDescriptionDelta.between(oldDescription, newDescription);
+
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+        out.writeObject(delta);
+      }
+      final GameDescriptionDelta deserializedDelta;
+      try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+        deserializedDelta = (GameDescriptionDelta) in.readObject();
+      }
+
+      assertThat(deserializedDelta, is(delta));
+      final GameDescription result = deserializedDelta.applyTo(oldDescription);
+      assertThat(result.getPlayerCount(), is(3));
+      assertThat(result.getStartDateTime(), is(Instant.EPOCH.plusSeconds(60)));
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package org.triplea.java.collections;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A map of Objects to ints that stores its values as primitives, so that adding to them does not box integers. Only
+ * supports the operations needed to count things in tight loops, such as the units left after each of many battle
+ * simulations; use {@link IntegerMap} for anything else.
+ *
+ * <p>
+ * Entries are stored in insertion order and looked up through an open addressing hash table with linear probing.
+ * Entries cannot be removed, and keys must not be null.
+ * </p>
+ *
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @param <T> The type of the map key.
+ */
+public final class ObjectIntMap<T> {
+  private static final int DEFAULT_CAPACITY = 8;
+
+  // entries in insertion order
+  private Object[] keys = new Object[DEFAULT_CAPACITY];
+  private int[] values = new int[DEFAULT_CAPACITY];
+  // open addressing table of (position in keys + 1), 0 marks a free slot; always twice as long as keys
+  private int[] table = new int[DEFAULT_CAPACITY * 2];
+  private int size;
+
+  private int hash(final Object key) {
+    final int h = key.hashCode() * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & (table.length - 1);
+  }
+
+  /**
+   * Returns the position of the specified key in {@link #keys}, or -1 if there is no such key.
+   */
+  private int findPosition(final Object key) {
+    final int mask = table.length - 1;
+    for (int slot = hash(key); ; slot = (slot + 1) & mask) {
+      final int entry = table[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      if (keys[entry - 1].equals(key)) {
+        return entry - 1;
+      }
+    }
+  }
+
+  private void insert(final Object key, final int value) {
+    if (size == keys.length) {
+      grow();
+    }
+    keys[size] = key;
+    values[size] = value;
+    index(size);
+    size++;
+  }
+
+  private void index(final int position) {
+    final int mask = table.length - 1;
+    int slot = hash(keys[position]);
+    while (table[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = position + 1;
+  }
+
+  private void grow() {
+    final Object[] oldKeys = keys;
+    final int[] oldValues = values;
+    keys = new Object[oldKeys.length * 2];
+    values = new int[oldValues.length * 2];
+    table = new int[keys.length * 2];
+    System.arraycopy(oldKeys, 0, keys, 0, size);
+    System.arraycopy(oldValues, 0, values, 0, size);
+    for (int i = 0; i < size; i++) {
+      index(i);
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * returns 0 if no key found.
+   */
+  public int getInt(final T key) {
+    final int position = findPosition(checkNotNull(key));
+    return position < 0 ? 0 : values[position];
+  }
+
+  public void add(final T key, final int value) {
+    final int position = findPosition(checkNotNull(key));
+    if (position < 0) {
+      insert(key, value);
+    } else {
+      values[position] += value;
+    }
+  }
+
+  public void add(final ObjectIntMap<T> map) {
+    map.forEach(this::add);
+  }
+
+  /**
+   * Performs the specified action for each entry in insertion order, without boxing the values.
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(final ObjIntConsumer<T> action) {
+    for (int i = 0; i < size; i++) {
+      action.accept((T) keys[i], values[i]);
+    }
+  }
+
+  /**
+   * Returns an unmodifiable view of the keys of this map, in insertion order.
+   */
+  public Set<T> keySet() {
+    return new AbstractSet<T>() {
+      @Override
+      public Iterator<T> iterator() {
+        return new Iterator<T>() {
+          private int next = 0;
+
+          @Override
+          public boolean hasNext() {
+            return next < size;
+          }
+
+          @Override
+          @SuppressWarnings("unchecked")
+          public T next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            return (T) keys[next++];
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public boolean contains(final Object key) {
+        return key != null && findPosition(key) >= 0;
+      }
+    };
+  }
+}
@@ -0,0 +1,70 @@
+package org.triplea.java;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.triplea.java.collections.IntegerMap;
+import org.triplea.java.collections.ObjectIntMap;
+
+public class ObjectIntMapTest {
+  private final Object k1 = new Object();
+  private final Object k2 = new Object();
+  private final Object k3 = new Object();
+
+  @Test
+  void testAdd() {
+    final ObjectIntMap<Object> map = new ObjectIntMap<>();
+    assertEquals(0, map.getInt(k1));
+    map.add(k1, 5);
+    assertEquals(5, map.getInt(k1));
+    map.add(k1, 10);
+    assertEquals(15, map.getInt(k1));
+    map.add(k1, -20);
+    assertEquals(-5, map.getInt(k1));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void testAddMap() {
+    final ObjectIntMap<Object> map1 = new ObjectIntMap<>();
+    map1.add(k1, 5);
+    map1.add(k2, 3);
+    final ObjectIntMap<Object> map2 = new ObjectIntMap<>();
+    map2.add(k3, 1);
+    map2.add(k2, -3);
+    map1.add(map2);
+    assertEquals(5, map1.getInt(k1));
+    assertEquals(0, map1.getInt(k2));
+    assertEquals(1, map1.getInt(k3));
+    assertThat(map1.keySet(), contains(k1, k2, k3));
+  }
+
+  @Test
+  void keySetShouldContainKeysInInsertionOrder() {
+    final ObjectIntMap<Object> map = new ObjectIntMap<>();
+    map.add(k2, 2);
+    map.add(k1, 1);
+    map.add(k2, 2);
+    assertThat(map.keySet(), contains(k2, k1));
+    assertTrue(map.keySet().contains(k1));
+    assertFalse(map.keySet().contains(k3));
+  }
+
+  @Test
+  void shouldKeepEntriesWhenGrowing() {
+    final ObjectIntMap<Integer> map = new ObjectIntMap<>();
+    final IntegerMap<Integer> expected = new IntegerMap<>();
+    for (int i = 0; i < 1000; i++) {
+      map.add(i % 700, i);
+      expected.add(i % 700, i);
+    }
+    final IntegerMap<Integer> actual = new IntegerMap<>();
+    map.forEach(actual::put);
+    assertThat(actual.keySet(), contains(expected.keySet().toArray()));
+    assertEquals(expected, actual);
+  }
+}
@@ -3,20 +3,37 @@ package org.triplea.lobby.server;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+import org.triplea.lobby.common.GameDescriptionDelta;
+import org.triplea.lobby.common.GameListFrame;
 import org.triplea.lobby.common.ILobbyGameBroadcaster;
 import org.triplea.lobby.common.ILobbyGameController;
+import org.triplea.lobby.common.ILobbyGameListBroadcaster;
+import org.triplea.lobby.common.ILobbyGameListController;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import games.strategy.engine.lobby.server.GameDescription;
 import games.strategy.engine.message.IRemoteMessenger;
@@ -27,15 +44,68 @@ import games.strategy.net.INode;
 import games.strategy.net.IServerMessenger;
 import lombok.extern.java.Log;
 
+/**
+ * Keeps the list of games hosted in the lobby and tells lobby clients when it changes.
+ *
+ * <p>
+ * Changes are not broadcast as they happen. They are collected and broadcast together at a fixed interval, keeping
+ * only the latest description of each game, so a host that updates its game on every step does not flood clients.
+ * All broadcasts are made from a single thread, in the order the changes were made.
+ * </p>
+ *
+ * <p>
+ * Each broadcast is sent twice: every changed game in full to clients subscribed to {@link ILobbyGameBroadcaster},
+ * and as a versioned {@link GameListFrame} holding only the changed fields to clients subscribed to
+ * {@link ILobbyGameListBroadcaster}. The most recent frames are kept so that a client that missed some can catch up
+ * through {@link ILobbyGameListController} without fetching the whole list.
+ * </p>
+ */
 @Log
-final class LobbyGameController implements ILobbyGameController {
-  private final Object mutex = new Object();
-  private final Map<GUID, GameDescription> allGames = new HashMap<>();
+final class LobbyGameController implements ILobbyGameController, ILobbyGameListController {
+  private static final long BROADCAST_INTERVAL_MILLIS = 500;
+  private static final int MAX_RECENT_FRAMES = 240;
+
+  private final ConcurrentMap<GUID, GameDescription> allGames = new ConcurrentHashMap<>();
+  private final ConcurrentMap<INode, Set<GUID>> hostToGame = new ConcurrentHashMap<>();
+  private final AtomicLong modificationCount = new AtomicLong();
+  private volatile GameListSnapshot gameListSnapshot = new GameListSnapshot(0, Collections.emptyMap());
   private final ILobbyGameBroadcaster broadcaster;
-  private final Map<INode, Set<GUID>> hostToGame = new HashMap<>();
+  private final ILobbyGameListBroadcaster gameListBroadcaster;
+  private final Object pendingBroadcastsLock = new Object();
+  // the latest description of each changed game, or null if the game was removed
+  @GuardedBy("pendingBroadcastsLock")
+  private Map<GUID, GameDescription> pendingBroadcasts = new LinkedHashMap<>();
+  private final Object gameListLock = new Object();
+  // the game list as of the last frame
+  @GuardedBy("gameListLock")
+  private final Map<GUID, GameDescription> broadcastGames = new HashMap<>();
+  @GuardedBy("gameListLock")
+  private long gameListVersion = 0;
+  @GuardedBy("gameListLock")
+  private final Deque<GameListFrame> recentFrames = new ArrayDeque<>();
+
+  LobbyGameController(
+      final ILobbyGameBroadcaster broadcaster,
+      final ILobbyGameListBroadcaster gameListBroadcaster,
+      final IServerMessenger serverMessenger) {
+    this(
+        broadcaster,
+        gameListBroadcaster,
+        serverMessenger,
+        Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("Lobby Game Broadcaster")
+            .build()));
+  }
 
-  LobbyGameController(final ILobbyGameBroadcaster broadcaster, final IServerMessenger serverMessenger) {
+  @VisibleForTesting
+  LobbyGameController(
+      final ILobbyGameBroadcaster broadcaster,
+      final ILobbyGameListBroadcaster gameListBroadcaster,
+      final IServerMessenger serverMessenger,
+      final ScheduledExecutorService broadcastExecutor) {
     this.broadcaster = broadcaster;
+    this.gameListBroadcaster = gameListBroadcaster;
     serverMessenger.addConnectionChangeListener(new IConnectionChangeListener() {
       @Override
       public void connectionRemoved(final INode to) {
@@ -45,72 +115,176 @@ final class LobbyGameController implements ILobbyGameController {
       @Override
       public void connectionAdded(final INode to) {}
     });
+    startBroadcaster(broadcastExecutor);
+  }
+
+  @SuppressWarnings("FutureReturnValueIgnored") // false positive; see https://github.com/google/error-prone/issues/883
+  private void startBroadcaster(final ScheduledExecutorService broadcastExecutor) {
+    broadcastExecutor.scheduleWithFixedDelay(
+        this::broadcastPendingChanges, BROADCAST_INTERVAL_MILLIS, BROADCAST_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
   }
 
   private void connectionLost(final INode to) {
-    final List<GUID> removed = new ArrayList<>();
-    synchronized (mutex) {
-      final Iterator<Map.Entry<GUID, GameDescription>> keys = allGames.entrySet().iterator();
-      while (keys.hasNext()) {
-        final Map.Entry<GUID, GameDescription> entry = keys.next();
-        final GUID key = entry.getKey();
-        final GameDescription game = entry.getValue();
-        if (game.getHostedBy().equals(to)) {
-          keys.remove();
-          removed.add(key);
-        }
-      }
-      hostToGame.remove(to);
+    final @Nullable Set<GUID> hostedGames = hostToGame.remove(to);
+    if (hostedGames == null) {
+      return;
     }
-    for (final GUID guid : removed) {
-      broadcaster.gameRemoved(guid);
+    for (final GUID gameId : hostedGames) {
+      if (allGames.remove(gameId) != null) {
+        gameChanged(gameId, null);
+      }
     }
   }
 
   @Override
   public void postGame(final GUID gameId, final GameDescription description) {
-    synchronized (mutex) {
-      allGames.put(gameId, description);
-      hostToGame.computeIfAbsent(MessageContext.getSender(), k -> new HashSet<>()).add(gameId);
-    }
+    allGames.put(gameId, description);
+    hostToGame.computeIfAbsent(MessageContext.getSender(), k -> ConcurrentHashMap.newKeySet()).add(gameId);
+    gameChanged(gameId, description);
     log.info("Game added:" + description);
-    broadcaster.gameUpdated(gameId, description);
   }
 
   @Override
   public void updateGame(final GUID gameId, final GameDescription description) {
     assertCorrectGameOwner(gameId);
-    synchronized (mutex) {
-      final GameDescription oldDescription = allGames.get(gameId);
-      // out of order updates
-      // ignore, we already have the latest
-      // TODO: Check if this method can ever be called out of order. TCP should be able to handle that.
-      if (oldDescription.getVersion() > description.getVersion()) {
+    // out of order updates
+    // ignore, we already have the latest
+    // TODO: Check if this method can ever be called out of order. TCP should be able to handle that.
+    final @Nullable GameDescription latestDescription = allGames.computeIfPresent(
+        gameId,
+        (id, oldDescription) -> oldDescription.getVersion() > description.getVersion() ? oldDescription : description);
+    if (latestDescription == description) {
+      gameChanged(gameId, description);
+    }
+  }
+
+  /**
+   * Records a change to the game list, to be broadcast with the next batch.
+   *
+   * @param description The new description of the game or {@code null} if the game was removed.
+   */
+  private void gameChanged(final GUID gameId, final @Nullable GameDescription description) {
+    modificationCount.incrementAndGet();
+    synchronized (pendingBroadcastsLock) {
+      // re-insert so that the game moves to the end of the broadcast order
+      pendingBroadcasts.remove(gameId);
+      pendingBroadcasts.put(gameId, description);
+    }
+  }
+
+  @VisibleForTesting
+  void broadcastPendingChanges() {
+    final Map<GUID, GameDescription> changes;
+    synchronized (pendingBroadcastsLock) {
+      if (pendingBroadcasts.isEmpty()) {
         return;
       }
-      allGames.put(gameId, description);
+      changes = pendingBroadcasts;
+      pendingBroadcasts = new LinkedHashMap<>();
+    }
+    final GameListFrame frame = addFrame(changes);
+    if (!frame.isEmpty()) {
+      try {
+        gameListBroadcaster.gameListChanged(frame);
+      } catch (final RuntimeException e) {
+        log.log(Level.SEVERE, "Failed to broadcast game list frame " + frame.getVersion(), e);
+      }
+    }
+    for (final Map.Entry<GUID, GameDescription> change : changes.entrySet()) {
+      try {
+        if (change.getValue() == null) {
+          broadcaster.gameRemoved(change.getKey());
+        } else {
+          broadcaster.gameUpdated(change.getKey(), change.getValue());
+        }
+      } catch (final RuntimeException e) {
+        log.log(Level.SEVERE, "Failed to broadcast change of game " + change.getKey(), e);
+      }
     }
-    broadcaster.gameUpdated(gameId, description);
   }
 
+  /**
+   * Applies the specified changes to the game list as of the last frame and records the frame that describes them.
+   * Returns an empty frame if the changes did not change anything.
+   */
+  private GameListFrame addFrame(final Map<GUID, GameDescription> changes) {
+    final Map<GUID, GameDescription> addedGames = new LinkedHashMap<>();
+    final Map<GUID, GameDescriptionDelta> updatedGames = new LinkedHashMap<>();
+    final Set<GUID> removedGames = new LinkedHashSet<>();
+    synchronized (gameListLock) {
+      for (final Map.Entry<GUID, GameDescription> change : changes.entrySet()) {
+        final GUID gameId = change.getKey();
+        final @Nullable GameDescription description = change.getValue();
+        if (description == null) {
+          if (broadcastGames.remove(gameId) != null) {
+            removedGames.add(gameId);
+          }
+          continue;
+        }
+        final @Nullable GameDescription oldDescription = broadcastGames.put(gameId, description);
+        if (oldDescription == null) {
+          addedGames.put(gameId, description);
+        } else {
+          final GameDescriptionDelta delta = GameDescriptionDelta.between(oldDescription, description);
+          if (!delta.isEmpty()) {
+            updatedGames.put(gameId, delta);
+          }
+        }
+      }
+      if (addedGames.isEmpty() && updatedGames.isEmpty() && removedGames.isEmpty()) {
+        return GameListFrame.changes(gameListVersion, gameListVersion, addedGames, updatedGames, removedGames);
+      }
+      final GameListFrame frame =
+          GameListFrame.changes(gameListVersion, gameListVersion + 1, addedGames, updatedGames, removedGames);
+      gameListVersion = frame.getVersion();
+      recentFrames.addLast(frame);
+      if (recentFrames.size() > MAX_RECENT_FRAMES) {
+        recentFrames.removeFirst();
+      }
+      return frame;
+    }
+  }
+
+  @Override
+  public List<GameListFrame> getGameListSince(final long version) {
+    synchronized (gameListLock) {
+      if (version == gameListVersion) {
+        return Collections.emptyList();
+      }
+      final @Nullable GameListFrame oldestFrame = recentFrames.peekFirst();
+      if (version < 0 || version > gameListVersion || oldestFrame == null || version < oldestFrame.getBaseVersion()) {
+        return Collections.singletonList(GameListFrame.snapshot(gameListVersion, new HashMap<>(broadcastGames)));
+      }
+      return recentFrames.stream()
+          .filter(frame -> frame.getBaseVersion() >= version)
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Returns an unmodifiable snapshot of all games. The snapshot is shared by all callers until the game list changes.
+   */
   @Override
   public Map<GUID, GameDescription> listGames() {
-    synchronized (mutex) {
-      return new HashMap<>(allGames);
+    final GameListSnapshot snapshot = gameListSnapshot;
+    final long version = modificationCount.get();
+    if (snapshot.version == version) {
+      return snapshot.games;
     }
+    final Map<GUID, GameDescription> games = Collections.unmodifiableMap(new HashMap<>(allGames));
+    gameListSnapshot = new GameListSnapshot(version, games);
+    return games;
   }
 
   void register(final IRemoteMessenger remote) {
-    remote.registerRemote(this, REMOTE_NAME);
+    remote.registerRemote(this, ILobbyGameController.REMOTE_NAME);
+    remote.registerRemote(this, ILobbyGameListController.REMOTE_NAME);
   }
 
   @Override
   public String testGame(final GUID gameId) {
     assertCorrectGameOwner(gameId);
-    final GameDescription description;
-    synchronized (mutex) {
-      description = allGames.get(gameId);
-    }
+    final @Nullable GameDescription description = allGames.get(gameId);
     if (description == null) {
       return "No such game found";
     }
@@ -128,11 +302,19 @@ final class LobbyGameController implements ILobbyGameController {
   private void assertCorrectGameOwner(final GUID gameId) {
     Preconditions.checkNotNull(gameId);
     final INode sender = MessageContext.getSender();
-    synchronized (mutex) {
-      final Optional<Set<GUID>> allowedGames = Optional.ofNullable(hostToGame.get(sender));
-      if (!allowedGames.orElseGet(Collections::emptySet).contains(gameId)) {
-        throw new IllegalStateException(String.format("Invalid Node %s tried accessing other game", sender));
-      }
+    final Set<GUID> allowedGames = hostToGame.getOrDefault(sender, Collections.emptySet());
+    if (!allowedGames.contains(gameId)) {
+      throw new IllegalStateException(String.format("Invalid Node %s tried accessing other game", sender));
+    }
+  }
+
+  private static final class GameListSnapshot {
+    private final long version;
+    private final Map<GUID, GameDescription> games;
+
+    GameListSnapshot(final long version, final Map<GUID, GameDescription> games) {
+      this.version = version;
+      this.games = games;
     }
   }
 }
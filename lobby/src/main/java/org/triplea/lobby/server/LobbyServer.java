@@ -3,8 +3,13 @@ package org.triplea.lobby.server;
 import java.io.IOException;
 
 import org.triplea.lobby.common.ILobbyGameBroadcaster;
+import org.triplea.lobby.common.ILobbyGameListBroadcaster;
 import org.triplea.lobby.common.LobbyConstants;
 import org.triplea.lobby.server.config.LobbyConfiguration;
+import org.triplea.lobby.server.db.AccessLogController;
+import org.triplea.lobby.server.db.BufferedAccessLogDao;
+import org.triplea.lobby.server.db.Database;
+import org.triplea.lobby.server.db.ModerationCache;
 import org.triplea.lobby.server.login.LobbyLoginValidator;
 
 import games.strategy.engine.chat.ChatController;
@@ -38,20 +43,36 @@ public final class LobbyServer {
   static void start(final LobbyConfiguration lobbyConfiguration) throws IOException {
     ClipPlayer.setBeSilentInPreferencesWithoutAffectingCurrent(true);
 
-    final IServerMessenger server = new LobbyServerMessenger(LobbyConstants.ADMIN_USERNAME, lobbyConfiguration);
+    final Database database = new Database(lobbyConfiguration);
+    final ModerationCache moderationCache = new ModerationCache(database);
+    moderationCache.startPeriodicReload();
+    final BufferedAccessLogDao accessLogDao = new BufferedAccessLogDao(new AccessLogController(database));
+    // the buffered access log is written to the database, so it is flushed before the connection pools are closed
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      accessLogDao.close();
+      Database.closeConnectionPools();
+    }));
+
+    final IServerMessenger server =
+        new LobbyServerMessenger(LobbyConstants.ADMIN_USERNAME, lobbyConfiguration, moderationCache);
     final Messengers messengers = new Messengers(server);
-    server.setLoginValidator(new LobbyLoginValidator(lobbyConfiguration));
+    server.setLoginValidator(new LobbyLoginValidator(database, moderationCache, accessLogDao));
     // setup common objects
     new UserManager(lobbyConfiguration).register(messengers.getRemoteMessenger());
-    final ModeratorController moderatorController = new ModeratorController(server, messengers, lobbyConfiguration);
+    final ModeratorController moderatorController =
+        new ModeratorController(server, messengers, database, moderationCache);
     moderatorController.register(messengers.getRemoteMessenger());
     new ChatController(LobbyConstants.LOBBY_CHAT, messengers, moderatorController::isPlayerAdmin);
 
     // register the status controller
     new StatusManager(messengers).shutDown();
 
-    final LobbyGameController controller = new LobbyGameController((ILobbyGameBroadcaster) messengers
-        .getChannelMessenger().getChannelBroadcaster(ILobbyGameBroadcaster.REMOTE_NAME), server);
+    final LobbyGameController controller = new LobbyGameController(
+        (ILobbyGameBroadcaster) messengers.getChannelMessenger()
+            .getChannelBroadcaster(ILobbyGameBroadcaster.REMOTE_NAME),
+        (ILobbyGameListBroadcaster) messengers.getChannelMessenger()
+            .getChannelBroadcaster(ILobbyGameListBroadcaster.REMOTE_NAME),
+        server);
     controller.register(messengers.getRemoteMessenger());
 
     // now we are open for business
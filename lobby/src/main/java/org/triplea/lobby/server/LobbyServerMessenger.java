@@ -6,24 +6,22 @@ import java.util.Optional;
 
 import org.triplea.lobby.common.LobbyConstants;
 import org.triplea.lobby.server.config.LobbyConfiguration;
-import org.triplea.lobby.server.db.Database;
-import org.triplea.lobby.server.db.MutedMacController;
-import org.triplea.lobby.server.db.MutedUsernameController;
+import org.triplea.lobby.server.db.ModerationCache;
 
 import games.strategy.engine.chat.AdministrativeChatMessages;
 import games.strategy.net.AbstractServerMessenger;
 import games.strategy.net.DefaultObjectStreamFactory;
 
 final class LobbyServerMessenger extends AbstractServerMessenger {
-  private final MutedMacController mutedMacController;
-  private final MutedUsernameController mutedUsernameController;
+  private final ModerationCache moderationCache;
 
-  LobbyServerMessenger(final String name, final LobbyConfiguration lobbyConfiguration) throws IOException {
+  LobbyServerMessenger(
+      final String name,
+      final LobbyConfiguration lobbyConfiguration,
+      final ModerationCache moderationCache) throws IOException {
     super(name, lobbyConfiguration.getPort(), new DefaultObjectStreamFactory());
 
-    final Database database = new Database(lobbyConfiguration);
-    mutedMacController = new MutedMacController(database);
-    mutedUsernameController = new MutedUsernameController(database);
+    this.moderationCache = moderationCache;
   }
 
   @Override
@@ -38,21 +36,21 @@ final class LobbyServerMessenger extends AbstractServerMessenger {
 
   @Override
   protected Optional<Instant> getMacUnmuteTime(final String mac) {
-    return mutedMacController.getMacUnmuteTime(mac);
+    return moderationCache.getMacUnmuteTime(mac);
   }
 
   @Override
   protected Optional<Instant> getUsernameUnmuteTime(final String username) {
-    return mutedUsernameController.getUsernameUnmuteTime(username);
+    return moderationCache.getUsernameUnmuteTime(username);
   }
 
   @Override
   protected boolean isMacMutedInBackingStore(final String mac) {
-    return mutedMacController.isMacMuted(mac);
+    return moderationCache.isMacMuted(mac);
   }
 
   @Override
   protected boolean isUsernameMutedInBackingStore(final String username) {
-    return mutedUsernameController.isUsernameMuted(username);
+    return moderationCache.isUsernameMuted(username);
   }
 }
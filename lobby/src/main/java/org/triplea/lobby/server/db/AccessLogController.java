@@ -5,6 +5,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
 
 import org.triplea.lobby.server.User;
 import org.triplea.lobby.server.login.UserType;
@@ -33,4 +35,26 @@ public final class AccessLogController extends AbstractController implements Acc
       conn.commit();
     }
   }
+
+  @Override
+  public void insertAll(final List<AccessLogEntry> entries) throws SQLException {
+    checkNotNull(entries);
+
+    final String sql =
+        "insert into access_log (access_time, username, ip, mac, registered) values (?, ?, ?::inet, ?, ?)";
+    try (Connection conn = newDatabaseConnection();
+        PreparedStatement ps = conn.prepareStatement(sql)) {
+      for (final AccessLogEntry entry : entries) {
+        final User user = entry.getUser();
+        ps.setTimestamp(1, Timestamp.from(entry.getAccessTime()));
+        ps.setString(2, user.getUsername());
+        ps.setString(3, user.getInetAddress().getHostAddress());
+        ps.setString(4, user.getHashedMacAddress());
+        ps.setBoolean(5, entry.getUserType() == UserType.REGISTERED);
+        ps.addBatch();
+      }
+      ps.executeBatch();
+      conn.commit();
+    }
+  }
 }
@@ -1,6 +1,7 @@
 package org.triplea.lobby.server.db;
 
 import java.sql.SQLException;
+import java.util.List;
 
 import org.triplea.lobby.server.User;
 import org.triplea.lobby.server.login.UserType;
@@ -18,4 +19,13 @@ public interface AccessLogDao {
    * @throws SQLException If an error occurs while logging the access.
    */
   void insert(User user, UserType userType) throws SQLException;
+
+  /**
+   * Inserts the specified records in the access log table.
+   *
+   * @param entries The lobby accesses to record, in the order they occurred.
+   *
+   * @throws SQLException If an error occurs while logging the accesses.
+   */
+  void insertAll(List<AccessLogEntry> entries) throws SQLException;
 }
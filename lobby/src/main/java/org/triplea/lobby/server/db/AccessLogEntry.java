@@ -0,0 +1,31 @@
+package org.triplea.lobby.server.db;
+
+import java.time.Instant;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import org.triplea.lobby.server.User;
+import org.triplea.lobby.server.login.UserType;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A record of a user accessing the lobby.
+ */
+@Immutable
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode
+@Getter
+public final class AccessLogEntry {
+  @Nonnull
+  private final Instant accessTime;
+  @Nonnull
+  private final User user;
+  @Nonnull
+  private final UserType userType;
+}
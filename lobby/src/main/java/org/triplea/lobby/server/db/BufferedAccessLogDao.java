@@ -0,0 +1,165 @@
+package org.triplea.lobby.server.db;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.triplea.lobby.server.User;
+import org.triplea.lobby.server.login.UserType;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Queues;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.extern.java.Log;
+
+/**
+ * An {@link AccessLogDao} that queues records in a bounded buffer and inserts them in batches on a background thread,
+ * so that a slow database does not delay logins.
+ *
+ * <p>
+ * A batch is written once it is full or once its first record has waited for the flush interval, whichever happens
+ * first. When the buffer is full, callers wait briefly for room and then fail as if the insert itself had failed.
+ * {@link #close()} writes the records still in the buffer before it returns.
+ * </p>
+ */
+@Log
+@ThreadSafe
+public final class BufferedAccessLogDao implements AccessLogDao, AutoCloseable {
+  private static final int BUFFER_CAPACITY = 10_000;
+  private static final int MAX_BATCH_SIZE = 500;
+  private static final long FLUSH_INTERVAL_MILLIS = 1_000;
+  private static final long OFFER_TIMEOUT_MILLIS = 1_000;
+  private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+  private final AccessLogDao delegate;
+  private final Clock clock;
+  private final BlockingQueue<AccessLogEntry> buffer;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+      .setDaemon(true)
+      .setNameFormat("Access Log Writer")
+      .build());
+  // held for reading while a record is queued and for writing while closing, so no record is queued after the
+  // writer may have seen the buffer closed and empty
+  private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+  private volatile boolean closed = false;
+
+  public BufferedAccessLogDao(final AccessLogDao delegate) {
+    this(delegate, Clock.systemUTC(), BUFFER_CAPACITY);
+  }
+
+  @VisibleForTesting
+  BufferedAccessLogDao(final AccessLogDao delegate, final Clock clock, final int bufferCapacity) {
+    checkNotNull(delegate);
+    checkNotNull(clock);
+
+    this.delegate = delegate;
+    this.clock = clock;
+    buffer = new ArrayBlockingQueue<>(bufferCapacity);
+    executor.execute(this::writeBatches);
+  }
+
+  /**
+   * Queues a record for the specified access, stamped with the current time.
+   *
+   * @throws SQLException If the record could not be queued because this object is closed or the buffer stayed full.
+   */
+  @Override
+  public void insert(final User user, final UserType userType) throws SQLException {
+    checkNotNull(user);
+    checkNotNull(userType);
+
+    enqueue(new AccessLogEntry(clock.instant(), user, userType));
+  }
+
+  @Override
+  public void insertAll(final List<AccessLogEntry> entries) throws SQLException {
+    checkNotNull(entries);
+
+    for (final AccessLogEntry entry : entries) {
+      enqueue(entry);
+    }
+  }
+
+  private void enqueue(final AccessLogEntry entry) throws SQLException {
+    closeLock.readLock().lock();
+    try {
+      if (closed) {
+        throw new SQLException("Access log is closed");
+      }
+      if (!buffer.offer(entry, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+        throw new SQLException("Access log buffer is full");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for room in access log buffer", e);
+    } finally {
+      closeLock.readLock().unlock();
+    }
+  }
+
+  private void writeBatches() {
+    while (!closed || !buffer.isEmpty()) {
+      final List<AccessLogEntry> batch = new ArrayList<>();
+      if (closed) {
+        buffer.drainTo(batch, MAX_BATCH_SIZE);
+      } else {
+        try {
+          Queues.drain(buffer, batch, MAX_BATCH_SIZE, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          write(batch);
+          return;
+        }
+      }
+      write(batch);
+    }
+  }
+
+  private void write(final List<AccessLogEntry> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      delegate.insertAll(batch);
+    } catch (final SQLException | RuntimeException e) {
+      log.log(Level.SEVERE, "failed to record " + batch.size() + " successful authentications in database", e);
+    }
+  }
+
+  /**
+   * Stops accepting records and waits for the records still in the buffer to be written.
+   */
+  @Override
+  public void close() {
+    // waits for records being queued, which the writer keeps draining meanwhile
+    closeLock.writeLock().lock();
+    try {
+      closed = true;
+    } finally {
+      closeLock.writeLock().unlock();
+    }
+    // the writer notices within one flush interval, then drains the buffer without waiting
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        log.warning("Timed out writing access log; " + buffer.size() + " records were not written");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package org.triplea.lobby.server.db;
+
+import javax.annotation.concurrent.Immutable;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A snapshot of the state of the lobby database connection pool, for monitoring.
+ */
+@Immutable
+@Builder
+@Getter
+@ToString
+public final class ConnectionPoolStatistics {
+  private final int maximumConnections;
+  /** The number of connections currently handed out to DAO calls. */
+  private final int activeConnections;
+  private final int idleConnections;
+  private final int threadsAwaitingConnection;
+  /** The number of connections handed out since the pool was created. */
+  private final long acquiredConnectionCount;
+  /** The total time spent waiting for a connection since the pool was created. */
+  private final long totalWaitNanos;
+  private final long maximumWaitNanos;
+  /** The number of times a caller gave up waiting for a connection. */
+  private final long timeoutCount;
+
+  /**
+   * Returns the average time spent waiting for a connection, or 0 if no connection has been handed out yet.
+   */
+  public long getAverageWaitNanos() {
+    return (acquiredConnectionCount == 0) ? 0 : (totalWaitNanos / acquiredConnectionCount);
+  }
+}
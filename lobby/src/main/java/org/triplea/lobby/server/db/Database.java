@@ -2,24 +2,55 @@ package org.triplea.lobby.server.db;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.annotation.concurrent.ThreadSafe;
 
 import org.triplea.lobby.server.config.LobbyConfiguration;
 
+import com.google.common.hash.Hashing;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+
 /**
  * Utility to get connections to the Postgres lobby database.
  *
  * <p>
+ * Connections are taken from a bounded pool shared by all instances that connect to the same database with the same
+ * credentials, which stays open until {@link #closeConnectionPools()} is called. A pooled connection is checked to
+ * still be alive before it is handed out, and closing it returns it to the pool, rolling back anything that was not
+ * committed. Because the physical connections outlive each DAO call, the prepared statements cached by the driver for
+ * each connection are reused across calls.
+ * </p>
+ *
+ * <p>
  * Instances of this class are thread-safe if the underlying {@link LobbyConfiguration} is thread-safe.
  * </p>
  */
 @ThreadSafe
 public final class Database {
+  private static final int MAXIMUM_POOL_SIZE = 10;
+  private static final int MINIMUM_IDLE_CONNECTIONS = 2;
+  private static final long CONNECTION_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+  private static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  private static final long MAX_LIFETIME_MILLIS = TimeUnit.MINUTES.toMillis(30);
+  // the driver prepares a statement on the server the first time it runs and keeps up to this many per connection
+  private static final int PREPARE_THRESHOLD = 1;
+  private static final int PREPARED_STATEMENT_CACHE_QUERIES = 256;
+
+  private static final ConcurrentMap<String, ConnectionPool> connectionPools = new ConcurrentHashMap<>();
+  private static final AtomicInteger connectionPoolCount = new AtomicInteger();
+
   private final LobbyConfiguration lobbyConfiguration;
 
   public Database(final LobbyConfiguration lobbyConfiguration) {
@@ -28,10 +59,43 @@ public final class Database {
     this.lobbyConfiguration = lobbyConfiguration;
   }
 
+  /**
+   * Returns a connection from the pool with auto-commit disabled. The caller must close the connection to return it to
+   * the pool.
+   *
+   * @throws SQLException If no connection becomes available within the pool's connection timeout.
+   */
   public Connection newConnection() throws SQLException {
-    final Connection connection = DriverManager.getConnection(getConnectionUrl(), getConnectionProperties());
-    connection.setAutoCommit(false);
-    return connection;
+    return getConnectionPool().getConnection();
+  }
+
+  /**
+   * Returns the current statistics of the connection pool used by this instance, for monitoring.
+   */
+  public ConnectionPoolStatistics getConnectionPoolStatistics() {
+    return getConnectionPool().getStatistics();
+  }
+
+  /**
+   * Closes the connections of all pools, waiting for the connections in use to be returned first. Instances used
+   * afterwards open new pools.
+   */
+  public static void closeConnectionPools() {
+    for (final String key : connectionPools.keySet()) {
+      final ConnectionPool connectionPool = connectionPools.remove(key);
+      if (connectionPool != null) {
+        connectionPool.close();
+      }
+    }
+  }
+
+  private ConnectionPool getConnectionPool() {
+    final String connectionUrl = getConnectionUrl();
+    final String user = lobbyConfiguration.getPostgresUser();
+    final String password = lobbyConfiguration.getPostgresPassword();
+    // the password is part of the key, so that a changed password is not ignored in favor of an existing pool
+    final String key = user + ':' + Hashing.sha256().hashString(password, StandardCharsets.UTF_8) + '@' + connectionUrl;
+    return connectionPools.computeIfAbsent(key, k -> new ConnectionPool(connectionUrl, user, password));
   }
 
   private String getConnectionUrl() {
@@ -42,10 +106,67 @@ public final class Database {
         lobbyConfiguration.getPostgresDatabase());
   }
 
-  private Properties getConnectionProperties() {
-    final Properties props = new Properties();
-    props.put("user", lobbyConfiguration.getPostgresUser());
-    props.put("password", lobbyConfiguration.getPostgresPassword());
-    return props;
+  @ThreadSafe
+  private static final class ConnectionPool {
+    private final HikariDataSource dataSource;
+    private final LongAdder acquiredConnectionCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maximumWaitNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+
+    ConnectionPool(final String connectionUrl, final String user, final String password) {
+      final HikariConfig config = new HikariConfig();
+      config.setPoolName("lobby-database-" + connectionPoolCount.incrementAndGet());
+      config.setJdbcUrl(connectionUrl);
+      config.setUsername(user);
+      config.setPassword(password);
+      config.setAutoCommit(false);
+      config.setMaximumPoolSize(MAXIMUM_POOL_SIZE);
+      config.setMinimumIdle(MINIMUM_IDLE_CONNECTIONS);
+      config.setConnectionTimeout(CONNECTION_TIMEOUT_MILLIS);
+      config.setIdleTimeout(IDLE_TIMEOUT_MILLIS);
+      config.setMaxLifetime(MAX_LIFETIME_MILLIS);
+      // do not fail if the database is unreachable at startup; each DAO call reports its own failure instead
+      config.setInitializationFailTimeout(-1);
+      config.setRegisterMbeans(true);
+      config.addDataSourceProperty("prepareThreshold", PREPARE_THRESHOLD);
+      config.addDataSourceProperty("preparedStatementCacheQueries", PREPARED_STATEMENT_CACHE_QUERIES);
+      config.setMetricsTrackerFactory((poolName, poolStats) -> new IMetricsTracker() {
+        @Override
+        public void recordConnectionAcquiredNanos(final long elapsedAcquiredNanos) {
+          acquiredConnectionCount.increment();
+          totalWaitNanos.add(elapsedAcquiredNanos);
+          maximumWaitNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+          timeoutCount.increment();
+        }
+      });
+      dataSource = new HikariDataSource(config);
+    }
+
+    Connection getConnection() throws SQLException {
+      return dataSource.getConnection();
+    }
+
+    void close() {
+      dataSource.close();
+    }
+
+    ConnectionPoolStatistics getStatistics() {
+      final HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+      return ConnectionPoolStatistics.builder()
+          .maximumConnections(MAXIMUM_POOL_SIZE)
+          .activeConnections(pool.getActiveConnections())
+          .idleConnections(pool.getIdleConnections())
+          .threadsAwaitingConnection(pool.getThreadsAwaitingConnection())
+          .acquiredConnectionCount(acquiredConnectionCount.sum())
+          .totalWaitNanos(totalWaitNanos.sum())
+          .maximumWaitNanos(maximumWaitNanos.get())
+          .timeoutCount(timeoutCount.sum())
+          .build();
+    }
   }
 }
@@ -0,0 +1,330 @@
+package org.triplea.lobby.server.db;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.triplea.lobby.server.User;
+import org.triplea.util.Tuple;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.extern.java.Log;
+
+/**
+ * An in-memory copy of the banned MAC, banned username, muted MAC, muted username and bad word tables, so that logins
+ * and chat messages can be checked without a database round trip.
+ *
+ * <p>
+ * Changes made through this class are written to the database and then applied to the copy. Changes made to the
+ * database by other means are picked up by {@link #reload()}, which {@link #startPeriodicReload()} runs every few
+ * minutes. Expiry is checked against the current time on each lookup, so a ban or mute ends on time even if the copy
+ * still holds it.
+ * </p>
+ */
+@Log
+@ThreadSafe
+public class ModerationCache extends TimedController implements BadWordDao, BannedMacDao, BannedUsernameDao {
+  private static final long RELOAD_INTERVAL_MINUTES = 5;
+
+  private final BadWordController badWordController;
+  private final BannedMacController bannedMacController;
+  private final BannedUsernameController bannedUsernameController;
+  private final MutedMacController mutedMacController;
+  private final MutedUsernameController mutedUsernameController;
+  // writers hold the lock while they update the database and swap the snapshot; readers only read the snapshot
+  private final Object lock = new Object();
+  private volatile @Nullable Snapshot snapshot;
+
+  public ModerationCache(final Database database) {
+    super(database);
+
+    badWordController = new BadWordController(database);
+    bannedMacController = new BannedMacController(database);
+    bannedUsernameController = new BannedUsernameController(database);
+    mutedMacController = new MutedMacController(database);
+    mutedUsernameController = new MutedUsernameController(database);
+  }
+
+  /**
+   * Replaces the in-memory copy with the current contents of the database.
+   *
+   * @throws IllegalStateException If an error occurs while reading the database.
+   */
+  public void reload() {
+    synchronized (lock) {
+      snapshot = load();
+    }
+  }
+
+  /**
+   * Starts reloading the in-memory copy from the database every few minutes on a daemon thread. A failed reload is
+   * logged and the previous copy is kept.
+   */
+  @SuppressWarnings("FutureReturnValueIgnored") // false positive; see https://github.com/google/error-prone/issues/883
+  public void startPeriodicReload() {
+    final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+        .setDaemon(true)
+        .setNameFormat("Moderation Cache Reloader")
+        .build());
+    executor.scheduleWithFixedDelay(() -> {
+      try {
+        reload();
+      } catch (final RuntimeException e) {
+        log.log(Level.WARNING, "Failed to reload moderation cache", e);
+      }
+    }, RELOAD_INTERVAL_MINUTES, RELOAD_INTERVAL_MINUTES, TimeUnit.MINUTES);
+  }
+
+  private Snapshot getSnapshot() {
+    final @Nullable Snapshot currentSnapshot = snapshot;
+    if (currentSnapshot != null) {
+      return currentSnapshot;
+    }
+    synchronized (lock) {
+      if (snapshot == null) {
+        snapshot = load();
+      }
+      return snapshot;
+    }
+  }
+
+  @GuardedBy("lock")
+  private Snapshot load() {
+    try (Connection con = newDatabaseConnection()) {
+      return new Snapshot(
+          loadWords(con),
+          loadExpirations(con, "select mac, ban_till from banned_macs"),
+          loadExpirations(con, "select username, ban_till from banned_usernames"),
+          loadExpirations(con, "select mac, mute_till from muted_macs"),
+          loadExpirations(con, "select username, mute_till from muted_usernames"));
+    } catch (final SQLException e) {
+      throw newDatabaseException("Error loading moderation cache", e);
+    }
+  }
+
+  private static ImmutableList<String> loadWords(final Connection con) throws SQLException {
+    try (PreparedStatement ps = con.prepareStatement("select word from bad_words");
+        ResultSet rs = ps.executeQuery()) {
+      final ImmutableList.Builder<String> words = ImmutableList.builder();
+      while (rs.next()) {
+        words.add(rs.getString(1));
+      }
+      return words.build();
+    }
+  }
+
+  /**
+   * Reads a table of keys and expiration timestamps, where a null timestamp (which never expires) is mapped to
+   * {@link Instant#MAX}.
+   */
+  private static ImmutableMap<String, Instant> loadExpirations(final Connection con, final String sql)
+      throws SQLException {
+    try (PreparedStatement ps = con.prepareStatement(sql);
+        ResultSet rs = ps.executeQuery()) {
+      final Map<String, Instant> expirations = new HashMap<>();
+      while (rs.next()) {
+        final @Nullable Timestamp expiration = rs.getTimestamp(2);
+        expirations.put(rs.getString(1), expiration != null ? expiration.toInstant() : Instant.MAX);
+      }
+      return ImmutableMap.copyOf(expirations);
+    }
+  }
+
+  /**
+   * Runs the specified database update and then applies the same change to the in-memory copy.
+   */
+  private void update(final Runnable databaseUpdate, final Consumer<Snapshot.Builder> snapshotUpdate) {
+    synchronized (lock) {
+      final Snapshot currentSnapshot = getSnapshot();
+      databaseUpdate.run();
+      final Snapshot.Builder builder = currentSnapshot.toBuilder();
+      snapshotUpdate.accept(builder);
+      snapshot = builder.build();
+    }
+  }
+
+  private void putExpiration(final Map<String, Instant> expirations, final String key, final @Nullable Instant till) {
+    if (till == null) {
+      expirations.put(key, Instant.MAX);
+    } else if (till.isBefore(now())) {
+      expirations.remove(key);
+    } else {
+      expirations.put(key, till);
+    }
+  }
+
+  private Optional<Instant> getUnexpired(final Map<String, Instant> expirations, final String key) {
+    return Optional.ofNullable(expirations.get(key)).filter(now()::isBefore);
+  }
+
+  private Tuple<Boolean, /* @Nullable */ Timestamp> toBanTuple(final @Nullable Instant banTill) {
+    if (banTill == null) {
+      return Tuple.of(false, null);
+    }
+    final @Nullable Timestamp timestamp = banTill.equals(Instant.MAX) ? null : Timestamp.from(banTill);
+    return Tuple.of(now().isBefore(banTill), timestamp);
+  }
+
+  @Override
+  public void addBadWord(final String word) {
+    checkNotNull(word);
+
+    update(() -> badWordController.addBadWord(word), builder -> {
+      if (!builder.badWords.contains(word)) {
+        builder.badWords.add(word);
+      }
+    });
+  }
+
+  @Override
+  public List<String> list() {
+    return getSnapshot().badWords;
+  }
+
+  @Override
+  public void addBannedMac(final User bannedUser, final @Nullable Instant banTill, final User moderator) {
+    update(
+        () -> bannedMacController.addBannedMac(bannedUser, banTill, moderator),
+        builder -> putExpiration(builder.bannedMacs, bannedUser.getHashedMacAddress(), banTill));
+  }
+
+  /**
+   * Unlike {@link BannedMacController#isMacBanned(String)}, an expired ban is not removed from the database; it is
+   * dropped from the in-memory copy on the next reload.
+   */
+  @Override
+  public Tuple<Boolean, /* @Nullable */ Timestamp> isMacBanned(final String mac) {
+    return toBanTuple(getSnapshot().bannedMacs.get(mac));
+  }
+
+  @Override
+  public void addBannedUsername(final User bannedUser, final @Nullable Instant banTill, final User moderator) {
+    update(
+        () -> bannedUsernameController.addBannedUsername(bannedUser, banTill, moderator),
+        builder -> putExpiration(builder.bannedUsernames, bannedUser.getUsername(), banTill));
+  }
+
+  @Override
+  public Tuple<Boolean, /* @Nullable */ Timestamp> isUsernameBanned(final String username) {
+    return toBanTuple(getSnapshot().bannedUsernames.get(username));
+  }
+
+  /**
+   * Mutes the specified user by MAC. See {@link MutedMacController#addMutedMac(User, Instant, User)}.
+   */
+  public void addMutedMac(final User mutedUser, final @Nullable Instant muteTill, final User moderator) {
+    update(
+        () -> mutedMacController.addMutedMac(mutedUser, muteTill, moderator),
+        builder -> putExpiration(builder.mutedMacs, mutedUser.getHashedMacAddress(), muteTill));
+  }
+
+  /**
+   * Returns the instant at which the mute of the specified MAC expires, {@link Instant#MAX} if it never expires, or
+   * empty if the MAC is not muted.
+   */
+  public Optional<Instant> getMacUnmuteTime(final String mac) {
+    return getUnexpired(getSnapshot().mutedMacs, mac);
+  }
+
+  public boolean isMacMuted(final String mac) {
+    return getMacUnmuteTime(mac).isPresent();
+  }
+
+  /**
+   * Mutes the specified user by username. See {@link MutedUsernameController#addMutedUsername(User, Instant, User)}.
+   */
+  public void addMutedUsername(final User mutedUser, final @Nullable Instant muteTill, final User moderator) {
+    update(
+        () -> mutedUsernameController.addMutedUsername(mutedUser, muteTill, moderator),
+        builder -> putExpiration(builder.mutedUsernames, mutedUser.getUsername(), muteTill));
+  }
+
+  /**
+   * Returns the instant at which the mute of the specified username expires, {@link Instant#MAX} if it never expires,
+   * or empty if the username is not muted.
+   */
+  public Optional<Instant> getUsernameUnmuteTime(final String username) {
+    return getUnexpired(getSnapshot().mutedUsernames, username);
+  }
+
+  public boolean isUsernameMuted(final String username) {
+    return getUsernameUnmuteTime(username).isPresent();
+  }
+
+  @Immutable
+  private static final class Snapshot {
+    private final ImmutableList<String> badWords;
+    private final ImmutableMap<String, Instant> bannedMacs;
+    private final ImmutableMap<String, Instant> bannedUsernames;
+    private final ImmutableMap<String, Instant> mutedMacs;
+    private final ImmutableMap<String, Instant> mutedUsernames;
+
+    Snapshot(
+        final ImmutableList<String> badWords,
+        final ImmutableMap<String, Instant> bannedMacs,
+        final ImmutableMap<String, Instant> bannedUsernames,
+        final ImmutableMap<String, Instant> mutedMacs,
+        final ImmutableMap<String, Instant> mutedUsernames) {
+      this.badWords = badWords;
+      this.bannedMacs = bannedMacs;
+      this.bannedUsernames = bannedUsernames;
+      this.mutedMacs = mutedMacs;
+      this.mutedUsernames = mutedUsernames;
+    }
+
+    Builder toBuilder() {
+      return new Builder(this);
+    }
+
+    /**
+     * A mutable copy of a snapshot, used to apply a change.
+     */
+    static final class Builder {
+      private final List<String> badWords;
+      private final Map<String, Instant> bannedMacs;
+      private final Map<String, Instant> bannedUsernames;
+      private final Map<String, Instant> mutedMacs;
+      private final Map<String, Instant> mutedUsernames;
+
+      private Builder(final Snapshot snapshot) {
+        badWords = new ArrayList<>(snapshot.badWords);
+        bannedMacs = new HashMap<>(snapshot.bannedMacs);
+        bannedUsernames = new HashMap<>(snapshot.bannedUsernames);
+        mutedMacs = new HashMap<>(snapshot.mutedMacs);
+        mutedUsernames = new HashMap<>(snapshot.mutedUsernames);
+      }
+
+      Snapshot build() {
+        return new Snapshot(
+            ImmutableList.copyOf(badWords),
+            ImmutableMap.copyOf(bannedMacs),
+            ImmutableMap.copyOf(bannedUsernames),
+            ImmutableMap.copyOf(mutedMacs),
+            ImmutableMap.copyOf(mutedUsernames));
+      }
+    }
+  }
+}
@@ -16,16 +16,13 @@ import org.triplea.lobby.common.login.LobbyLoginChallengeKeys;
 import org.triplea.lobby.common.login.LobbyLoginResponseKeys;
 import org.triplea.lobby.common.login.RsaAuthenticator;
 import org.triplea.lobby.server.User;
-import org.triplea.lobby.server.config.LobbyConfiguration;
-import org.triplea.lobby.server.db.AccessLogController;
-import org.triplea.lobby.server.db.BadWordController;
+import org.triplea.lobby.server.db.AccessLogDao;
 import org.triplea.lobby.server.db.BadWordDao;
-import org.triplea.lobby.server.db.BannedMacController;
 import org.triplea.lobby.server.db.BannedMacDao;
-import org.triplea.lobby.server.db.BannedUsernameController;
 import org.triplea.lobby.server.db.BannedUsernameDao;
 import org.triplea.lobby.server.db.Database;
 import org.triplea.lobby.server.db.HashedPassword;
+import org.triplea.lobby.server.db.ModerationCache;
 import org.triplea.lobby.server.db.UserController;
 import org.triplea.lobby.server.db.UserDao;
 import org.triplea.util.Md5Crypt;
@@ -67,17 +64,20 @@ public final class LobbyLoginValidator implements ILoginValidator {
   private final RsaAuthenticator rsaAuthenticator;
   private final UserDao userDao;
 
-  public LobbyLoginValidator(final LobbyConfiguration lobbyConfiguration) {
-    this(new Database(lobbyConfiguration));
-  }
-
-  private LobbyLoginValidator(final Database database) {
+  /**
+   * Creates a login validator that checks bad words and bans against the specified moderation cache, records successful
+   * logins with the specified access log DAO, and checks everything else against the specified database.
+   */
+  public LobbyLoginValidator(
+      final Database database,
+      final ModerationCache moderationCache,
+      final AccessLogDao accessLogDao) {
     this(
-        new BadWordController(database),
-        new BannedMacController(database),
-        new BannedUsernameController(database),
+        moderationCache,
+        moderationCache,
+        moderationCache,
         new UserController(database),
-        new CompositeAccessLog(new AccessLogController(database)),
+        new CompositeAccessLog(accessLogDao),
         new RsaAuthenticator(),
         BCrypt::gensalt);
   }
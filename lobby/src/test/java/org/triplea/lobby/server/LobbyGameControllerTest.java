@@ -0,0 +1,212 @@
+package org.triplea.lobby.server;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.triplea.lobby.common.GameListFrame;
+import org.triplea.lobby.common.ILobbyGameBroadcaster;
+import org.triplea.lobby.common.ILobbyGameListBroadcaster;
+
+import games.strategy.engine.lobby.server.GameDescription;
+import games.strategy.engine.message.MessageContext;
+import games.strategy.net.GUID;
+import games.strategy.net.IConnectionChangeListener;
+import games.strategy.net.INode;
+import games.strategy.net.IServerMessenger;
+import games.strategy.net.Node;
+
+@ExtendWith(MockitoExtension.class)
+final class LobbyGameControllerTest {
+  @Mock
+  private ILobbyGameBroadcaster broadcaster;
+  @Mock
+  private ILobbyGameListBroadcaster gameListBroadcaster;
+  @Mock
+  private IServerMessenger serverMessenger;
+  @Mock
+  private ScheduledExecutorService broadcastExecutor;
+
+  private LobbyGameController lobbyGameController;
+  private final GUID gameId = new GUID();
+  private INode host;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    lobbyGameController = new LobbyGameController(broadcaster, gameListBroadcaster, serverMessenger, broadcastExecutor);
+    host = new Node("host", InetAddress.getLoopbackAddress(), 3300);
+    MessageContext.setSenderNodeForThread(host);
+  }
+
+  @AfterEach
+  void tearDown() {
+    MessageContext.setSenderNodeForThread(null);
+  }
+
+  private static GameDescription newGameDescription(final String round) {
+    final GameDescription description = GameDescription.builder().gameName("game").build();
+    description.setRound(round);
+    return description;
+  }
+
+  @Test
+  void shouldBroadcastOnlyLatestDescriptionOfGameChangedWithinInterval() {
+    lobbyGameController.postGame(gameId, newGameDescription("1"));
+    final GameDescription latestDescription = newGameDescription("2");
+    latestDescription.setRound("3");
+    lobbyGameController.updateGame(gameId, newGameDescription("2"));
+    lobbyGameController.updateGame(gameId, latestDescription);
+
+    lobbyGameController.broadcastPendingChanges();
+
+    verify(broadcaster).gameUpdated(gameId, latestDescription);
+    verifyNoMoreInteractions(broadcaster);
+  }
+
+  @Test
+  void shouldIgnoreOutOfOrderUpdate() {
+    final GameDescription newerDescription = newGameDescription("1");
+    newerDescription.setRound("2");
+    lobbyGameController.postGame(gameId, newerDescription);
+    lobbyGameController.broadcastPendingChanges();
+
+    lobbyGameController.updateGame(gameId, newGameDescription("1"));
+    lobbyGameController.broadcastPendingChanges();
+
+    verify(broadcaster).gameUpdated(gameId, newerDescription);
+    verifyNoMoreInteractions(broadcaster);
+    assertThat(lobbyGameController.listGames().get(gameId), is(sameInstance(newerDescription)));
+  }
+
+  @Test
+  void shouldRemoveGamesOfHostWhenConnectionIsLost() {
+    final ArgumentCaptor<IConnectionChangeListener> listenerCaptor =
+        ArgumentCaptor.forClass(IConnectionChangeListener.class);
+    verify(serverMessenger).addConnectionChangeListener(listenerCaptor.capture());
+    final GameDescription description = newGameDescription("1");
+    lobbyGameController.postGame(gameId, description);
+    lobbyGameController.broadcastPendingChanges();
+
+    listenerCaptor.getValue().connectionRemoved(host);
+    lobbyGameController.broadcastPendingChanges();
+
+    final InOrder inOrder = inOrder(broadcaster);
+    inOrder.verify(broadcaster).gameUpdated(gameId, description);
+    inOrder.verify(broadcaster).gameRemoved(gameId);
+    assertThat(lobbyGameController.listGames(), is(anEmptyMap()));
+  }
+
+  @Test
+  void shouldNotBroadcastWhenNothingChanged() {
+    lobbyGameController.broadcastPendingChanges();
+
+    verify(broadcaster, never()).gameUpdated(any(), any());
+    verify(broadcaster, never()).gameRemoved(any());
+  }
+
+  @Test
+  void listGamesShouldShareSnapshotUntilGameListChanges() {
+    lobbyGameController.postGame(gameId, newGameDescription("1"));
+    final Map<GUID, GameDescription> snapshot = lobbyGameController.listGames();
+
+    assertThat(lobbyGameController.listGames(), is(sameInstance(snapshot)));
+
+    final GUID otherGameId = new GUID();
+    lobbyGameController.postGame(otherGameId, newGameDescription("1"));
+
+    assertThat(lobbyGameController.listGames(), is(not(sameInstance(snapshot))));
+    assertThat(lobbyGameController.listGames().keySet(), containsInAnyOrder(gameId, otherGameId));
+  }
+
+  @Test
+  void shouldBroadcastOnlyChangedFieldsOfUpdatedGame() {
+    final GameDescription description = newGameDescription("1");
+    lobbyGameController.postGame(gameId, description);
+    lobbyGameController.broadcastPendingChanges();
+    final GameDescription updatedDescription = newGameDescription("2");
+    lobbyGameController.updateGame(gameId, updatedDescription);
+    lobbyGameController.broadcastPendingChanges();
+
+    final ArgumentCaptor<GameListFrame> frameCaptor = ArgumentCaptor.forClass(GameListFrame.class);
+    verify(gameListBroadcaster, times(2)).gameListChanged(frameCaptor.capture());
+    final GameListFrame addFrame = frameCaptor.getAllValues().get(0);
+    assertThat(addFrame.getBaseVersion(), is(0L));
+    assertThat(addFrame.getVersion(), is(1L));
+    assertThat(addFrame.getAddedGames().get(gameId), is(sameInstance(description)));
+    final GameListFrame updateFrame = frameCaptor.getAllValues().get(1);
+    assertThat(updateFrame.getBaseVersion(), is(1L));
+    assertThat(updateFrame.getVersion(), is(2L));
+    assertThat(updateFrame.getAddedGames(), is(anEmptyMap()));
+    assertThat(updateFrame.getUpdatedGames().get(gameId).applyTo(description).getRound(), is("2"));
+  }
+
+  @Test
+  void shouldNotBroadcastFrameWhenGameIsAddedAndRemovedWithinInterval() {
+    final ArgumentCaptor<IConnectionChangeListener> listenerCaptor =
+        ArgumentCaptor.forClass(IConnectionChangeListener.class);
+    verify(serverMessenger).addConnectionChangeListener(listenerCaptor.capture());
+    lobbyGameController.postGame(gameId, newGameDescription("1"));
+    listenerCaptor.getValue().connectionRemoved(host);
+
+    lobbyGameController.broadcastPendingChanges();
+
+    verify(gameListBroadcaster, never()).gameListChanged(any());
+    assertThat(lobbyGameController.getGameListSince(0), is(empty()));
+  }
+
+  @Test
+  void getGameListSinceShouldReturnFramesAfterSpecifiedVersion() {
+    lobbyGameController.postGame(gameId, newGameDescription("1"));
+    lobbyGameController.broadcastPendingChanges();
+    lobbyGameController.updateGame(gameId, newGameDescription("2"));
+    lobbyGameController.broadcastPendingChanges();
+    lobbyGameController.updateGame(gameId, newGameDescription("3"));
+    lobbyGameController.broadcastPendingChanges();
+
+    final List<GameListFrame> frames = lobbyGameController.getGameListSince(1);
+
+    assertThat(frames.size(), is(2));
+    assertThat(frames.get(0).isSnapshot(), is(false));
+    assertThat(frames.get(0).getBaseVersion(), is(1L));
+    assertThat(frames.get(1).getVersion(), is(3L));
+    assertThat(lobbyGameController.getGameListSince(3), is(empty()));
+  }
+
+  @Test
+  void getGameListSinceShouldReturnSnapshotWhenVersionIsUnknown() {
+    final GameDescription description = newGameDescription("1");
+    lobbyGameController.postGame(gameId, description);
+    lobbyGameController.broadcastPendingChanges();
+
+    final List<GameListFrame> frames = lobbyGameController.getGameListSince(-1);
+
+    assertThat(frames.size(), is(1));
+    assertThat(frames.get(0).isSnapshot(), is(true));
+    assertThat(frames.get(0).getVersion(), is(1L));
+    assertThat(frames.get(0).getAddedGames().keySet(), contains(gameId));
+  }
+}
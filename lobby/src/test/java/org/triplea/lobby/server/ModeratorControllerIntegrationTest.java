@@ -19,6 +19,7 @@ import org.triplea.java.Util;
 import org.triplea.lobby.server.config.TestLobbyConfigurations;
 import org.triplea.lobby.server.db.Database;
 import org.triplea.lobby.server.db.HashedPassword;
+import org.triplea.lobby.server.db.ModerationCache;
 import org.triplea.lobby.server.db.UserController;
 import org.triplea.test.common.Integration;
 
@@ -45,12 +46,13 @@ public class ModeratorControllerIntegrationTest {
 
   @BeforeEach
   public void setUp() throws UnknownHostException {
-    moderatorController = new ModeratorController(serverMessenger, null, TestLobbyConfigurations.INTEGRATION_TEST);
+    final Database database = new Database(TestLobbyConfigurations.INTEGRATION_TEST);
+    moderatorController = new ModeratorController(serverMessenger, null, database, new ModerationCache(database));
     final String adminName = Util.newUniqueTimestamp();
 
     final DBUser dbUser = new DBUser(new DBUser.UserName(adminName), new DBUser.UserEmail("n@n.n"), DBUser.Role.ADMIN);
 
-    final UserController userController = new UserController(new Database(TestLobbyConfigurations.INTEGRATION_TEST));
+    final UserController userController = new UserController(database);
     userController.createUser(dbUser, new HashedPassword(BCrypt.hashpw(adminName, BCrypt.gensalt())));
     userController.makeAdmin(dbUser);
 
@@ -8,6 +8,8 @@ import static org.hamcrest.Matchers.nullValue;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 import org.triplea.lobby.server.TestUserUtils;
@@ -30,6 +32,19 @@ public final class AccessLogControllerIntegrationTest extends AbstractController
     }
   }
 
+  @Test
+  public void insertAll_ShouldInsertNewRecords() throws Exception {
+    final User registeredUser = TestUserUtils.newUser();
+    final User anonymousUser = TestUserUtils.newUser();
+
+    accessLogController.insertAll(Arrays.asList(
+        new AccessLogEntry(Instant.now(), registeredUser, UserType.REGISTERED),
+        new AccessLogEntry(Instant.now(), anonymousUser, UserType.ANONYMOUS)));
+
+    thenAccessLogRecordShouldExist(registeredUser, UserType.REGISTERED);
+    thenAccessLogRecordShouldExist(anonymousUser, UserType.ANONYMOUS);
+  }
+
   private void thenAccessLogRecordShouldExist(final User user, final UserType userType) throws Exception {
     final String sql = "select access_time from access_log where username=? and ip=?::inet and mac=? and registered=?";
     try (Connection conn = database.newConnection();
@@ -0,0 +1,102 @@
+package org.triplea.lobby.server.db;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.triplea.lobby.server.TestUserUtils;
+import org.triplea.lobby.server.User;
+import org.triplea.lobby.server.login.UserType;
+
+@ExtendWith(MockitoExtension.class)
+final class BufferedAccessLogDaoTest {
+  private static final Instant NOW = Instant.parse("2019-01-01T12:00:00Z");
+
+  @Mock
+  private AccessLogDao delegate;
+
+  @Captor
+  private ArgumentCaptor<List<AccessLogEntry>> batchCaptor;
+
+  private BufferedAccessLogDao newBufferedAccessLogDao() {
+    return new BufferedAccessLogDao(delegate, Clock.fixed(NOW, ZoneOffset.UTC), 100);
+  }
+
+  @Test
+  void closeShouldWriteQueuedRecordsInOrder() throws Exception {
+    final BufferedAccessLogDao accessLogDao = newBufferedAccessLogDao();
+    final User firstUser = TestUserUtils.newUser();
+    final User secondUser = TestUserUtils.newUser();
+
+    accessLogDao.insert(firstUser, UserType.REGISTERED);
+    accessLogDao.insert(secondUser, UserType.ANONYMOUS);
+    accessLogDao.close();
+
+    verify(delegate, atLeastOnce()).insertAll(batchCaptor.capture());
+    assertThat(
+        batchCaptor.getAllValues().stream().flatMap(List::stream).collect(Collectors.toList()),
+        contains(
+            new AccessLogEntry(NOW, firstUser, UserType.REGISTERED),
+            new AccessLogEntry(NOW, secondUser, UserType.ANONYMOUS)));
+  }
+
+  @Test
+  void closeShouldWriteEveryRecordAcceptedWhileClosing() throws Exception {
+    final BufferedAccessLogDao accessLogDao = newBufferedAccessLogDao();
+    final AtomicInteger acceptedCount = new AtomicInteger();
+    final CountDownLatch started = new CountDownLatch(4);
+    final List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      final Thread thread = new Thread(() -> {
+        started.countDown();
+        while (true) {
+          try {
+            accessLogDao.insert(TestUserUtils.newUser(), UserType.REGISTERED);
+            acceptedCount.incrementAndGet();
+          } catch (final SQLException e) {
+            return;
+          }
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+
+    started.await();
+    accessLogDao.close();
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    verify(delegate, atLeastOnce()).insertAll(batchCaptor.capture());
+    assertThat(batchCaptor.getAllValues().stream().mapToInt(List::size).sum(), is(acceptedCount.get()));
+  }
+
+  @Test
+  void insertShouldFailAfterClose() {
+    final BufferedAccessLogDao accessLogDao = newBufferedAccessLogDao();
+
+    accessLogDao.close();
+
+    assertThrows(SQLException.class, () -> accessLogDao.insert(TestUserUtils.newUser(), UserType.REGISTERED));
+  }
+}
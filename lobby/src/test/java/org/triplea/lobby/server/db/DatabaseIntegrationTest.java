@@ -0,0 +1,80 @@
+package org.triplea.lobby.server.db;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+import org.mindrot.jbcrypt.BCrypt;
+import org.triplea.java.Util;
+import org.triplea.lobby.server.config.TestLobbyConfigurations;
+import org.triplea.test.common.Integration;
+
+@Integration
+final class DatabaseIntegrationTest {
+  private final Database database = new Database(TestLobbyConfigurations.INTEGRATION_TEST);
+
+  @Test
+  void newConnectionShouldBeCountedAsActiveUntilClosed() throws Exception {
+    final ConnectionPoolStatistics before = database.getConnectionPoolStatistics();
+
+    try (Connection connection = database.newConnection()) {
+      final ConnectionPoolStatistics during = database.getConnectionPoolStatistics();
+      assertThat(during.getActiveConnections(), is(before.getActiveConnections() + 1));
+      assertThat(during.getAcquiredConnectionCount(), greaterThan(before.getAcquiredConnectionCount()));
+    }
+
+    assertThat(database.getConnectionPoolStatistics().getActiveConnections(), is(before.getActiveConnections()));
+  }
+
+  @Test
+  void instancesWithSameConfigurationShouldSharePool() throws Exception {
+    final Database otherDatabase = new Database(TestLobbyConfigurations.INTEGRATION_TEST);
+
+    try (Connection connection = database.newConnection()) {
+      assertThat(
+          otherDatabase.getConnectionPoolStatistics().getActiveConnections(),
+          is(database.getConnectionPoolStatistics().getActiveConnections()));
+    }
+  }
+
+  @Test
+  void newConnectionShouldOpenNewPoolAfterPoolsAreClosed() throws Exception {
+    Database.closeConnectionPools();
+
+    try (Connection connection = database.newConnection()) {
+      assertThat(database.getConnectionPoolStatistics().getAcquiredConnectionCount(), is(1L));
+    }
+  }
+
+  @Test
+  void closingConnectionShouldRollBackUncommittedChanges() throws Exception {
+    final String username = Util.newUniqueTimestamp();
+
+    try (Connection connection = database.newConnection();
+        PreparedStatement ps =
+            connection.prepareStatement("insert into ta_users (username, email, bcrypt_password) values (?, ?, ?)")) {
+      ps.setString(1, username);
+      ps.setString(2, "email@example.com");
+      ps.setString(3, BCrypt.hashpw("password", BCrypt.gensalt()));
+      ps.execute();
+    }
+
+    assertThat(doesUserExist(username), is(false));
+  }
+
+  private boolean doesUserExist(final String username) throws SQLException {
+    try (Connection connection = database.newConnection();
+        PreparedStatement ps = connection.prepareStatement("select 1 from ta_users where username=?")) {
+      ps.setString(1, username);
+      try (ResultSet rs = ps.executeQuery()) {
+        return rs.next();
+      }
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package org.triplea.lobby.server.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.triplea.java.Util;
+import org.triplea.util.Tuple;
+
+public final class ModerationCacheIntegrationTest extends AbstractModeratorServiceControllerTestCase {
+  private final ModerationCache cache = spy(new ModerationCache(database));
+
+  @BeforeEach
+  public void setUp() {
+    cache.reload();
+  }
+
+  @Test
+  public void testBanMacIsVisibleWithoutReload() {
+    final Instant banUntil = Instant.now().plusSeconds(100L);
+    cache.addBannedMac(user, banUntil, moderator);
+
+    final Tuple<Boolean, Timestamp> macDetails = cache.isMacBanned(user.getHashedMacAddress());
+    assertTrue(macDetails.getFirst());
+    assertEquals(banUntil, macDetails.getSecond().toInstant());
+    assertTrue(new BannedMacController(database).isMacBanned(user.getHashedMacAddress()).getFirst());
+  }
+
+  @Test
+  public void testBanExpiresWithoutReload() {
+    final Instant banUntil = Instant.now().plusSeconds(100L);
+    cache.addBannedUsername(user, banUntil, moderator);
+    when(cache.now()).thenReturn(banUntil.plusSeconds(1L));
+
+    final Tuple<Boolean, Timestamp> usernameDetails = cache.isUsernameBanned(user.getUsername());
+    assertFalse(usernameDetails.getFirst());
+    assertEquals(banUntil, usernameDetails.getSecond().toInstant());
+  }
+
+  @Test
+  public void testUnbanMac() {
+    cache.addBannedMac(user, null, moderator);
+    assertTrue(cache.isMacBanned(user.getHashedMacAddress()).getFirst());
+    assertNull(cache.isMacBanned(user.getHashedMacAddress()).getSecond());
+
+    cache.addBannedMac(user, Instant.now().minusSeconds(10L), moderator);
+
+    final Tuple<Boolean, Timestamp> macDetails = cache.isMacBanned(user.getHashedMacAddress());
+    assertFalse(macDetails.getFirst());
+    assertNull(macDetails.getSecond());
+  }
+
+  @Test
+  public void testMuteUsernameForever() {
+    cache.addMutedUsername(user, null, moderator);
+
+    assertTrue(cache.isUsernameMuted(user.getUsername()));
+    assertEquals(Optional.of(Instant.MAX), cache.getUsernameUnmuteTime(user.getUsername()));
+  }
+
+  @Test
+  public void testMuteMacExpiresWithoutReload() {
+    final Instant muteUntil = Instant.now().plusSeconds(100L);
+    cache.addMutedMac(user, muteUntil, moderator);
+    assertEquals(Optional.of(muteUntil), cache.getMacUnmuteTime(user.getHashedMacAddress()));
+
+    when(cache.now()).thenReturn(muteUntil.plusSeconds(1L));
+
+    assertFalse(cache.isMacMuted(user.getHashedMacAddress()));
+  }
+
+  @Test
+  public void testReloadPicksUpChangesMadeOutsideCache() {
+    final String word = Util.newUniqueTimestamp();
+    new BadWordController(database).addBadWord(word);
+    new MutedMacController(database).addMutedMac(user, null, moderator);
+    assertFalse(cache.list().contains(word));
+    assertFalse(cache.isMacMuted(user.getHashedMacAddress()));
+
+    cache.reload();
+
+    assertTrue(cache.list().contains(word));
+    assertTrue(cache.isMacMuted(user.getHashedMacAddress()));
+  }
+
+  @Test
+  public void testAddBadWord() {
+    final String word = Util.newUniqueTimestamp();
+
+    cache.addBadWord(word);
+
+    assertTrue(cache.list().contains(word));
+    assertTrue(new BadWordController(database).list().contains(word));
+  }
+}
@@ -25,9 +25,10 @@ import org.triplea.lobby.common.LobbyConstants;
 import org.triplea.lobby.common.login.LobbyLoginResponseKeys;
 import org.triplea.lobby.common.login.RsaAuthenticator;
 import org.triplea.lobby.server.config.TestLobbyConfigurations;
-import org.triplea.lobby.server.db.BadWordController;
+import org.triplea.lobby.server.db.AccessLogController;
 import org.triplea.lobby.server.db.Database;
 import org.triplea.lobby.server.db.HashedPassword;
+import org.triplea.lobby.server.db.ModerationCache;
 import org.triplea.lobby.server.db.UserController;
 import org.triplea.test.common.Integration;
 import org.triplea.util.Md5Crypt;
@@ -39,7 +40,9 @@ import games.strategy.net.MacFinder;
 @Integration
 public class LobbyLoginValidatorIntegrationTest {
   private final Database database = new Database(TestLobbyConfigurations.INTEGRATION_TEST);
-  private final ILoginValidator loginValidator = new LobbyLoginValidator(TestLobbyConfigurations.INTEGRATION_TEST);
+  private final ModerationCache moderationCache = new ModerationCache(database);
+  private final ILoginValidator loginValidator =
+      new LobbyLoginValidator(database, moderationCache, new AccessLogController(database));
 
   @Test
   public void testLegacyCreateNewUser() {
@@ -127,7 +130,7 @@ public class LobbyLoginValidatorIntegrationTest {
   public void testAnonymousLoginBadName() {
     final String name = "bitCh" + Util.newUniqueTimestamp();
     try {
-      new BadWordController(database).addBadWord("bitCh");
+      moderationCache.addBadWord("bitCh");
     } catch (final Exception ignore) {
       // this is probably a duplicate insertion error, we can ignore that as it only means we already added the bad
       // word previously